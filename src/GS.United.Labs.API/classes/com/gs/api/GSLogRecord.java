@@ -28,6 +28,8 @@
  *  WHEN          BY                   REASON
  *  ------------  -------------------  -----------------------------------------
  *  Oct 31, 2021  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Added the reset method, so that records
+ *                                     can be reused by the LogRecordFactory.
  * *****************************************************************************
  */
 package com.gs.api;
@@ -277,4 +279,15 @@ public interface GSLogRecord {
      */
     public void setThrown(Throwable thrown);
 
+    /**
+     * Clears every property of this `GSLogRecord`, returning it to the state
+     * of a newly constructed record. The source class name is cleared as well.
+     * <p>
+     * This allows a single record to be reused for many log messages without
+     * any of the details of one message leaking into the next.</p>
+     *
+     * @see LogRecordFactory
+     */
+    public void reset();
+
 }
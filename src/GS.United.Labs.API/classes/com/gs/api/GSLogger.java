@@ -28,10 +28,27 @@
  *  WHEN          BY                   REASON
  *  ------------  -------------------  -----------------------------------------
  *  Oct 31, 2021  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Added isEnabled and the Supplier and
+ *                                     format string overloads of the messaging
+ *                                     methods, so that messages are only built
+ *                                     when their level is enabled.
+ *  Oct 18, 2026  Sean Carrick         Deprecated updateLogName, now that every
+ *                                     logger writes to the one application log
+ *                                     file handed out by the LoggerFactory.
+ *  Oct 18, 2026  Sean Carrick         Added setRateLimit and setSampling for
+ *                                     per-method limits on chatty messages.
+ *  Oct 18, 2026  Sean Carrick         Added setCallerInference.
+ *  Oct 18, 2026  Sean Carrick         enter now opens a timed span and returns
+ *                                     its token, which the new
+ *                                     exit(GSLogRecord, long) closes.
+ *  Oct 18, 2026  Sean Carrick         The lazy messaging methods are documented
+ *                                     as leaving the record untouched, and
+ *                                     what a disabled message still costs.
  * *****************************************************************************
  */
 package com.gs.api;
 
+import java.util.function.Supplier;
 
 /**
  * The `Logger` class is an `Application`-aware logging facility. This `Logger`
@@ -148,6 +165,12 @@ public interface GSLogger {
      */
     public static final int CRITICAL = 6;
 
+    /**
+     * The span token returned by `enter` when spans are not being timed. It is
+     * also accepted by `exit(GSLogRecord, long)` in place of a token.
+     */
+    public static final long NO_SPAN = Long.MIN_VALUE;
+
     /**
      * Provide a `GSLogRecord` to create a configuration message in the log file.
      * <p>
@@ -253,14 +276,22 @@ public interface GSLogger {
      * parameters list needs to be set to `null`. The instant and sequence
      * number for the `GSLogRecord` is optional, as is the thread ID.</p>
      * <p>
-     * <strong><em>Note</em></strong>: The `enter` method will only be executed
+     * <strong><em>Note</em></strong>: The `enter` message will only be written
      * if the logging level is set to `Logger.TRACE`.</p>
+     * <p>
+     * At every logging level, `enter` also opens a span, which times the method
+     * until its `exit`. The span is closed either by passing the returned
+     * token to `exit(GSLogRecord, long)`, or by `exit(GSLogRecord)` with the
+     * same source class and method on the same thread. The durations of the
+     * spans are collected for each method.</p>
      *
      * @param record the `GSLogRecord` of the message and message details
+     * @return the token of the span, or `NO_SPAN` if spans are not timed
      *
      * @see #exit(com.gs.platform.utils.GSLogRecord)
+     * @see #exit(com.gs.api.GSLogRecord, long)
      */
-    public void enter(GSLogRecord record);
+    public long enter(GSLogRecord record);
 
     /**
      * Provide a `GSLogRecord` to create a log message for exiting a method. The
@@ -307,8 +338,12 @@ public interface GSLogger {
      * `Instant` is not set, the `Instant.now()` that this method is entered
      * will be recorded.</p>
      * <p>
-     * <strong><em>Note</em></strong>: The `exit` method will only be executed
+     * <strong><em>Note</em></strong>: The `exit` message will only be written
      * if the logging level is set to `Logger.TRACE`.</p>
+     * <p>
+     * At every logging level, `exit` also closes the latest span opened by
+     * `enter` for the same source class and method on the current thread, if
+     * there is one.</p>
      *
      * @param record the `GSLogRecord` of the message and message details
      *
@@ -316,6 +351,18 @@ public interface GSLogger {
      */
     public void exit(GSLogRecord record);
 
+    /**
+     * Logs the exit from a method, as `exit(GSLogRecord)` does, and closes the
+     * span with the given token. A token is needed when the span may close on
+     * another thread than the one that opened it.
+     *
+     * @param record the `GSLogRecord` of the message and message details
+     * @param span the token returned by `enter`
+     *
+     * @see #enter(com.gs.api.GSLogRecord)
+     */
+    public void exit(GSLogRecord record, long span);
+
     /**
      * Provide a `GSLogRecord` to create a non-critical error message in the log
      * file.
@@ -414,13 +461,524 @@ public interface GSLogger {
     public void warn(GSLogRecord record);
     
     /**
-     * Log files are typically named, "${Application.id} - ${className}.log". 
-     * However, with the way that `GSLogger`s are initialized via `ServiceLoader`,
-     * the `className` cannot be present during construction of the loader, so
-     * log files end up being named "${Application.id} - null.log". Once the
-     * `GSLogger` is constructed and the class name is set, then a call to 
-     * `updateLogName()` will rename the log file to the appropriate name.
+     * Log files used to be named, "${Application.id} - ${className}.log", and
+     * this method renamed the log file once the class name had been set.
+     * <p>
+     * All `GSLogger`s of an application now share the single log file,
+     * "${Application.name}.log", so there is nothing to rename. Loggers
+     * obtained from the {@link LoggerFactory} already have their class name
+     * set, and need not call this method.</p>
+     *
+     * @deprecated the log file is no longer named for the class
      */
+    @Deprecated
     public void updateLogName();
 
+    /**
+     * Determines whether a message at the given level would be written to the
+     * log file. A message is written when this `GSLogger` is not `OFF` and the
+     * message level is at or above the current logging level.
+     * <p>
+     * Use this method to guard any work that is only needed to build a log
+     * message, such as calling `String.format` or walking a collection:</p>
+     * ```java
+     * if (logger.isEnabled(GSLogger.DEBUG)) {
+     *     record.setMessage(String.format("Items: %s", describe(items)));
+     *     logger.debug(record);
+     * }
+     * ```
+     *
+     * <p>
+     * The Supplier and format string overloads of the messaging methods make
+     * this check themselves, so they need no guard. A message that is not
+     * enabled is never formatted, but it is not always free: an
+     * implementation may keep it, unformatted, for a crash report, as the NTA
+     * `Logger` does in its flight recorder. Only a guard with this method
+     * skips that as well.</p>
+     *
+     * @param level the level of the message, for example `GSLogger.DEBUG`
+     * @return `true` if a message at `level` would be written
+     */
+    public boolean isEnabled(int level);
+
+    /**
+     * Limits the messages logged from one method of the class to an average
+     * rate, with bursts of up to `burst` messages.
+     * <p>
+     * A chatty message inside a loop can otherwise write millions of lines.
+     * Messages over the limit are not logged, but they are counted, and a
+     * summary of how many were suppressed is written periodically, and when
+     * the `GSLogger` is closed. Critical messages are never suppressed.</p>
+     * <p>
+     * When `methodName` is `null`, the limit applies to every method of the
+     * class that has no limit or sampling of its own.</p>
+     *
+     * @param methodName the source method name of the messages to limit, or
+     * `null` for every method
+     * @param recordsPerSecond the average number of messages logged per
+     * second, or zero to remove the limit
+     * @param burst the number of messages that may be logged at once, after
+     * the method has been quiet for a while
+     *
+     * @see #setSampling(java.lang.String, int)
+     */
+    public void setRateLimit(String methodName, double recordsPerSecond,
+            int burst);
+
+    /**
+     * Logs only one in every `oneIn` messages from one method of the class.
+     * The messages that are not logged are counted and summarized in the same
+     * way as those over a rate limit, and when both are set, the sampled
+     * messages are also rate limited.
+     * <p>
+     * When `methodName` is `null`, the sampling applies to every method of the
+     * class that has no limit or sampling of its own.</p>
+     *
+     * @param methodName the source method name of the messages to sample, or
+     * `null` for every method
+     * @param oneIn log one of every `oneIn` messages, or one to log every
+     * message
+     *
+     * @see #setRateLimit(java.lang.String, double, int)
+     */
+    public void setSampling(String methodName, int oneIn);
+
+    /**
+     * Sets whether the source class and method of each message are found on
+     * the call stack, instead of being taken from its `GSLogRecord`.
+     * <p>
+     * Hand-set source names are easily copied from one class to another and
+     * left wrong. When the caller is inferred, the names set in the record are
+     * ignored for the log file. The stack is only walked for messages whose
+     * level is enabled, and each call site is only resolved once, so the cost
+     * is a short stack walk per written message. The default is given by the
+     * `Application.logging.inferCaller` resource.</p>
+     *
+     * @param inferCaller `true` to find the caller on the stack
+     */
+    public void setCallerInference(boolean inferCaller);
+
+    /**
+     * Creates a configuration message in the log file, building the message text
+     * only if the `CONFIG` level is enabled.
+     * <p>
+     * When the level is enabled, the `message` is called, and its result is
+     * written with the details of the `record`. When the level is disabled,
+     * the `message` is not called. Either way, the `record` is not modified,
+     * so its message and parameters never carry over to the next message
+     * logged with it.</p>
+     * <p>
+     * <strong><em>Note</em></strong>: A disabled message costs the level
+     * check, and no formatting. An implementation may still keep the
+     * `message` unformatted for a crash report, as the NTA `Logger` does in
+     * its flight recorder, which allocates one small entry per message.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param message supplies the message text
+     *
+     * @see #config(com.gs.api.GSLogRecord)
+     */
+    public void config(GSLogRecord record, Supplier<String> message);
+
+    /**
+     * Creates a configuration message in the log file from a format string and a
+     * single parameter, only formatting the message if the `CONFIG` level is
+     * enabled.
+     * <p>
+     * When the level is enabled, the `format` is formatted with the `param`,
+     * and the result is written with the details of the `record`. When the
+     * level is disabled, nothing is formatted. Either way, the `record` is
+     * not modified.</p>
+     * <p>
+     * <strong><em>Note</em></strong>: A disabled message costs the level
+     * check, and no formatting. An implementation may still keep the
+     * `format` and `param` unformatted for a crash report, as the NTA
+     * `Logger` does in its flight recorder, which allocates one small entry
+     * per message.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param param the parameter of the format string
+     *
+     * @see #config(com.gs.api.GSLogRecord)
+     */
+    public void config(GSLogRecord record, String format, Object param);
+
+    /**
+     * Creates a configuration message in the log file from a format string and two
+     * parameters, only formatting the message if the `CONFIG` level is enabled.
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param param1 the first parameter of the format string
+     * @param param2 the second parameter of the format string
+     *
+     * @see #config(com.gs.api.GSLogRecord, java.lang.String, java.lang.Object)
+     */
+    public void config(GSLogRecord record, String format, Object param1,
+            Object param2);
+
+    /**
+     * Creates a configuration message in the log file from a format string and any
+     * number of parameters, only formatting the message if the `CONFIG` level is
+     * enabled.
+     * <p>
+     * <strong><em>Note</em></strong>: The Java compiler allocates the
+     * parameters array at the call site, even when the level is disabled.
+     * Prefer the one and two parameter overloads, or a `Supplier`, on hot
+     * paths.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param params the parameters of the format string
+     *
+     * @see #config(com.gs.api.GSLogRecord, java.lang.String, java.lang.Object)
+     */
+    public void config(GSLogRecord record, String format, Object... params);
+
+    /**
+     * Creates a debugging message in the log file, building the message text
+     * only if the `DEBUG` level is enabled.
+     * <p>
+     * When the level is enabled, the `message` is called, and its result is
+     * written with the details of the `record`. When the level is disabled,
+     * the `message` is not called. Either way, the `record` is not modified,
+     * so its message and parameters never carry over to the next message
+     * logged with it.</p>
+     * <p>
+     * <strong><em>Note</em></strong>: A disabled message costs the level
+     * check, and no formatting. An implementation may still keep the
+     * `message` unformatted for a crash report, as the NTA `Logger` does in
+     * its flight recorder, which allocates one small entry per message.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param message supplies the message text
+     *
+     * @see #debug(com.gs.api.GSLogRecord)
+     */
+    public void debug(GSLogRecord record, Supplier<String> message);
+
+    /**
+     * Creates a debugging message in the log file from a format string and a
+     * single parameter, only formatting the message if the `DEBUG` level is
+     * enabled.
+     * <p>
+     * When the level is enabled, the `format` is formatted with the `param`,
+     * and the result is written with the details of the `record`. When the
+     * level is disabled, nothing is formatted. Either way, the `record` is
+     * not modified.</p>
+     * <p>
+     * <strong><em>Note</em></strong>: A disabled message costs the level
+     * check, and no formatting. An implementation may still keep the
+     * `format` and `param` unformatted for a crash report, as the NTA
+     * `Logger` does in its flight recorder, which allocates one small entry
+     * per message.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param param the parameter of the format string
+     *
+     * @see #debug(com.gs.api.GSLogRecord)
+     */
+    public void debug(GSLogRecord record, String format, Object param);
+
+    /**
+     * Creates a debugging message in the log file from a format string and two
+     * parameters, only formatting the message if the `DEBUG` level is enabled.
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param param1 the first parameter of the format string
+     * @param param2 the second parameter of the format string
+     *
+     * @see #debug(com.gs.api.GSLogRecord, java.lang.String, java.lang.Object)
+     */
+    public void debug(GSLogRecord record, String format, Object param1,
+            Object param2);
+
+    /**
+     * Creates a debugging message in the log file from a format string and any
+     * number of parameters, only formatting the message if the `DEBUG` level is
+     * enabled.
+     * <p>
+     * <strong><em>Note</em></strong>: The Java compiler allocates the
+     * parameters array at the call site, even when the level is disabled.
+     * Prefer the one and two parameter overloads, or a `Supplier`, on hot
+     * paths.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param params the parameters of the format string
+     *
+     * @see #debug(com.gs.api.GSLogRecord, java.lang.String, java.lang.Object)
+     */
+    public void debug(GSLogRecord record, String format, Object... params);
+
+    /**
+     * Creates a informational message in the log file, building the message text
+     * only if the `INFO` level is enabled.
+     * <p>
+     * When the level is enabled, the `message` is called, and its result is
+     * written with the details of the `record`. When the level is disabled,
+     * the `message` is not called. Either way, the `record` is not modified,
+     * so its message and parameters never carry over to the next message
+     * logged with it.</p>
+     * <p>
+     * <strong><em>Note</em></strong>: A disabled message costs the level
+     * check, and no formatting. An implementation may still keep the
+     * `message` unformatted for a crash report, as the NTA `Logger` does in
+     * its flight recorder, which allocates one small entry per message.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param message supplies the message text
+     *
+     * @see #info(com.gs.api.GSLogRecord)
+     */
+    public void info(GSLogRecord record, Supplier<String> message);
+
+    /**
+     * Creates a informational message in the log file from a format string and a
+     * single parameter, only formatting the message if the `INFO` level is
+     * enabled.
+     * <p>
+     * When the level is enabled, the `format` is formatted with the `param`,
+     * and the result is written with the details of the `record`. When the
+     * level is disabled, nothing is formatted. Either way, the `record` is
+     * not modified.</p>
+     * <p>
+     * <strong><em>Note</em></strong>: A disabled message costs the level
+     * check, and no formatting. An implementation may still keep the
+     * `format` and `param` unformatted for a crash report, as the NTA
+     * `Logger` does in its flight recorder, which allocates one small entry
+     * per message.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param param the parameter of the format string
+     *
+     * @see #info(com.gs.api.GSLogRecord)
+     */
+    public void info(GSLogRecord record, String format, Object param);
+
+    /**
+     * Creates a informational message in the log file from a format string and two
+     * parameters, only formatting the message if the `INFO` level is enabled.
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param param1 the first parameter of the format string
+     * @param param2 the second parameter of the format string
+     *
+     * @see #info(com.gs.api.GSLogRecord, java.lang.String, java.lang.Object)
+     */
+    public void info(GSLogRecord record, String format, Object param1,
+            Object param2);
+
+    /**
+     * Creates a informational message in the log file from a format string and any
+     * number of parameters, only formatting the message if the `INFO` level is
+     * enabled.
+     * <p>
+     * <strong><em>Note</em></strong>: The Java compiler allocates the
+     * parameters array at the call site, even when the level is disabled.
+     * Prefer the one and two parameter overloads, or a `Supplier`, on hot
+     * paths.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param params the parameters of the format string
+     *
+     * @see #info(com.gs.api.GSLogRecord, java.lang.String, java.lang.Object)
+     */
+    public void info(GSLogRecord record, String format, Object... params);
+
+    /**
+     * Creates a warning message in the log file, building the message text
+     * only if the `WARN` level is enabled.
+     * <p>
+     * When the level is enabled, the `message` is called, and its result is
+     * written with the details of the `record`. When the level is disabled,
+     * the `message` is not called. Either way, the `record` is not modified,
+     * so its message and parameters never carry over to the next message
+     * logged with it.</p>
+     * <p>
+     * <strong><em>Note</em></strong>: A disabled message costs the level
+     * check, and no formatting. An implementation may still keep the
+     * `message` unformatted for a crash report, as the NTA `Logger` does in
+     * its flight recorder, which allocates one small entry per message.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param message supplies the message text
+     *
+     * @see #warn(com.gs.api.GSLogRecord)
+     */
+    public void warn(GSLogRecord record, Supplier<String> message);
+
+    /**
+     * Creates a warning message in the log file from a format string and a
+     * single parameter, only formatting the message if the `WARN` level is
+     * enabled.
+     * <p>
+     * When the level is enabled, the `format` is formatted with the `param`,
+     * and the result is written with the details of the `record`. When the
+     * level is disabled, nothing is formatted. Either way, the `record` is
+     * not modified.</p>
+     * <p>
+     * <strong><em>Note</em></strong>: A disabled message costs the level
+     * check, and no formatting. An implementation may still keep the
+     * `format` and `param` unformatted for a crash report, as the NTA
+     * `Logger` does in its flight recorder, which allocates one small entry
+     * per message.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param param the parameter of the format string
+     *
+     * @see #warn(com.gs.api.GSLogRecord)
+     */
+    public void warn(GSLogRecord record, String format, Object param);
+
+    /**
+     * Creates a warning message in the log file from a format string and two
+     * parameters, only formatting the message if the `WARN` level is enabled.
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param param1 the first parameter of the format string
+     * @param param2 the second parameter of the format string
+     *
+     * @see #warn(com.gs.api.GSLogRecord, java.lang.String, java.lang.Object)
+     */
+    public void warn(GSLogRecord record, String format, Object param1,
+            Object param2);
+
+    /**
+     * Creates a warning message in the log file from a format string and any
+     * number of parameters, only formatting the message if the `WARN` level is
+     * enabled.
+     * <p>
+     * <strong><em>Note</em></strong>: The Java compiler allocates the
+     * parameters array at the call site, even when the level is disabled.
+     * Prefer the one and two parameter overloads, or a `Supplier`, on hot
+     * paths.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param params the parameters of the format string
+     *
+     * @see #warn(com.gs.api.GSLogRecord, java.lang.String, java.lang.Object)
+     */
+    public void warn(GSLogRecord record, String format, Object... params);
+
+    /**
+     * Creates a non-critical error message in the log file, building the message text
+     * only if the `ERROR` level is enabled.
+     * <p>
+     * When the level is enabled, the `message` is called, and its result is
+     * written with the details of the `record`. When the level is disabled,
+     * the `message` is not called. Either way, the `record` is not modified,
+     * so its message and parameters never carry over to the next message
+     * logged with it.</p>
+     * <p>
+     * <strong><em>Note</em></strong>: A disabled message costs the level
+     * check, and no formatting. An implementation may still keep the
+     * `message` unformatted for a crash report, as the NTA `Logger` does in
+     * its flight recorder, which allocates one small entry per message.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param message supplies the message text
+     *
+     * @see #error(com.gs.api.GSLogRecord)
+     */
+    public void error(GSLogRecord record, Supplier<String> message);
+
+    /**
+     * Creates a non-critical error message in the log file from a format string and a
+     * single parameter, only formatting the message if the `ERROR` level is
+     * enabled.
+     * <p>
+     * When the level is enabled, the `format` is formatted with the `param`,
+     * and the result is written with the details of the `record`. When the
+     * level is disabled, nothing is formatted. Either way, the `record` is
+     * not modified.</p>
+     * <p>
+     * <strong><em>Note</em></strong>: A disabled message costs the level
+     * check, and no formatting. An implementation may still keep the
+     * `format` and `param` unformatted for a crash report, as the NTA
+     * `Logger` does in its flight recorder, which allocates one small entry
+     * per message.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param param the parameter of the format string
+     *
+     * @see #error(com.gs.api.GSLogRecord)
+     */
+    public void error(GSLogRecord record, String format, Object param);
+
+    /**
+     * Creates a non-critical error message in the log file from a format string and two
+     * parameters, only formatting the message if the `ERROR` level is enabled.
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param param1 the first parameter of the format string
+     * @param param2 the second parameter of the format string
+     *
+     * @see #error(com.gs.api.GSLogRecord, java.lang.String, java.lang.Object)
+     */
+    public void error(GSLogRecord record, String format, Object param1,
+            Object param2);
+
+    /**
+     * Creates a non-critical error message in the log file from a format string and any
+     * number of parameters, only formatting the message if the `ERROR` level is
+     * enabled.
+     * <p>
+     * <strong><em>Note</em></strong>: The Java compiler allocates the
+     * parameters array at the call site, even when the level is disabled.
+     * Prefer the one and two parameter overloads, or a `Supplier`, on hot
+     * paths.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param format a `String.format` format string
+     * @param params the parameters of the format string
+     *
+     * @see #error(com.gs.api.GSLogRecord, java.lang.String, java.lang.Object)
+     */
+    public void error(GSLogRecord record, String format, Object... params);
+
+    /**
+     * Logs the entry into a method, building the message text only if the `TRACE`
+     * level is enabled.
+     * <p>
+     * When the level is enabled, the `message` is called, and its result is
+     * written with the parameters of the `record`, which describe the method
+     * parameters. When the level is disabled, the `message` is not called.
+     * Either way, the `record` is not modified.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param message supplies the message text
+     * @return the token of the span, or `NO_SPAN` if spans are not timed
+     *
+     * @see #enter(com.gs.api.GSLogRecord)
+     */
+    public long enter(GSLogRecord record, Supplier<String> message);
+
+    /**
+     * Logs the exit from a method, building the message text only if the `TRACE`
+     * level is enabled.
+     * <p>
+     * When the level is enabled, the `message` is called, and its result is
+     * written with the parameters of the `record`, which describe the method
+     * return value. When the level is disabled, the `message` is not called.
+     * Either way, the `record` is not modified.</p>
+     *
+     * @param record the `GSLogRecord` of the message details
+     * @param message supplies the message text
+     *
+     * @see #exit(com.gs.api.GSLogRecord)
+     */
+    public void exit(GSLogRecord record, Supplier<String> message);
+
 }
@@ -28,10 +28,14 @@
  *  WHEN          BY                   REASON
  *  ------------  -------------------  -----------------------------------------
  *  Oct 31, 2021  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Added the prefix queries getByPrefix and
+ *                                     removeByPrefix, and listeners for the
+ *                                     properties under a prefix.
  * *****************************************************************************
  */
 package com.gs.api;
 
+import java.beans.PropertyChangeListener;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
@@ -39,6 +43,7 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Map;
 
 /**
  * The `Properties` class maintains all application properties.
@@ -140,4 +145,49 @@ public interface GSProperties {
      */
     public void storeProperties();
 
+    /**
+     * Retrieves every property whose name starts with `prefix`, such as all of
+     * the `net.proxy.` properties of an options panel. A property that is in
+     * both the system and the runtime properties lists has its system value.
+     *
+     * @param prefix the start of the names of the properties of interest
+     * @return the values of the properties, by name, in the order of their
+     * names; empty if there are none
+     */
+    public Map<String, Object> getByPrefix(String prefix);
+
+    /**
+     * Removes every property whose name starts with `prefix` from both the
+     * system and the runtime properties lists.
+     *
+     * @param prefix the start of the names of the properties to remove
+     * @return the number of properties removed
+     */
+    public int removeByPrefix(String prefix);
+
+    /**
+     * Adds a listener that is told of every change to a property whose name
+     * starts with `prefix`. An empty `prefix` listens to every property.
+     * <p>
+     * The listener is called on the thread that set or removed the property,
+     * once the change can be read. The `PropertyChangeEvent` holds the name of
+     * the property, and its value before and after the change in the list
+     * that changed; a value is `null` when the property was added or
+     * removed.</p>
+     *
+     * @param prefix the start of the names of the properties of interest
+     * @param listener the listener
+     */
+    public void addPropertyChangeListener(String prefix,
+            PropertyChangeListener listener);
+
+    /**
+     * Removes a listener added with the same `prefix`.
+     *
+     * @param prefix the prefix with which the listener was added
+     * @param listener the listener
+     */
+    public void removePropertyChangeListener(String prefix,
+            PropertyChangeListener listener);
+
 }
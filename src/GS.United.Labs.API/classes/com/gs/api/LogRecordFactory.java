@@ -0,0 +1,320 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   LogRecordFactory.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 11:02:37 AM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Added currentSequenceNumber, so that the
+ *                                     log writer can tell which sequence
+ *                                     numbers have been handed out.
+ *  Oct 18, 2026  Sean Carrick         Records no longer take a sequence number
+ *                                     when they are handed out; the GSLogger
+ *                                     stamps the number under which each
+ *                                     message is written.
+ * *****************************************************************************
+ */
+package com.gs.api;
+
+import java.util.ResourceBundle;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The `LogRecordFactory` hands out reusable `GSLogRecord`s that are safe to use
+ * from any thread.
+ * <p>
+ * Before this factory, each class obtained a single `GSLogRecord` from the
+ * `ServiceLoader` and mutated it before every call to its `GSLogger`. When a
+ * background `Task` and the Event Dispatch Thread both logged through the same
+ * record, the details of one message could end up in the other. The factory
+ * keeps one record per thread instead, so a record is never shared between
+ * threads, and no record is allocated for each log message.</p>
+ * <p>
+ * Every record that leaves the factory has been reset and has its thread set
+ * to the calling thread. The instant and the sequence number are left empty,
+ * so that the `GSLogger` stamps them only if the message is actually written,
+ * and a message that is never written does not use up a sequence number.</p>
+ * ```java
+ * public class MyClass {
+ *
+ *     private static final LogRecordFactory RECORDS = LogRecordFactory.getDefault();
+ *     private final GSLogger logger;
+ *
+ *     public void doSomething(String name, int id) {
+ *         logger.enter(RECORDS.builder()
+ *                 .sourceClassName(MyClass.class.getName())
+ *                 .sourceMethodName("doSomething")
+ *                 .parameters(name, id)
+ *                 .build());
+ *
+ *         // the rest of the method...
+ *     }
+ *
+ * }
+ * ```
+ * <p>
+ * <strong><em>Note</em></strong>: The record returned by `acquire` or
+ * `Builder.build` belongs to the calling thread and is reset by the next call
+ * to `acquire` or `builder` on that thread. It should be handed to the
+ * `GSLogger` right away and never kept in a field or passed to another thread.
+ * Use `create` for a record that needs to outlive a single log message.</p>
+ *
+ * @see GSLogRecord#reset()
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LogRecordFactory {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static volatile LogRecordFactory defaultFactory;
+
+    private final Supplier<GSLogRecord> creator;
+    private final ThreadLocal<Builder> builders;
+
+    /**
+     * Constructs a new `LogRecordFactory` that uses the given `creator` to
+     * construct its records.
+     *
+     * @param creator constructs a new, empty `GSLogRecord` on every call
+     * @throws IllegalArgumentException if `creator` is `null`
+     */
+    public LogRecordFactory(Supplier<GSLogRecord> creator) {
+        if (creator == null) {
+            throw new IllegalArgumentException("null creator");
+        }
+
+        this.creator = creator;
+        this.builders = ThreadLocal.withInitial(
+                () -> new Builder(creator.get()));
+    }
+
+    /**
+     * Gets the application-wide `LogRecordFactory`, which constructs its
+     * records from the first `GSLogRecord` provider found by the
+     * `ServiceLoader`.
+     *
+     * @return the default factory
+     * @throws IllegalStateException if no `GSLogRecord` provider is installed
+     */
+    public static LogRecordFactory getDefault() {
+        LogRecordFactory factory = defaultFactory;
+        if (factory == null) {
+            synchronized (LogRecordFactory.class) {
+                factory = defaultFactory;
+                if (factory == null) {
+                    ServiceLoader.Provider<GSLogRecord> provider = ServiceLoader
+                            .load(GSLogRecord.class).stream().findFirst()
+                            .orElseThrow(() -> new IllegalStateException(
+                                    "No GSLogRecord provider installed"));
+                    factory = new LogRecordFactory(provider::get);
+                    defaultFactory = factory;
+                }
+            }
+        }
+
+        return factory;
+    }
+
+    /**
+     * Atomically assigns the next sequence number. Sequence numbers are unique
+     * and increasing across every thread in the application.
+     *
+     * @return the next sequence number, starting at one
+     */
+    public static long nextSequenceNumber() {
+        return SEQUENCE.incrementAndGet();
+    }
+
+    /**
+     * Gets the last sequence number assigned, without assigning a new one.
+     * Every sequence number up to and including the returned value has
+     * already been handed out by `nextSequenceNumber`.
+     *
+     * @return the last sequence number assigned, or zero if none has been
+     */
+    public static long currentSequenceNumber() {
+        return SEQUENCE.get();
+    }
+
+    /**
+     * Gets the calling thread's record, after resetting it and assigning it
+     * the current thread.
+     *
+     * @return the calling thread's reusable record
+     */
+    public GSLogRecord acquire() {
+        return builders.get().begin().record;
+    }
+
+    /**
+     * Gets the calling thread's record builder. The builder starts with the
+     * same freshly reset record that `acquire` would return.
+     *
+     * @return the calling thread's reusable builder
+     */
+    public Builder builder() {
+        return builders.get().begin();
+    }
+
+    /**
+     * Constructs a brand-new record that does not belong to any thread's pool.
+     * The record is assigned the current thread.
+     *
+     * @return a new record
+     */
+    public GSLogRecord create() {
+        GSLogRecord record = creator.get();
+        record.setThread(Thread.currentThread());
+        return record;
+    }
+
+    /**
+     * A fluent builder over the calling thread's reusable record. A `Builder`
+     * is obtained from `LogRecordFactory.builder` and must only be used by the
+     * thread that obtained it.
+     */
+    public static final class Builder {
+
+        private final GSLogRecord record;
+
+        private Builder(GSLogRecord record) {
+            this.record = record;
+        }
+
+        private Builder begin() {
+            record.reset();
+            record.setThread(Thread.currentThread());
+            return this;
+        }
+
+        /**
+         * Sets the name of the class that is logging the message.
+         *
+         * @param sourceClassName the source class name
+         * @return this builder
+         */
+        public Builder sourceClassName(String sourceClassName) {
+            record.setSourceClassName(sourceClassName);
+            return this;
+        }
+
+        /**
+         * Sets the name of the method that is logging the message.
+         *
+         * @param sourceMethodName the source method name
+         * @return this builder
+         */
+        public Builder sourceMethodName(String sourceMethodName) {
+            record.setSourceMethodName(sourceMethodName);
+            return this;
+        }
+
+        /**
+         * Sets the raw message, which may contain `String.format` tokens.
+         *
+         * @param message the raw message
+         * @return this builder
+         */
+        public Builder message(String message) {
+            record.setMessage(message);
+            return this;
+        }
+
+        /**
+         * Sets the parameters of the message, or of the method being entered.
+         *
+         * @param parameters the parameters
+         * @return this builder
+         */
+        public Builder parameters(Object... parameters) {
+            record.setParameters(parameters);
+            return this;
+        }
+
+        /**
+         * Sets the `Throwable` associated with the message.
+         *
+         * @param thrown the associated `Throwable`
+         * @return this builder
+         */
+        public Builder thrown(Throwable thrown) {
+            record.setThrown(thrown);
+            return this;
+        }
+
+        /**
+         * Sets the level of the message.
+         *
+         * @param level the message level, for example `GSLogger.DEBUG`
+         * @return this builder
+         */
+        public Builder level(int level) {
+            record.setLevel(level);
+            return this;
+        }
+
+        /**
+         * Sets the name of the logger.
+         *
+         * @param loggerName the logger name
+         * @return this builder
+         */
+        public Builder loggerName(String loggerName) {
+            record.setLoggerName(loggerName);
+            return this;
+        }
+
+        /**
+         * Sets the localization `ResourceBundle` of the message.
+         *
+         * @param resourceBundle the `ResourceBundle`
+         * @return this builder
+         */
+        public Builder resourceBundle(ResourceBundle resourceBundle) {
+            record.setResourceBundle(resourceBundle);
+            if (resourceBundle != null) {
+                record.setResourceBundleName(resourceBundle.getBaseBundleName());
+            }
+            return this;
+        }
+
+        /**
+         * Gets the record that has been built.
+         *
+         * @return the calling thread's reusable record
+         */
+        public GSLogRecord build() {
+            return record;
+        }
+
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   LoggerFactory.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 5:47:19 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.api;
+
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The `LoggerFactory` hands out one cached `GSLogger` per name.
+ * <p>
+ * Before this factory, every class looked up its own `GSLogger` through the
+ * `ServiceLoader`, which scanned the module layer and constructed a brand-new
+ * logger each time. The factory looks up the `GSLogger` provider only once,
+ * and returns the same logger every time the same name is requested. The
+ * provided loggers all write to the application's single log file, so there
+ * is no need to call `updateLogName`.</p>
+ * ```java
+ * public class MyClass {
+ *
+ *     private final GSLogger logger = LoggerFactory.getLogger(MyClass.class);
+ *
+ * }
+ * ```
+ *
+ * @see GSLogger
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LoggerFactory {
+
+    private static final ConcurrentMap<String, GSLogger> LOGGERS
+            = new ConcurrentHashMap<>();
+    private static volatile ServiceLoader.Provider<GSLogger> provider;
+
+    private LoggerFactory() {
+        // Only static methods.
+    }
+
+    /**
+     * Gets the logger for the given class, named by the class's binary name.
+     *
+     * @param type the class that will do the logging
+     * @return the cached logger for the class
+     * @throws IllegalArgumentException if `type` is `null`
+     * @throws IllegalStateException if no `GSLogger` provider is installed
+     */
+    public static GSLogger getLogger(Class<?> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("null type");
+        }
+
+        return getLogger(type.getName());
+    }
+
+    /**
+     * Gets the logger with the given name, constructing it the first time the
+     * name is requested. The name is set as the logger's class name.
+     *
+     * @param name the name of the logger, typically a class name
+     * @return the cached logger with the given name
+     * @throws IllegalArgumentException if `name` is `null` or blank
+     * @throws IllegalStateException if no `GSLogger` provider is installed
+     */
+    public static GSLogger getLogger(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("null or blank name");
+        }
+
+        GSLogger logger = LOGGERS.get(name);
+        if (logger == null) {
+            logger = LOGGERS.computeIfAbsent(name, LoggerFactory::create);
+        }
+
+        return logger;
+    }
+
+    private static GSLogger create(String name) {
+        GSLogger logger = getProvider().get();
+        logger.setClassName(name);
+        return logger;
+    }
+
+    private static ServiceLoader.Provider<GSLogger> getProvider() {
+        ServiceLoader.Provider<GSLogger> p = provider;
+        if (p == null) {
+            synchronized (LoggerFactory.class) {
+                p = provider;
+                if (p == null) {
+                    p = ServiceLoader.load(GSLogger.class).stream().findFirst()
+                            .orElseThrow(() -> new IllegalStateException(
+                                    "No GSLogger provider installed"));
+                    provider = p;
+                }
+            }
+        }
+
+        return p;
+    }
+
+}
@@ -35,5 +35,8 @@ module GS.United.Labs.API {
     requires java.base;
     requires java.desktop;
     
+    uses com.gs.api.GSLogRecord;
+    uses com.gs.api.GSLogger;
+    
     exports com.gs.api;
 }
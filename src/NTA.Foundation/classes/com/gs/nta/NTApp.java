@@ -28,12 +28,29 @@
  *  WHEN          BY                   REASON
  *  ------------  -------------------  -----------------------------------------
  *  Aug 14, 2021  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Switched the debugging messages of the
+ *                                     menu building methods to the lazy GSLogger
+ *                                     overloads, so that no messages are
+ *                                     formatted unless DEBUG is enabled.
+ *                                     The StartupTask now takes its records
+ *                                     from the LogRecordFactory, because it
+ *                                     logs from a worker thread.
+ *  Oct 18, 2026  Sean Carrick         Now gets its logger from the
+ *                                     LoggerFactory, instead of looking up a
+ *                                     new GSLogger service every time.
+ *  Oct 18, 2026  Sean Carrick         Replaced the shared GSLogRecord field
+ *                                     with a record of its own for each call,
+ *                                     from the LogRecordFactory, and removed
+ *                                     the setInstant calls that the GSLogger
+ *                                     no longer needs.
  * *****************************************************************************
  */
 package com.gs.nta;
 
 import com.gs.api.GSLogRecord;
 import com.gs.api.GSLogger;
+import com.gs.api.LoggerFactory;
+import com.gs.api.LogRecordFactory;
 import com.gs.api.ActionCommandProvider;
 import com.gs.api.MenuProvider;
 import com.gs.api.SubMenuProvider;
@@ -47,7 +64,6 @@ import com.gs.nta.properties.Properties;
 import java.awt.event.ActionEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -119,9 +135,10 @@ import org.jdesktop.application.Task;
  */
 public class NTApp extends SingleFrameApplication {
 
+    private static final LogRecordFactory RECORDS = LogRecordFactory.getDefault();
+
     private Properties props;
     private GSLogger logger;
-    private GSLogRecord record;
     private MainFrame mainFrame;
     private List<MenuProvider> menuList;
     private HashMap<Comparable, String> menuItems;
@@ -149,25 +166,13 @@ public class NTApp extends SingleFrameApplication {
                 getContext().getResourceMap().getInteger(
                         "Application.logging.level"));
         
-        // To initialize the logger, we need to get a service for it.
-        ServiceLoader<GSLogger> logLoader = ServiceLoader.load(GSLogger.class);
-        // We are only interested in the first GSLogger that we find.
-        logger = logLoader.iterator().next();
-        logger.setClassName(getClass().getCanonicalName());
-        logger.updateLogName();
+        logger = LoggerFactory.getLogger(getClass());
         logger.setLevel(props.getPropertyAsInteger("logging.level"));
         logger.setFormattedOutput(true);
 
-        // To initialize the record, we need to get a service for it.
-        ServiceLoader<GSLogRecord> recordLoader = ServiceLoader.load(GSLogRecord.class);
-        // We are only interested in the first GSLogRecord that we find.
-        record = recordLoader.iterator().next();
-        record.setSourceClassName(logger.getClassName());
-        record.setInstant(Instant.now());
+        GSLogRecord record = newRecord("initialize");
         record.setMessage("Initializing the application");
         record.setParameters(args);
-        record.setSourceMethodName("initialize");
-        record.setThread(Thread.currentThread());
         logger.enter(record);
         mainFrame = new MainFrame(this);
         parseArguments(args);
@@ -198,10 +203,7 @@ public class NTApp extends SingleFrameApplication {
 
     @Override
     protected void shutdown() {
-        record.setInstant(Instant.now());
-        record.setSourceMethodName("shutdown");
-        record.setParameters(null);
-        record.setThread(Thread.currentThread());
+        GSLogRecord record = newRecord("shutdown");
         record.setMessage("Commencing shutdown procedures.");
         logger.enter(record);
         
@@ -210,10 +212,6 @@ public class NTApp extends SingleFrameApplication {
         
 
         
-        record.setInstant(Instant.now());
-        record.setSourceMethodName("shutdown");
-        record.setParameters(null);
-        record.setThread(Thread.currentThread());
         record.setMessage("Completed shutdown procedures. "
                 + "Calling super.shutdown() and exiting NTA.");
         logger.exit(record);
@@ -246,24 +244,30 @@ public class NTApp extends SingleFrameApplication {
         return props;
     }
 
+    // Each call gets a record of its own, because the menu methods are also
+    //+ run on the worker thread of the StartupTask, and a record that is kept
+    //+ must not be shared with the Event Dispatch Thread.
+    private GSLogRecord newRecord(String methodName) {
+        GSLogRecord record = RECORDS.create();
+        record.setSourceClassName(logger.getClassName());
+        record.setSourceMethodName(methodName);
+        return record;
+    }
+
     //<editor-fold defaultstate="collapsed" desc="private void parseArguments()">
     private void parseArguments(String[] args) {
-        record.setInstant(Instant.now());
-        record.setSourceMethodName("parseArguments");
+        GSLogRecord record = newRecord("parseArguments");
         record.setParameters(args);
-        record.setThread(Thread.currentThread());
         record.setMessage("Preparing to parse the command-line arguments, if any.");
         logger.enter(record);
 
         // Initialize a parser object.
         ArgumentParser parser = new ArgumentParser(args);
 
-        record.setInstant(Instant.now());
         record.setParameters(null);
         record.setMessage("Checking for development environment.");
         logger.debug(record);
         if (parser.isSwitchPresent("-i") || parser.isSwitchPresent("--ide")) {
-            record.setInstant(Instant.now());
             record.setMessage("Running in the IDE. Setting properties appropriately.");
             logger.config(record);
 
@@ -275,7 +279,6 @@ public class NTApp extends SingleFrameApplication {
             props.setRuntimeProperty("logging.level", GSLogger.WARN);
         }
 
-        record.setInstant(Instant.now());
         record.setMessage("\"development.mode\" = "
                 + props.getPropertyAsBoolean("development.mode")
                 + "\n\"logger.level\" = "
@@ -415,46 +418,33 @@ public class NTApp extends SingleFrameApplication {
 
     //<editor-fold defaultstate="collapsed" desc="private void buildMainMenu()">
     private void buildMainMenu() {
-        record.setInstant(Instant.now());
-        record.setMessage(String.format("Commencing building the main menu "
-                + "using the list %s", menuList));
-        record.setParameters(null);
-        record.setSourceMethodName("buildMainMenu");
-        record.setThread(Thread.currentThread());
-        logger.enter(record);
+        GSLogRecord record = newRecord("buildMainMenu");
+        logger.enter(record, () -> String.format("Commencing building the main "
+                + "menu using the list %s", menuList));
 
         menuList.forEach(m -> {
-            record.setMessage(String.format("Preparing to build a JMenu for %s", m));
-            record.setInstant(Instant.now());
-            logger.debug(record);
+            logger.debug(record, "Preparing to build a JMenu for %s", m);
             JMenu menu = new JMenu();
             menu.setName(m.getName());
             menu.setText(m.getText());
-            record.setMessage(String.format("Created the menu %s for "
-                    + "MenuProvider %s", menu, m));
-            record.setInstant(Instant.now());
-            logger.debug(record);
+            logger.debug(record, "Created the menu %s for "
+                    + "MenuProvider %s", menu, m);
             getContext().getResourceMap().injectComponent(menu);
             mainFrame.getMenuBar().add(menu);
-            record.setMessage(String.format("Added JMenu %s to "
-                    + "mainFrame.getMenuBar() %s", menu, mainFrame.getMenuBar()));
-            record.setInstant(Instant.now());
-            logger.debug(record);
+            logger.debug(record, "Added JMenu %s to "
+                    + "mainFrame.getMenuBar() %s", menu, mainFrame.getMenuBar());
         });
 
-        record.setInstant(Instant.now());
         record.setMessage("Completed building the main menu bar.");
         logger.exit(record);
     } // </editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="private void recursivelyAddSubMenusAndMenuItems()">
     private void recursivelyAddSubMenusAndMenuItems() {
-        record.setInstant(Instant.now());
-        record.setSourceMethodName("recursivelyAddSubMenusAndMenuItems");
-        record.setMessage(String.format("Commencing recursively adding the menu "
-                + "items to the main menu using menuItems: %s", menuItems));
-        record.setThread(Thread.currentThread());
-        logger.enter(record);
+        GSLogRecord record = newRecord("recursivelyAddSubMenusAndMenuItems");
+        logger.enter(record, () -> String.format("Commencing recursively adding "
+                + "the menu items to the main menu using menuItems: %s",
+                menuItems));
 
         // We know that the menuItems map has already been sorted after the menu
         //+ items were added (submenus were added first). Therefore, all of the
@@ -475,26 +465,19 @@ public class NTApp extends SingleFrameApplication {
                 //+ is the value.
             }
 
-            record.setInstant(Instant.now());
-            record.setMessage(String.format("Verifying that currentMenu (%s) is "
+            logger.debug(record, "Verifying that currentMenu (%s) is "
                     + "the same as menuItems.get(key [%s]) (%s)", currentMenu,
-                    key, menuItems.get(key)));
-            logger.debug(record);
+                    key, menuItems.get(key));
 
             // Verify that the current key's value is the same as currentMenu.
             if (currentMenu.equals(menuItems.get(key))) {
-                record.setInstant(Instant.now());
-                record.setMessage(String.format("Adding key (%s) to items (%s)",
-                        key, items));
-                record.setThread(Thread.currentThread());
-                logger.debug(record);
+                logger.debug(record, "Adding key (%s) to items (%s)",
+                        key, items);
                 // Add the comparable to the list.
                 items.add(key);
 
-                record.setInstant(Instant.now());
-                record.setMessage(String.format("Key (%s) added to items (%s)",
-                        key, items));
-                logger.debug(record);
+                logger.debug(record, "Key (%s) added to items (%s)",
+                        key, items);
 
                 // Store the currentMenu for later use.
                 lastMenu = currentMenu;
@@ -506,115 +489,87 @@ public class NTApp extends SingleFrameApplication {
 
         Iterator<Comparable> it = keys.iterator();
 
-        record.setInstant(Instant.now());
-        record.setMessage(String.format("Iterating over keys iterator (%s)", keys));
-        logger.debug(record);
+        logger.debug(record, "Iterating over keys iterator (%s)", keys);
         while (it.hasNext()) {
             Comparable c = it.next();
 
-            record.setInstant(Instant.now());
-            record.setMessage(String.format("Checking to see if lastMenu (%s) "
+            logger.debug(record, "Checking to see if lastMenu (%s) "
                     + "equals menuItems.get(c) (%s), which is %s", lastMenu,
-                    menuItems.get(c), lastMenu.equals(menuItems.get(c))));
-            logger.debug(record);
+                    menuItems.get(c), lastMenu.equals(menuItems.get(c)));
             if (lastMenu.equals(menuItems.get(c))) {
-                record.setInstant(Instant.now());
-                record.setMessage(String.format("Removing c (%s) from the "
-                        + "iterator (%s)", c, it));
-                logger.debug(record);
+                logger.debug(record, "Removing c (%s) from the "
+                        + "iterator (%s)", c, it);
                 it.remove();
             }
         }
 
-        record.setInstant(Instant.now());
-        record.setThread(Thread.currentThread());
-        record.setMessage(String.format("Calling addItemsListToMenu(%s, %s)",
-                items, currentMenu));
+        logger.debug(record, "Calling addItemsListToMenu(%s, %s)", items,
+                currentMenu);
         // Now, we can add these items to the menu they have requested.
         addItemsListToMenu(items, currentMenu);
 
-        record.setInstant(Instant.now());
-        record.setSourceMethodName("recursivelyAddSubMenusAndMenuItems");
-        record.setMessage(String.format("Checking if menuItems is empty: %s",
-                menuItems.isEmpty()));
-        logger.debug(record);
+        logger.debug(record, "Checking if menuItems is empty: %s",
+                menuItems.isEmpty());
         // Now that a single menu is complete, recurse to do the rest of the
         //+ menus. However, only recurse if the original menuItems map is not
         //+ empty.
         if (!menuItems.isEmpty()) {
-            record.setInstant(Instant.now());
             record.setMessage("Recursing this method.");
             logger.exit(record);
             recursivelyAddSubMenusAndMenuItems();
         }
 
-        record.setInstant(Instant.now());
         record.setMessage("Done adding sub menus and menu items to the menu system.");
         logger.exit(record);
     } // </editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="private void addItemsListToMenu(ArrayList items)">
     private void addItemsListToMenu(List<Comparable> list, String menuName) {
-        record.setSourceMethodName("addItemsListToMenu");
+        GSLogRecord record = newRecord("addItemsListToMenu");
         record.setParameters(new Object[]{list, menuName});
-        record.setMessage(String.format("Calling sortList(%s)", list));
-        logger.enter(record);
+        List<Comparable> unsorted = list;
+        logger.enter(record, () -> String.format("Calling sortList(%s)",
+                unsorted));
+        record.setParameters(null);
 
         // Since we have received an unsorted list of items, we need to sort it.
         list = sortList(list);
 
-        record.setInstant(Instant.now());
-        record.setSourceMethodName("addItemsListToMenu");
-        record.setParameters(null);
-        record.setMessage(String.format("Looping through all of the menus to "
+        logger.debug(record, "Looping through all of the menus to "
                 + "add the list items to the appropriate menu. Outer loop will "
-                + "run %s times", mainFrame.getMenuBar().getMenuCount()));
-        logger.debug(record);
+                + "run %s times", mainFrame.getMenuBar().getMenuCount());
         // With sorted list in hand, we can loop through the menus to find the
         //+ correct one.
         try {
             boolean separatorJustAdded = false;
             for (int x = 0; x < mainFrame.getMenuBar().getMenuCount(); x++) {
-                record.setInstant(Instant.now());
-                record.setMessage(String.format("Starting iteration %s of outer "
-                        + "loop", x));
-                logger.debug(record);
+                logger.debug(record, "Starting iteration %s of outer "
+                        + "loop", x);
 
-                record.setInstant(Instant.now());
-                record.setMessage(String.format("Checking if menuName (%s) equals "
+                logger.debug(record, "Checking if menuName (%s) equals "
                         + "mainFrame.getMenuBar().getMenu(x).getName() (%s) = %s",
                         menuName, mainFrame.getMenuBar().getMenu(x).getName(),
-                        menuName.equals(mainFrame.getMenuBar().getMenu(x).getName())));
-                logger.debug(record);
+                        menuName.equals(mainFrame.getMenuBar().getMenu(x).getName()));
                 if (menuName.equals(mainFrame.getMenuBar().getMenu(x).getName())) {
                     // We have a winner! Let's add the items.
-                    record.setInstant(Instant.now());
-                    record.setMessage(String.format("Entering the inner loop, which "
-                            + "will run %s times.", list.size()));
-                    logger.debug(record);
+                    logger.debug(record, "Entering the inner loop, which "
+                            + "will run %s times.", list.size());
                     int loopCounter = 0; // for logging purposes only.
                     for (Comparable c : list) {
-                        record.setInstant(Instant.now());
-                        record.setMessage(String.format("Starting iteration %s of "
-                                + "inner loop.", ++loopCounter));
-                        logger.debug(record);
+                        logger.debug(record, "Starting iteration %s of "
+                                + "inner loop.", ++loopCounter);
 
-                        record.setInstant(Instant.now());
-                        record.setMessage(String.format("Checking if c (%s) "
+                        logger.debug(record, "Checking if c (%s) "
                                 + "instanceof SubMenuProvider: %s\nor instanceof "
                                 + "ActionCommandProvider: %s", c,
                                 c instanceof SubMenuProvider,
-                                c instanceof ActionCommandProvider));
-                        logger.debug(record);
+                                c instanceof ActionCommandProvider);
                         if (c instanceof SubMenuProvider) {
                             SubMenuProvider p = (SubMenuProvider) c;
 
-                            record.setInstant(Instant.now());
-                            record.setMessage(String.format("p.separatorBefore() "
-                                    + "= %s", p.separatorBefore()));
-                            logger.debug(record);
+                            logger.debug(record, "p.separatorBefore() "
+                                    + "= %s", p.separatorBefore());
                             if (p.separatorBefore()) {
-                                record.setInstant(Instant.now());
                                 record.setMessage("Adding a separator to the menu bar.");
                                 logger.debug(record);
                                 if (!separatorJustAdded && mainFrame.getMenuBar().getMenu(x).getMenuComponentCount() > 1) {
@@ -623,27 +578,20 @@ public class NTApp extends SingleFrameApplication {
                                 }
                             }
 
-                            record.setInstant(Instant.now());
-                            record.setMessage(String.format("Creating a JMenu for p "
-                                    + "(%s)", p));
-                            logger.debug(record);
+                            logger.debug(record, "Creating a JMenu for p "
+                                    + "(%s)", p);
                             JMenu menu = new JMenu();
                             menu.setName(p.getName());
                             menu.setText(p.getText());
 
-                            record.setInstant(Instant.now());
-                            record.setMessage(String.format("Adding the menu (%s) "
-                                    + "to the menu bar.", menu));
-                            logger.debug(record);
+                            logger.debug(record, "Adding the menu (%s) "
+                                    + "to the menu bar.", menu);
                             mainFrame.getMenuBar().getMenu(x).add(menu);
                             separatorJustAdded = false;
 
-                            record.setInstant(Instant.now());
-                            record.setMessage(String.format("p.separatorAfter() = %s",
-                                    p.separatorAfter()));
-                            logger.debug(record);
+                            logger.debug(record, "p.separatorAfter() = %s",
+                                    p.separatorAfter());
                             if (p.separatorAfter()) {
-                                record.setInstant(Instant.now());
                                 record.setMessage("Adding a separator to the menu bar.");
                                 logger.debug(record);
                                 if (!separatorJustAdded) {
@@ -654,12 +602,9 @@ public class NTApp extends SingleFrameApplication {
                         } else if (c instanceof ActionCommandProvider) {
                             ActionCommandProvider p = (ActionCommandProvider) c;
 
-                            record.setInstant(Instant.now());
-                            record.setMessage(String.format("p.separatorBeforeMenu() "
-                                    + "= %s", p.separatorBeforeMenu()));
-                            logger.debug(record);
+                            logger.debug(record, "p.separatorBeforeMenu() "
+                                    + "= %s", p.separatorBeforeMenu());
                             if (p.separatorBeforeMenu() && mainFrame.getMenuBar().getMenuCount() >= 1) {
-                                record.setInstant(Instant.now());
                                 record.setMessage("Adding a separator to the menu bar.");
                                 logger.debug(record);
                                 if (!separatorJustAdded) {
@@ -668,10 +613,8 @@ public class NTApp extends SingleFrameApplication {
                                 }
                             }
 
-                            record.setInstant(Instant.now());
-                            record.setMessage(String.format("Creating a JMenuItem for p "
-                                    + "(%s)", p));
-                            logger.debug(record);
+                            logger.debug(record, "Creating a JMenuItem for p "
+                                    + "(%s)", p);
                             JMenuItem item = new JMenuItem();
                             item.setName(p.getName() + "MenuItem");
                             item.setAction(getInstance(Application.class).getContext().getActionManager().getActionMap().get(p.getMethodName()));
@@ -680,19 +623,14 @@ public class NTApp extends SingleFrameApplication {
                                 item.setText(p.getTextOverride());
                             }
 
-                            record.setInstant(Instant.now());
-                            record.setMessage(String.format("Adding the item (%s) "
-                                    + "to the menu bar.", item));
-                            logger.debug(record);
+                            logger.debug(record, "Adding the item (%s) "
+                                    + "to the menu bar.", item);
                             mainFrame.getMenuBar().getMenu(x).add(item);
                             separatorJustAdded = false;
 
-                            record.setInstant(Instant.now());
-                            record.setMessage(String.format("p.separatorAfterMenu() = %s",
-                                    p.separatorAfterMenu()));
-                            logger.debug(record);
+                            logger.debug(record, "p.separatorAfterMenu() = %s",
+                                    p.separatorAfterMenu());
                             if (p.separatorAfterMenu()) {
-                                record.setInstant(Instant.now());
                                 record.setMessage("Adding a separator to the menu bar.");
                                 logger.debug(record);
                                 if (!separatorJustAdded) {
@@ -739,9 +677,6 @@ public class NTApp extends SingleFrameApplication {
                 }
             }
         } catch (NullPointerException ex) {
-            record.setInstant(Instant.now());
-            record.setThread(Thread.currentThread());
-            record.setSourceMethodName("addItemsListToMenu");
             record.setThrown(ex);
             logger.critical(record);
         }
@@ -763,9 +698,7 @@ public class NTApp extends SingleFrameApplication {
             }
         }
 
-        record.setInstant(Instant.now());
         record.setMessage("Returning to recursivelyAddSubMenusAndMenuItems()");
-        record.setThread(Thread.currentThread());
         logger.exit(record);
     } // </editor-fold>
 
@@ -859,64 +792,56 @@ public class NTApp extends SingleFrameApplication {
         public StartupTask(Application application) {
             super(application);
             logger.setLevel(GSLogger.TRACE);
-            record.setInstant(Instant.now());
-            record.setMessage("Constructing StartupTask");
-            record.setParameters(new Object[]{application});
-            record.setSequenceNumber(1l);
-            record.setSourceMethodName("StartupTask [Constructor]");
-            record.setThread(Thread.currentThread());
-            logger.enter(record);
+            logger.enter(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("StartupTask [Constructor]")
+                    .message("Constructing StartupTask")
+                    .parameters(application)
+                    .build());
             
             this.splash = new SplashScreen();
 //            splash.setUndecorated(true);
             show(splash);
             
-            record.setInstant(Instant.now());
-            record.setMessage("Constructing StartupTask");
-            record.setParameters(new Object[]{application});
-            record.setSequenceNumber(2l);
-            record.setSourceMethodName("StartupTask [Constructor]");
-            record.setThread(Thread.currentThread());
-            logger.exit(record);
+            logger.exit(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("StartupTask [Constructor]")
+                    .message("Constructing StartupTask")
+                    .parameters(application)
+                    .build());
         }
         
         
 
         @Override
         protected Void doInBackground() throws Exception {
-            record.setInstant(Instant.now());
-            record.setMessage("Running task...");
-            record.setParameters(null);
-            record.setSequenceNumber(3l);
-            record.setSourceMethodName("doInBackground");
-            record.setThread(Thread.currentThread());
-            logger.enter(record);
+            logger.enter(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("doInBackground")
+                    .message("Running task...")
+                    .build());
             int progress = 0;
             setProgress(0);
             message("startMessage");
 
-            record.setInstant(Instant.now());
-            record.setMessage("Setting the toolbar to indeterminate while we "
-                    + "prepare to launch...");
-            record.setParameters(null);
-            record.setSequenceNumber(4l);
-            record.setSourceMethodName("doInBackground");
-            record.setThread(Thread.currentThread());
-            logger.debug(record);
+            logger.debug(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("doInBackground")
+                    .message("Setting the toolbar to indeterminate while we "
+                            + "prepare to launch...")
+                    .build());
             
             // First, we need to determine the number of items we are going to
             //+ be processing, so set the progressBar to indeterminate.
             splash.setIndeterminate(true);
             
-            record.setInstant(Instant.now());
-            record.setMessage("Creating variables to hold the total number of "
-                    + "top-level menus, sub menus, menu items and toolbar "
-                    + "buttons...");
-            record.setParameters(null);
-            record.setSequenceNumber(5l);
-            record.setSourceMethodName("doInBackground");
-            record.setThread(Thread.currentThread());
-            logger.debug(record);
+            logger.debug(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("doInBackground")
+                    .message("Creating variables to hold the total number of "
+                            + "top-level menus, sub menus, menu items and toolbar "
+                            + "buttons...")
+                    .build());
             
             // Get the maximum value for our progressBar.
             final int mainMenuValue = getMainMenuCount();
@@ -924,89 +849,73 @@ public class NTApp extends SingleFrameApplication {
             final int toolbarValue = getToolbarCount();
             splash.setMaximum(mainMenuValue + (menuValue * 2) + toolbarValue);
             
-            record.setInstant(Instant.now());
-            record.setMessage("Setting the progressbar back to determinate, "
-                    + "because we now know how many items are being processed...");
-            record.setParameters(null);
-            record.setSequenceNumber(6l);
-            record.setSourceMethodName("doInBackground");
-            record.setThread(Thread.currentThread());
-            logger.debug(record);
+            logger.debug(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("doInBackground")
+                    .message("Setting the progressbar back to determinate, "
+                            + "because we now know how many items are being processed...")
+                    .build());
             
             splash.setIndeterminate(false);
             message("menuMessage");
 
-            record.setInstant(Instant.now());
-            record.setMessage("Building the main menu bar...");
-            record.setParameters(null);
-            record.setSequenceNumber(7l);
-            record.setSourceMethodName("doInBackground");
-            record.setThread(Thread.currentThread());
-            logger.debug(record);
+            logger.debug(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("doInBackground")
+                    .message("Building the main menu bar...")
+                    .build());
             
             buildMainMenu();
             setProgress(mainMenuValue);
             
-            record.setInstant(Instant.now());
-            record.setMessage("Loading the sub menus and menu items...");
-            record.setParameters(null);
-            record.setSequenceNumber(8l);
-            record.setSourceMethodName("doInBackground");
-            record.setThread(Thread.currentThread());
-            logger.debug(record);
+            logger.debug(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("doInBackground")
+                    .message("Loading the sub menus and menu items...")
+                    .build());
             
             loadSubMenus();
             loadMenuItems();
             buildMenuSystem();
             setProgress(menuValue);
             
-            record.setInstant(Instant.now());
-            record.setMessage("Loading the toolbar buttons...");
-            record.setParameters(null);
-            record.setSequenceNumber(9l);
-            record.setSourceMethodName("doInBackground");
-            record.setThread(Thread.currentThread());
-            logger.debug(record);
+            logger.debug(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("doInBackground")
+                    .message("Loading the toolbar buttons...")
+                    .build());
             
-            record.setInstant(Instant.now());
-            record.setMessage(String.format("Returning %s", (Object) null));
-            record.setParameters(null);
-            record.setSequenceNumber(10l);
-            record.setSourceMethodName("doInBackground");
-            record.setThread(Thread.currentThread());
-            logger.exit(record);
+            logger.exit(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("doInBackground")
+                    .message("Returning null")
+                    .build());
             return null;
         }
         
         @Override
         protected void finished() {
-            record.setInstant(Instant.now());
-            record.setMessage("Finishing startup...");
-            record.setParameters(null);
-            record.setSequenceNumber(11l);
-            record.setSourceMethodName("finished");
-            record.setThread(Thread.currentThread());
-            logger.enter(record);
+            logger.enter(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("finished")
+                    .message("Finishing startup...")
+                    .build());
             
-            record.setInstant(Instant.now());
-            record.setMessage("Showing the mainFrame and disposing of the "
-                    + "SplashScreen...");
-            record.setParameters(null);
-            record.setSequenceNumber(12l);
-            record.setSourceMethodName("finished");
-            record.setThread(Thread.currentThread());
-            logger.debug(record);
+            logger.debug(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("finished")
+                    .message("Showing the mainFrame and disposing of the "
+                            + "SplashScreen...")
+                    .build());
             
             message("finishedMessage");
             show(mainFrame);
             splash.dispose();
-            record.setInstant(Instant.now());
-            record.setMessage("Completed the StartupTask processing...");
-            record.setParameters(null);
-            record.setSequenceNumber(13l);
-            record.setSourceMethodName("finished");
-            record.setThread(Thread.currentThread());
-            logger.exit(record);
+            logger.exit(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("finished")
+                    .message("Completed the StartupTask processing...")
+                    .build());
             
         }
         
@@ -28,12 +28,16 @@
  *  WHEN          BY                   REASON
  *  ------------  -------------------  -----------------------------------------
  *  Oct 31, 2021  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Now gets its logger from the
+ *                                     LoggerFactory, instead of looking up a
+ *                                     new GSLogger service every time.
  * *****************************************************************************
  */
 package com.gs.nta.desktop;
 
 import com.gs.api.GSLogRecord;
 import com.gs.api.GSLogger;
+import com.gs.api.LoggerFactory;
 import com.gs.nta.NTApp;
 import com.gs.utils.MessageBox;
 import java.io.BufferedReader;
@@ -76,10 +80,7 @@ public class BrowserConfigDialog extends javax.swing.JDialog
         
         app = (NTApp) Application.getInstance();
         
-        ServiceLoader<GSLogger> logLoader = ServiceLoader.load(GSLogger.class);
-        logger = logLoader.iterator().next();
-        logger.setClassName(getClass().getCanonicalName());
-        logger.updateLogName();
+        logger = LoggerFactory.getLogger(getClass());
         ServiceLoader<GSLogRecord> loader = ServiceLoader.load(GSLogRecord.class);
         record = loader.iterator().next();
         record.setSourceClassName(logger.getClassName());
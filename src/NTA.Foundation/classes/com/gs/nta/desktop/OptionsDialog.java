@@ -28,19 +28,24 @@
  *  WHEN          BY                   REASON
  *  ------------  -------------------  -----------------------------------------
  *  Oct 28, 2021  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Replaced the shared GSLogRecord with
+ *                                     records from the LogRecordFactory.
+ *  Oct 18, 2026  Sean Carrick         Now gets its logger from the
+ *                                     LoggerFactory, instead of looking up a
+ *                                     new GSLogger service every time.
  * *****************************************************************************
  */
 package com.gs.nta.desktop;
  
-import com.gs.api.GSLogRecord;
 import com.gs.api.GSLogger;
+import com.gs.api.LoggerFactory;
+import com.gs.api.LogRecordFactory;
 import com.gs.nta.NTApp;
 import com.gs.api.OptionsPanelProvider;
 import java.awt.CardLayout;
 import java.awt.Component;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.time.Instant;
 import java.util.Iterator;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
@@ -55,8 +60,9 @@ import org.jdesktop.application.Application;
 public class OptionsDialog extends javax.swing.JDialog 
         implements PropertyChangeListener {
 
+    private static final LogRecordFactory RECORDS = LogRecordFactory.getDefault();
+
     private final GSLogger logger;
-    private final GSLogRecord record;
     private final CardLayout cards;
     private final NTApp app;
     
@@ -66,13 +72,7 @@ public class OptionsDialog extends javax.swing.JDialog
     public OptionsDialog(java.awt.Frame parent, boolean modal) {
         super(parent, modal);
         
-        ServiceLoader<GSLogger> logLoader = ServiceLoader.load(GSLogger.class);
-        logger = logLoader.iterator().next();
-        logger.setClassName(getClass().getCanonicalName());
-        logger.updateLogName();
-        ServiceLoader<GSLogRecord> loader = ServiceLoader.load(GSLogRecord.class);
-        record = loader.iterator().next();
-        record.setSourceClassName(logger.getClassName());
+        logger = LoggerFactory.getLogger(getClass());
         
         app = (NTApp) Application.getInstance();
         
@@ -127,13 +127,12 @@ public class OptionsDialog extends javax.swing.JDialog
                 p.getInstance().addPropertyChangeListener("itemStateChanged", this);
             }
         } catch (ServiceConfigurationError svc) {
-            record.setInstant(Instant.now());
-            record.setMessage("Attempting to load options panels.");
-            record.setParameters(null);
-            record.setSourceMethodName("loadOptionsPanels");
-            record.setThread(Thread.currentThread());
-            record.setThrown(svc);
-            logger.error(record);
+            logger.error(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("loadOptionsPanels")
+                    .message("Attempting to load options panels.")
+                    .thrown(svc)
+                    .build());
         }
     }
 
@@ -28,12 +28,18 @@
  *  WHEN          BY                   REASON
  *  ------------  -------------------  -----------------------------------------
  *  Oct 28, 2021  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Now gets its logger from the
+ *                                     LoggerFactory, instead of looking up a
+ *                                     new GSLogger service every time.
+ *  Oct 18, 2026  Sean Carrick         Fixed the source method name and
+ *                                     message, copied from Properties.
  * *****************************************************************************
  */
 package com.gs.nta.desktop;
 
 import com.gs.api.GSLogRecord;
 import com.gs.api.GSLogger;
+import com.gs.api.LoggerFactory;
 import com.gs.nta.NTApp;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -59,11 +65,7 @@ public class SplashScreen extends javax.swing.JFrame
      * Creates new form SplashScreen
      */
     public SplashScreen() {
-        // To initialize the logger, we need to get a service for it.
-        ServiceLoader<GSLogger> logLoader = ServiceLoader.load(GSLogger.class);
-        // We are only interested in the first GSLogger that we find.
-        logger = logLoader.iterator().next();
-        logger.setClassName(getClass().getCanonicalName());
+        logger = LoggerFactory.getLogger(getClass());
         logger.setLevel(app.getContext().getResourceMap().getInteger("Application.logging.level"));
         logger.setFormattedOutput(true);
 
@@ -73,9 +75,9 @@ public class SplashScreen extends javax.swing.JFrame
         record = recordLoader.iterator().next();
         record.setSourceClassName(logger.getClassName());
         record.setInstant(Instant.now());
-        record.setMessage("Constructing an instance of Properties");
+        record.setMessage("Constructing an instance of SplashScreen");
         record.setParameters(null);
-        record.setSourceMethodName("Properties [Constructor]");
+        record.setSourceMethodName("SplashScreen [Constructor]");
         record.setThread(Thread.currentThread());
         logger.enter(record);
         initComponents();
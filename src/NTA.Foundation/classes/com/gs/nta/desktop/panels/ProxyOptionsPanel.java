@@ -28,12 +28,16 @@
  *  WHEN          BY                   REASON
  *  ------------  -------------------  -----------------------------------------
  *  Oct 28, 2021  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Now gets its logger from the
+ *                                     LoggerFactory, instead of looking up a
+ *                                     new GSLogger service every time.
  * *****************************************************************************
  */
 package com.gs.nta.desktop.panels;
 
 import com.gs.api.GSLogRecord;
 import com.gs.api.GSLogger;
+import com.gs.api.LoggerFactory;
 import com.gs.api.GSProperties;
 import com.gs.nta.NTApp;
 import com.gs.api.OptionsCategories;
@@ -74,9 +78,7 @@ public class ProxyOptionsPanel extends javax.swing.JPanel
      * Creates new form ProxyOptionsPanel
      */
     public ProxyOptionsPanel() {
-        ServiceLoader<GSLogger> logLoader = ServiceLoader.load(GSLogger.class);
-        logger = logLoader.iterator().next();
-        logger.setClassName(getClass().getCanonicalName());
+        logger = LoggerFactory.getLogger(getClass());
         logger.setLevel(app.getProperties().getPropertyAsInteger("logging.level"));
         ServiceLoader<GSLogRecord> loader = ServiceLoader.load(GSLogRecord.class);
         record = loader.iterator().next();
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   Benchmark.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 10:04:12 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging.bench;
+
+import java.util.function.IntFunction;
+
+/**
+ * A `Benchmark` is one named operation measured by the `BenchmarkRunner`.
+ * <p>
+ * The operation is created once for each thread that runs it, from the
+ * thread's index, so that every thread can keep its own state, such as its
+ * own `LogRecord`. The value returned by the operation is summed and kept, so
+ * that the JIT cannot remove an operation whose result is never used.</p>
+ * <p>
+ * By default, a benchmark is measured by the average time of one operation,
+ * while the operation is called in a loop for the length of an iteration. A
+ * benchmark given a `batch` size is instead timed over exactly that many
+ * calls in each iteration, for operations that are too slow, or leave too
+ * much behind, to run in an open-ended loop.</p>
+ *
+ * @see BenchmarkRunner
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class Benchmark {
+
+    /**
+     * One call of the measured operation.
+     */
+    @FunctionalInterface
+    public interface Operation {
+
+        /**
+         * Performs the operation once.
+         *
+         * @return any value derived from the work done, to be kept from the
+         * JIT
+         */
+        long run();
+
+    }
+
+    private final String name;
+    private final IntFunction<Operation> factory;
+    private int[] threads = {1};
+    private int batch = 0;
+    private Runnable setUp = () -> {};
+    private Runnable tearDown = () -> {};
+
+    /**
+     * Constructs a new `Benchmark`, run on one thread.
+     *
+     * @param name the name reported in the results
+     * @param factory creates the operation of each thread, from the index of
+     * the thread
+     */
+    public Benchmark(String name, IntFunction<Operation> factory) {
+        this.name = name;
+        this.factory = factory;
+    }
+
+    /**
+     * Sets the numbers of threads to measure the benchmark with. It is
+     * measured once for each number.
+     *
+     * @param threads the numbers of threads
+     * @return this benchmark
+     */
+    public Benchmark threads(int... threads) {
+        this.threads = threads.clone();
+        return this;
+    }
+
+    /**
+     * Sets the fixed number of calls timed in each iteration.
+     *
+     * @param batch the number of calls, or zero to call the operation for the
+     * length of the iteration
+     * @return this benchmark
+     */
+    public Benchmark batch(int batch) {
+        this.batch = batch;
+        return this;
+    }
+
+    /**
+     * Sets the action run before the benchmark is measured.
+     *
+     * @param setUp the action
+     * @return this benchmark
+     */
+    public Benchmark setUp(Runnable setUp) {
+        this.setUp = setUp;
+        return this;
+    }
+
+    /**
+     * Sets the action run after the benchmark is measured, to undo the
+     * `setUp`.
+     *
+     * @param tearDown the action
+     * @return this benchmark
+     */
+    public Benchmark tearDown(Runnable tearDown) {
+        this.tearDown = tearDown;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    int[] getThreads() {
+        return threads.clone();
+    }
+
+    int getBatch() {
+        return batch;
+    }
+
+    Operation createOperation(int thread) {
+        return factory.apply(thread);
+    }
+
+    void setUp() {
+        setUp.run();
+    }
+
+    void tearDown() {
+        tearDown.run();
+    }
+
+}
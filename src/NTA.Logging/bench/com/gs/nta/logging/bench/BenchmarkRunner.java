@@ -0,0 +1,363 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   BenchmarkRunner.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 10:11:46 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         A result is only a regression when it is
+ *                                     slower than the baseline by more than
+ *                                     both the tolerance and the measured
+ *                                     error of the two runs.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Pattern;
+
+/**
+ * The `BenchmarkRunner` measures a list of `Benchmark`s, the way JMH measures
+ * them in its average time mode, and compares the results to a baseline.
+ * <p>
+ * Every benchmark is run for a number of warmup iterations, whose times are
+ * thrown away, and then for a number of measured iterations. The score of the
+ * benchmark is the mean time of one operation, in nanoseconds, over the
+ * measured iterations, and its error is the standard deviation of the
+ * iterations. With more than one thread, every thread runs the operation at
+ * the same time, and the score is the time that the threads spent running
+ * the operation divided by the number of operations they ran, so contention
+ * shows up as a higher score. On a machine with fewer processors than
+ * threads, the threads also take turns, and the score grows with the number
+ * of threads even without contention.</p>
+ * <p>
+ * The runner takes these arguments:</p>
+ * <dl>
+ * <dt>`--warmup` <em>n</em></dt><dd>the number of warmup iterations (2)</dd>
+ * <dt>`--iterations` <em>n</em></dt><dd>the number of measured iterations
+ * (5)</dd>
+ * <dt>`--millis` <em>n</em></dt><dd>the length of one iteration (500)</dd>
+ * <dt>`--filter` <em>regex</em></dt><dd>runs only the benchmarks whose names
+ * contain a match</dd>
+ * <dt>`--out` <em>file</em></dt><dd>writes the results to the file</dd>
+ * <dt>`--baseline` <em>file</em></dt><dd>compares the results to those in
+ * the file</dd>
+ * <dt>`--tolerance` <em>fraction</em></dt><dd>how much slower than the
+ * baseline a result may always be (0.25)</dd>
+ * <dt>`--sigmas` <em>n</em></dt><dd>how many combined errors slower than the
+ * baseline a result may be (3)</dd>
+ * </dl>
+ * <p>
+ * A result is a regression only when it is slower than the baseline by more
+ * than the tolerance, and also by more than `--sigmas` times the combined
+ * error of the result and the baseline, the square root of the sum of their
+ * squared errors. A benchmark whose iterations vary widely, such as one that
+ * writes to the disk, then needs a larger slowdown to fail the build than one
+ * that is steady, and a noisy run is not taken for a regression.</p>
+ * <p>
+ * The results and the baseline share one format: a line for each benchmark
+ * and number of threads, holding the name, the threads, the score, and the
+ * error, separated by spaces. Lines starting with `#` are comments.</p>
+ *
+ * @see Benchmark
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class BenchmarkRunner {
+
+    private final List<Benchmark> benchmarks = new ArrayList<>();
+    private int warmup = 2;
+    private int iterations = 5;
+    private long millis = 500L;
+    private Pattern filter = null;
+    private Path out = null;
+    private Path baseline = null;
+    private double tolerance = 0.25;
+    private double sigmas = 3.0;
+
+    private volatile boolean running;
+    private volatile long sink;
+
+    /**
+     * Constructs a new `BenchmarkRunner` from the command-line arguments.
+     *
+     * @param args the arguments
+     * @throws IllegalArgumentException if an argument is unknown or has no
+     * value
+     */
+    public BenchmarkRunner(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("No value for " + args[i]);
+            }
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--warmup":
+                    warmup = Integer.parseInt(value);
+                    break;
+                case "--iterations":
+                    iterations = Math.max(1, Integer.parseInt(value));
+                    break;
+                case "--millis":
+                    millis = Long.parseLong(value);
+                    break;
+                case "--filter":
+                    filter = value.isEmpty() ? null : Pattern.compile(value);
+                    break;
+                case "--out":
+                    out = value.isEmpty() ? null : Paths.get(value);
+                    break;
+                case "--baseline":
+                    baseline = value.isEmpty() ? null : Paths.get(value);
+                    break;
+                case "--tolerance":
+                    tolerance = Double.parseDouble(value);
+                    break;
+                case "--sigmas":
+                    sigmas = Double.parseDouble(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument: "
+                            + args[i - 1]);
+            }
+        }
+    }
+
+    /**
+     * Adds a benchmark to be run.
+     *
+     * @param benchmark the benchmark
+     * @return this runner
+     */
+    public BenchmarkRunner add(Benchmark benchmark) {
+        benchmarks.add(benchmark);
+        return this;
+    }
+
+    /**
+     * Runs every benchmark, prints and writes the results, and compares them
+     * to the baseline.
+     *
+     * @return the number of results slower than the baseline allows
+     * @throws IOException if the results cannot be written or the baseline
+     * cannot be read
+     * @throws InterruptedException if interrupted while a benchmark runs
+     */
+    public int run() throws IOException, InterruptedException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# name threads ns/op error");
+        lines.add("# " + System.getProperty("java.vm.name") + " "
+                + System.getProperty("java.version") + ", "
+                + Runtime.getRuntime().availableProcessors() + " CPUs, "
+                + warmup + " warmup + " + iterations + " x " + millis + " ms");
+
+        for (Benchmark benchmark : benchmarks) {
+            if (filter != null && !filter.matcher(benchmark.getName()).find()) {
+                continue;
+            }
+
+            benchmark.setUp();
+            try {
+                for (int threads : benchmark.getThreads()) {
+                    String line = measure(benchmark, threads);
+                    System.out.println(line);
+                    lines.add(line);
+                }
+            } finally {
+                benchmark.tearDown();
+            }
+        }
+
+        if (out != null) {
+            if (out.getParent() != null) {
+                Files.createDirectories(out.getParent());
+            }
+            Files.write(out, lines, StandardCharsets.UTF_8);
+        }
+
+        return (baseline == null) ? 0 : compare(lines);
+    }
+
+    private String measure(Benchmark benchmark, int threads)
+            throws InterruptedException {
+        for (int i = 0; i < warmup; i++) {
+            iteration(benchmark, threads);
+        }
+
+        double[] scores = new double[iterations];
+        double mean = 0.0;
+        for (int i = 0; i < iterations; i++) {
+            scores[i] = iteration(benchmark, threads);
+            mean += scores[i];
+        }
+        mean /= iterations;
+
+        double variance = 0.0;
+        for (double score : scores) {
+            variance += (score - mean) * (score - mean);
+        }
+        double error = (iterations > 1)
+                ? Math.sqrt(variance / (iterations - 1)) : 0.0;
+
+        return String.format(Locale.ROOT, "%-24s %3d %14.3f %12.3f",
+                benchmark.getName(), threads, mean, error);
+    }
+
+    /**
+     * Runs one iteration of a benchmark.
+     *
+     * @return the mean time of one operation, in nanoseconds
+     */
+    private double iteration(Benchmark benchmark, int threads)
+            throws InterruptedException {
+        Benchmark.Operation[] operations = new Benchmark.Operation[threads];
+        for (int t = 0; t < threads; t++) {
+            operations[t] = benchmark.createOperation(t);
+        }
+
+        long[] nanos = new long[threads];
+        long[] counts = new long[threads];
+        long[] values = new long[threads];
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        int batch = benchmark.getBatch();
+        running = true;
+
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> {
+                Benchmark.Operation op = operations[index];
+                long value = 0L;
+                long count = 0L;
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                long begin = System.nanoTime();
+                if (batch > 0) {
+                    for (; count < batch; count++) {
+                        value += op.run();
+                    }
+                } else {
+                    while (running) {
+                        value += op.run();
+                        count++;
+                    }
+                }
+                long elapsed = System.nanoTime() - begin;
+
+                nanos[index] = elapsed;
+                counts[index] = count;
+                values[index] = value;
+            }, benchmark.getName() + "-" + t);
+            workers[t].start();
+        }
+
+        ready.await();
+        start.countDown();
+        if (batch <= 0) {
+            Thread.sleep(millis);
+            running = false;
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long totalNanos = 0L;
+        long totalCount = 0L;
+        for (int t = 0; t < threads; t++) {
+            totalNanos += nanos[t];
+            totalCount += counts[t];
+            sink += values[t];
+        }
+        return (totalCount == 0L) ? 0.0 : (double) totalNanos / totalCount;
+    }
+
+    private int compare(List<String> lines) throws IOException {
+        Map<String, double[]> base = new HashMap<>();
+        for (String line : Files.readAllLines(baseline, StandardCharsets.UTF_8)) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length >= 3 && !fields[0].startsWith("#")) {
+                double error = (fields.length >= 4)
+                        ? Double.parseDouble(fields[3]) : 0.0;
+                base.put(fields[0] + " " + fields[1], new double[]{
+                    Double.parseDouble(fields[2]), error});
+            }
+        }
+
+        int regressions = 0;
+        System.out.println();
+        System.out.println("Compared to " + baseline + " (tolerance "
+                + Math.round(tolerance * 100) + "% and " + sigmas
+                + " x the combined error):");
+        for (String line : lines) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields[0].startsWith("#")) {
+                continue;
+            }
+
+            double[] expected = base.get(fields[0] + " " + fields[1]);
+            if (expected == null || expected[0] <= 0.0) {
+                System.out.printf(Locale.ROOT, "%-24s %3s   no baseline%n",
+                        fields[0], fields[1]);
+                continue;
+            }
+
+            double score = Double.parseDouble(fields[2]);
+            double error = Double.parseDouble(fields[3]);
+            double allowed = Math.max(tolerance * expected[0], sigmas
+                    * Math.sqrt(error * error + expected[1] * expected[1]));
+            double ratio = score / expected[0];
+            boolean regressed = score - expected[0] > allowed;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%-24s %3s %8.2fx (up to %.2fx)%s%n",
+                    fields[0], fields[1], ratio, 1.0 + allowed / expected[0],
+                    regressed ? "   REGRESSION" : "");
+        }
+
+        return regressions;
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   LoggingBenchmarks.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 10:26:03 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging.bench;
+
+import com.gs.api.GSLogger;
+import com.gs.nta.logging.LogRecord;
+import com.gs.nta.logging.Logger;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jdesktop.application.Application;
+
+/**
+ * The `LoggingBenchmarks` measure the hot paths of the `Logger` and the
+ * `LogRecord`. Run them with `ant bench`, which compares the results to the
+ * baseline checked in beside these sources, or with `ant bench-baseline`,
+ * which records a new baseline.
+ * <p>
+ * The benchmarks are:</p>
+ * <dl>
+ * <dt>`levelEnabled`, `levelDisabled`</dt><dd>`isEnabled` for a level that
+ * is, and is not, logged</dd>
+ * <dt>`debugDisabled`</dt><dd>a `debug` message while the level is `INFO`,
+ * which is only kept by the flight recorder</dd>
+ * <dt>`infoUnformatted`, `infoFormatted`</dt><dd>an `INFO` message, without
+ * and with `setFormattedOutput(true)`</dd>
+ * <dt>`infoFormatString`</dt><dd>an `INFO` message built from a format
+ * string and one parameter</dd>
+ * <dt>`recordPopulate`</dt><dd>creating and filling in a `LogRecord`</dd>
+ * <dt>`criticalRepeat`</dt><dd>a `critical` message for an error that was
+ * already reported, which is only counted</dd>
+ * <dt>`criticalReport`</dt><dd>a `critical` message for a new error, which
+ * writes a complete error report</dd>
+ * </dl>
+ * <p>
+ * The benchmarks that write to the log are run with 1, 4, and 16 threads, to
+ * show the cost of contention. The benchmarks run as their own `Application`,
+ * so that the resources beside this class configure the log: the log rolls at
+ * 64 MB and keeps one backup, so that a run does not fill the disk.</p>
+ *
+ * @see BenchmarkRunner
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class LoggingBenchmarks extends Application {
+
+    private static final int[] CONTENTION = {1, 4, 16};
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args the arguments of the `BenchmarkRunner`
+     * @throws Exception if the benchmarks cannot be run
+     */
+    public static void main(String[] args) throws Exception {
+        // Creates the application, so that the pipeline of the Logger reads
+        //+ its configuration from LoggingBenchmarks.properties.
+        Application.getInstance(LoggingBenchmarks.class);
+
+        Logger logger = new Logger();
+        logger.setClassName(LoggingBenchmarks.class.getName());
+        logger.setLevel(GSLogger.INFO);
+
+        BenchmarkRunner runner = new BenchmarkRunner(args);
+        addBenchmarks(runner, logger);
+        int regressions = runner.run();
+        logger.close();
+
+        if (regressions > 0) {
+            System.err.println(regressions + " benchmark(s) slower than the "
+                    + "baseline allows.");
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private static void addBenchmarks(BenchmarkRunner runner, Logger logger) {
+        runner.add(new Benchmark("levelEnabled",
+                t -> () -> logger.isEnabled(GSLogger.WARN) ? 1L : 0L)
+                .threads(CONTENTION));
+
+        runner.add(new Benchmark("levelDisabled",
+                t -> () -> logger.isEnabled(GSLogger.DEBUG) ? 1L : 0L)
+                .threads(CONTENTION));
+
+        runner.add(new Benchmark("debugDisabled", t -> {
+            LogRecord record = record("debugDisabled", "Not logged at INFO.");
+            return () -> {
+                logger.debug(record);
+                return 1L;
+            };
+        }).threads(CONTENTION));
+
+        runner.add(new Benchmark("infoUnformatted", t -> {
+            LogRecord record = record("infoUnformatted",
+                    "Loaded the customer list from the database.");
+            return () -> {
+                logger.info(record);
+                return 1L;
+            };
+        }).threads(CONTENTION));
+
+        runner.add(new Benchmark("infoFormatted", t -> {
+            LogRecord record = record("infoFormatted",
+                    "Loaded the customer list from the database.");
+            return () -> {
+                logger.info(record);
+                return 1L;
+            };
+        }).threads(CONTENTION)
+                .setUp(() -> logger.setFormattedOutput(true))
+                .tearDown(() -> logger.setFormattedOutput(false)));
+
+        runner.add(new Benchmark("infoFormatString", t -> {
+            LogRecord record = record("infoFormatString", null);
+            int[] rows = new int[1];
+            return () -> {
+                logger.info(record, "Loaded %d rows.", rows[0]++);
+                return 1L;
+            };
+        }).threads(CONTENTION));
+
+        runner.add(new Benchmark("recordPopulate", t -> {
+            Object[] params = {"Joe", 5, 5.5};
+            return () -> {
+                LogRecord record = new LogRecord(
+                        LoggingBenchmarks.class.getName(), "recordPopulate");
+                record.setMessage("Paid %s %d hours at %f.");
+                record.setParameters(params);
+                record.setThread(Thread.currentThread());
+                return record.getMessage().length();
+            };
+        }).threads(1));
+
+        // One exception, so that every iteration repeats the same error.
+        IllegalStateException repeated = new IllegalStateException(
+                "Repeated failure.");
+        runner.add(new Benchmark("criticalRepeat", t -> {
+            LogRecord record = record("criticalRepeat", "Repeated failure.");
+            record.setThrown(repeated);
+            return () -> {
+                logger.critical(record);
+                return 1L;
+            };
+        }).threads(1));
+
+        // Every report is for a new error, so the batch is kept small: each
+        //+ error is remembered for the critical window, and each report is a
+        //+ new file.
+        AtomicInteger errors = new AtomicInteger();
+        runner.add(new Benchmark("criticalReport", t -> {
+            LogRecord record = record("criticalReport", "New failure.");
+            return () -> {
+                IllegalStateException thrown = new IllegalStateException(
+                        "New failure.");
+                thrown.setStackTrace(new StackTraceElement[]{
+                    new StackTraceElement(LoggingBenchmarks.class.getName(),
+                            "criticalReport", "LoggingBenchmarks.java",
+                            errors.incrementAndGet())
+                });
+                record.setThrown(thrown);
+                logger.critical(record);
+                return 1L;
+            };
+        }).threads(1).batch(20));
+    }
+
+    private static LogRecord record(String method, String message) {
+        LogRecord record = new LogRecord(LoggingBenchmarks.class.getName(),
+                method);
+        record.setMessage(message);
+        return record;
+    }
+
+    @Override
+    protected void startup() {
+        // The benchmarks are run from main, and have no user interface.
+    }
+
+}
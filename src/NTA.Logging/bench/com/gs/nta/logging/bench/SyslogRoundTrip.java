@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   SyslogRoundTrip.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 8:04:12 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging.bench;
+
+import com.gs.api.GSLogger;
+import com.gs.nta.logging.LogEvent;
+import com.gs.nta.logging.SyslogAppender;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The `SyslogRoundTrip` sends one message through a `SyslogAppender` to a
+ * UDP listener on the loopback address, and checks that the datagram is the
+ * RFC 5424 message that was meant to be sent. Run it with
+ * `ant syslog-check`; it exits with a non-zero status when the check fails.
+ *
+ * @see SyslogAppender
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class SyslogRoundTrip {
+
+    private static final int TIMEOUT_MILLIS = 5000;
+    private static final Pattern RFC_5424 = Pattern.compile("<(\\d+)>1 "
+            + "(\\S+) (\\S+) (\\S+) (\\d+) (\\S+) "
+            + "\\[meta sequenceId=\"(\\d+)\"\\] \uFEFF(.*)", Pattern.DOTALL);
+
+    public static void main(String[] args) throws Exception {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try (DatagramSocket listener = new DatagramSocket(0, loopback)) {
+            listener.setSoTimeout(TIMEOUT_MILLIS);
+
+            SyslogAppender syslog = new SyslogAppender(null,
+                    SyslogAppender.Transport.UDP,
+                    InetSocketAddress.createUnresolved(
+                            loopback.getHostAddress(),
+                            listener.getLocalPort()),
+                    "NTA Check", 16, GSLogger.TRACE,
+                    SyslogAppender.DEFAULT_MAX_LENGTH);
+            Instant instant = Instant.parse("2026-10-18T20:41:51.123456789Z");
+            syslog.append(new LogEvent(GSLogger.WARN, "WARNING", instant, 42L,
+                    "MyClass", "doSomething", 1L, "();",
+                    "Disk almost full: 95 % (\u00FC)"));
+
+            DatagramPacket packet = new DatagramPacket(new byte[4096], 4096);
+            try {
+                listener.receive(packet);
+            } catch (SocketTimeoutException e) {
+                fail("no datagram arrived within " + TIMEOUT_MILLIS
+                        + " ms; sent " + syslog.getSentCount() + ", dropped "
+                        + syslog.getDroppedCount());
+            } finally {
+                syslog.close();
+            }
+
+            String text = new String(packet.getData(), 0, packet.getLength(),
+                    StandardCharsets.UTF_8);
+            Matcher m = RFC_5424.matcher(text);
+            if (!m.matches()) {
+                fail("not an RFC 5424 message: " + text);
+            }
+
+            // local0 (16) * 8 + warning (4).
+            expect("PRI", "132", m.group(1));
+            expect("TIMESTAMP", "2026-10-18T20:41:51.123456Z", m.group(2));
+            expect("APP-NAME", "NTA_Check", m.group(4));
+            expect("PROCID", String.valueOf(ProcessHandle.current().pid()),
+                    m.group(5));
+            expect("MSGID", "WARNING", m.group(6));
+            expect("sequenceId", "42", m.group(7));
+            expect("MSG", "MyClass.doSomething(); "
+                    + "Disk almost full: 95 % (\u00FC)", m.group(8));
+            if (syslog.getSentCount() != 1L
+                    || syslog.getDroppedCount() != 0L) {
+                fail("sent " + syslog.getSentCount() + ", dropped "
+                        + syslog.getDroppedCount() + "; expected 1 and 0");
+            }
+
+            System.out.println("Received from " + m.group(3) + ": " + text);
+            System.out.println("The RFC 5424 datagram round-tripped.");
+        }
+    }
+
+    private static void expect(String field, String expected, String actual) {
+        if (!expected.equals(actual)) {
+            fail(field + " is \"" + actual + "\", expected \"" + expected
+                    + "\"");
+        }
+    }
+
+    private static void fail(String message) {
+        System.err.println("Syslog check failed: " + message);
+        System.exit(1);
+    }
+
+}
@@ -0,0 +1,587 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   AsyncAppender.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 9:48:52 AM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Count the dropped events in a LongAdder,
+ *                                     which the producer threads update
+ *                                     without contending.
+ *  Oct 18, 2026  Sean Carrick         Replaced the shared queue with a buffer
+ *                                     for each logging thread, merged by the
+ *                                     writer thread in sequence order.
+ *  Oct 18, 2026  Sean Carrick         Its owner may take over closing it at
+ *                                     shutdown, so that the owner's last
+ *                                     events are not refused.
+ *  Oct 18, 2026  Sean Carrick         An event accepted while the appender was
+ *                                     being closed is always written. Threads
+ *                                     waiting under BLOCK are woken by the
+ *                                     writer thread, and the default capacity
+ *                                     of each buffer is now 1024.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.api.GSLogger;
+import com.gs.api.LogRecordFactory;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The `AsyncAppender` moves the cost of writing log events off of the calling
+ * thread.
+ * <p>
+ * Calling threads, which are very often the Swing Event Dispatch Thread, only
+ * place the `LogEvent` into a bounded buffer of their own. No lock and no
+ * shared queue stand between the calling threads, so a background task that
+ * logs heavily never makes the Event Dispatch Thread wait. A dedicated writer
+ * thread merges the buffers in batches, hands every event in the batch to the
+ * wrapped `LogAppender`, and then flushes the wrapped appender once for the
+ * whole batch.</p>
+ * <p>
+ * Every event is stamped with the next global sequence number of the
+ * `LogRecordFactory` as it is placed into its buffer, and the writer thread
+ * writes the events in the order of their sequence numbers, so the log file
+ * reads in the order that the messages were logged, across every thread. A
+ * calling thread publishes a lower bound of the number it is about to take
+ * before it takes it, and the writer thread never writes past the lowest such
+ * bound, nor past the last number handed out, so an event is never written
+ * ahead of one with a lower number that is still on its way into a
+ * buffer.</p>
+ * <p>
+ * When the buffer of a calling thread is full, the `OverflowPolicy` decides
+ * what happens to the new event:</p>
+ *
+ * | Policy | Behavior |
+ * | :----: | :------- |
+ * | `BLOCK` | The calling thread parks until the writer thread makes room and wakes it. No events are lost. |
+ * | `DROP_OLDEST` | The oldest buffered event of the thread is discarded to make room for the new event. The calling thread never waits. |
+ * | `DROP_BELOW_LEVEL` | Events below the threshold level are discarded. Events at or above the threshold level wait for room, as with `BLOCK`. |
+ *
+ * <p>
+ * A calling thread that waits for room parks until the writer thread has
+ * taken events from its buffer and unparks it, so waiting costs no CPU; the
+ * park also times out every few milliseconds, so that a waiting thread sees
+ * the appender being closed.</p>
+ * <p>
+ * The `close` method does not return until every buffered event has been
+ * written and the wrapped appender has been closed. An event that was being
+ * appended when the appender was closed is still written: the writer thread
+ * waits for every thread that is in the middle of `append` before it
+ * stops.</p>
+ *
+ * @see TextFileAppender
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.1
+ * @since 1.0
+ */
+public class AsyncAppender implements LogAppender {
+
+    /**
+     * The policies available for handling events when the queue is full.
+     */
+    public static enum OverflowPolicy {
+        /** The calling thread waits for room in the queue. */
+        BLOCK,
+        /** The oldest queued event is discarded. */
+        DROP_OLDEST,
+        /** Events below the threshold level are discarded. */
+        DROP_BELOW_LEVEL
+    }
+
+    /** The default maximum number of events held in the buffer of a thread. */
+    public static final int DEFAULT_CAPACITY = 1024;
+    /** The default maximum number of events written per flush. */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long ROOM_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final LogAppender delegate;
+    private final OverflowPolicy policy;
+    private final int threshold;
+    private final int capacity;
+    private final int batchSize;
+
+    private final CopyOnWriteArrayList<ThreadBuffer> buffers
+            = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<ThreadBuffer> buffer;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private final Thread shutdownHook;
+
+    private volatile boolean closed = false;
+    private volatile boolean writerWaiting = false;
+
+    /**
+     * Constructs a new `AsyncAppender` with the default capacity, the default
+     * batch size, and the `BLOCK` overflow policy.
+     *
+     * @param delegate the appender to which the writer thread hands events
+     */
+    public AsyncAppender(LogAppender delegate) {
+        this(delegate, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE,
+                OverflowPolicy.BLOCK, GSLogger.WARN);
+    }
+
+    /**
+     * Constructs a new `AsyncAppender`.
+     *
+     * @param delegate the appender to which the writer thread hands events
+     * @param capacity the maximum number of events held in the buffer of each
+     * calling thread
+     * @param batchSize the maximum number of events written per flush
+     * @param policy the policy for handling events when a buffer is full
+     * @param threshold the lowest level that is never dropped under the
+     * `DROP_BELOW_LEVEL` policy; ignored by the other policies
+     * @throws IllegalArgumentException if `delegate` or `policy` is `null`, or
+     * if `capacity` or `batchSize` is less than one
+     */
+    public AsyncAppender(LogAppender delegate, int capacity, int batchSize,
+            OverflowPolicy policy, int threshold) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("null delegate");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("null policy");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity less than one");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize less than one");
+        }
+
+        this.delegate = delegate;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.policy = policy;
+        this.threshold = threshold;
+        this.buffer = ThreadLocal.withInitial(() -> {
+            ThreadBuffer created = new ThreadBuffer(Thread.currentThread(),
+                    this.capacity);
+            buffers.add(created);
+            return created;
+        });
+
+        writer = new Thread(this::drainLoop, "NTA Log Writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        // Make sure queued events reach the disk, even if the application
+        //+ exits without closing the Logger.
+        shutdownHook = new Thread(this::close, "NTA Log Writer Shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Gets the overflow policy of this appender.
+     *
+     * @return the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets the number of events currently waiting to be written, in the
+     * buffers of every thread.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        long depth = 0L;
+        for (ThreadBuffer b : buffers) {
+            depth += b.size();
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE, depth);
+    }
+
+    /**
+     * Gets the total number of events discarded because a buffer was full.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        ThreadBuffer b = buffer.get();
+        // Announced before closed is read, so that the writer thread, which
+        //+ reads closed first, waits for this event before it stops.
+        b.appending = true;
+        try {
+            if (closed) {
+                return;
+            }
+
+            while (b.size() >= b.capacity) {
+                switch (policy) {
+                    case DROP_OLDEST:
+                        if (b.dropOldest()) {
+                            dropped.increment();
+                        }
+                        break;
+                    case DROP_BELOW_LEVEL:
+                        if (event.getLevel() < threshold) {
+                            dropped.increment();
+                            return;
+                        }
+                        // Important events wait for room, just as with BLOCK.
+                        awaitRoom(b);
+                        break;
+                    default:
+                        awaitRoom(b);
+                }
+
+                if (closed) {
+                    // The writer thread may already have stopped, so the
+                    //+ event could never be written.
+                    dropped.increment();
+                    return;
+                }
+            }
+
+            b.publish(event);
+        } finally {
+            b.appending = false;
+        }
+
+        if (writerWaiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Events are flushed by the writer thread at the end of every batch, so
+     * this method only wakes the writer thread if it is idle.
+     */
+    @Override
+    public void flush() {
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * Stops accepting new events, waits for the writer thread to write all of
+     * the buffered events, and then closes the wrapped appender.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // The JVM is already shutting down, and we are being called
+                //+ from the shutdown hook itself.
+            }
+        }
+
+        if (Thread.currentThread() == writer) {
+            return;
+        }
+
+        LockSupport.unpark(writer);
+        wakeWaitingThreads(true);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Removes the shutdown hook of this appender, for an owner whose own
+     * shutdown hook closes it. Otherwise the two hooks run at the same time,
+     * and the events that the owner writes while shutting down may arrive
+     * after this appender has stopped accepting them.
+     */
+    void releaseShutdownHook() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // The JVM is already shutting down.
+        }
+    }
+
+    private void awaitRoom(ThreadBuffer b) {
+        // Announced before the size is read again, so that the writer thread,
+        //+ which takes events before it reads waiting, cannot miss this thread.
+        b.waiting = true;
+        LockSupport.unpark(writer);
+        if (b.size() >= b.capacity && !closed) {
+            LockSupport.parkNanos(this, ROOM_PARK_NANOS);
+        }
+        b.waiting = false;
+    }
+
+    private void wakeWaitingThreads(boolean all) {
+        for (ThreadBuffer b : buffers) {
+            if (b.waiting && (all || b.size() < b.capacity)) {
+                LockSupport.unpark(b.owner);
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            int written = merge();
+
+            if (written > 0) {
+                wakeWaitingThreads(false);
+                delegate.flush();
+                continue;
+            }
+
+            // No thread was placing an event after closed was set, and the
+            //+ buffers were empty after that, so everything that was accepted
+            //+ has been written. The order of the reads matters.
+            if (closed && !isAppending() && isEmpty()) {
+                break;
+            }
+
+            if (closed || !isEmpty()) {
+                // An event is waiting on a thread that is between taking its
+                //+ sequence number and publishing its event, or a thread that
+                //+ saw the appender open is still placing its event.
+                LockSupport.parkNanos(this, FULL_PARK_NANOS);
+                continue;
+            }
+
+            writerWaiting = true;
+            if (isEmpty() && !closed) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerWaiting = false;
+        }
+
+        delegate.close();
+    }
+
+    /**
+     * Writes up to one batch of the buffered events, in sequence order.
+     *
+     * @return the number of events written
+     */
+    private int merge() {
+        int written = 0;
+
+        while (written < batchSize) {
+            // Read the last number handed out before the bounds of the
+            //+ threads: any thread that took a number up to it, and has not
+            //+ yet published its event, has already published its bound.
+            long limit = LogRecordFactory.currentSequenceNumber();
+            for (ThreadBuffer b : buffers) {
+                long bound = b.bound;
+                if (bound < limit) {
+                    limit = bound;
+                }
+            }
+
+            int before = written;
+            while (written < batchSize) {
+                ThreadBuffer next = null;
+                long lowest = Long.MAX_VALUE;
+                for (ThreadBuffer b : buffers) {
+                    LogEvent head = b.peek();
+                    if (head != null && head.getSequenceNumber() < lowest) {
+                        lowest = head.getSequenceNumber();
+                        next = b;
+                    }
+                }
+
+                if (next == null || lowest > limit) {
+                    break;
+                }
+
+                LogEvent event = next.poll(lowest);
+                if (event != null) {
+                    delegate.append(event);
+                    written++;
+                }
+            }
+
+            if (written == before) {
+                break;
+            }
+        }
+
+        removeFinishedThreads();
+        return written;
+    }
+
+    private boolean isEmpty() {
+        for (ThreadBuffer b : buffers) {
+            if (b.size() > 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isAppending() {
+        for (ThreadBuffer b : buffers) {
+            if (b.appending) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void removeFinishedThreads() {
+        for (ThreadBuffer b : buffers) {
+            if (!b.owner.isAlive() && b.size() == 0) {
+                buffers.remove(b);
+            }
+        }
+    }
+
+    /**
+     * The buffer of one calling thread: a ring with a single producer, the
+     * owning thread, and a single consumer, the writer thread.
+     * <p>
+     * The owning thread writes the slot at `tail` and then advances `tail`.
+     * The writer thread reads the slot at `head` and then advances `head`
+     * with a compare-and-set, because under the `DROP_OLDEST` policy the
+     * owning thread may also advance `head`, to discard the oldest event. An
+     * event is only used by whichever thread advanced `head` past it.</p>
+     */
+    private static final class ThreadBuffer {
+
+        /** The `bound` of a thread that is not publishing an event. */
+        private static final long IDLE = Long.MAX_VALUE;
+
+        private final Thread owner;
+        private final int capacity;
+        private final int mask;
+        private final AtomicReferenceArray<LogEvent> slots;
+        private final AtomicLong head = new AtomicLong();
+        private volatile long tail = 0L;
+        // While an event is being published, every number that it might be
+        //+ stamped with is greater than the bound.
+        private volatile long bound = IDLE;
+        // Set by the owning thread for the whole of append, and while it
+        //+ waits for room.
+        private volatile boolean appending = false;
+        private volatile boolean waiting = false;
+
+        private ThreadBuffer(Thread owner, int capacity) {
+            this.owner = owner;
+            this.capacity = capacity;
+            int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+            slots = new AtomicReferenceArray<>(Math.max(2, size));
+            mask = slots.length() - 1;
+        }
+
+        private long size() {
+            return tail - head.get();
+        }
+
+        /**
+         * Stamps the event with the next sequence number and places it at the
+         * tail. Only called by the owning thread, when there is room.
+         */
+        private void publish(LogEvent event) {
+            bound = LogRecordFactory.currentSequenceNumber();
+            try {
+                event.stampSequenceNumber(
+                        LogRecordFactory.nextSequenceNumber());
+                long t = tail;
+                slots.lazySet((int) t & mask, event);
+                tail = t + 1;
+            } finally {
+                bound = IDLE;
+            }
+        }
+
+        /**
+         * Discards the oldest event. Only called by the owning thread.
+         *
+         * @return `true` if an event was discarded, or `false` if the writer
+         * thread took it first
+         */
+        private boolean dropOldest() {
+            long h = head.get();
+            return tail - h >= capacity && head.compareAndSet(h, h + 1);
+        }
+
+        /**
+         * Gets the oldest event, without removing it. Only called by the
+         * writer thread.
+         */
+        private LogEvent peek() {
+            long h = head.get();
+            return (h < tail) ? slots.get((int) h & mask) : null;
+        }
+
+        /**
+         * Removes the oldest event, if it still has the given sequence number.
+         * Only called by the writer thread.
+         *
+         * @return the event, or `null` if the owning thread discarded it
+         */
+        private LogEvent poll(long sequenceNumber) {
+            long h = head.get();
+            if (h >= tail) {
+                return null;
+            }
+
+            int index = (int) h & mask;
+            LogEvent event = slots.get(index);
+            if (event == null || event.getSequenceNumber() != sequenceNumber
+                    || !head.compareAndSet(h, h + 1)) {
+                return null;
+            }
+
+            // Let the event be collected, unless the owning thread has
+            //+ already reused the slot.
+            slots.compareAndSet(index, event, null);
+            return event;
+        }
+
+    }
+
+}
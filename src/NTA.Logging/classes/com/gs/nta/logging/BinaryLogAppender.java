@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   BinaryLogAppender.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 1:14:26 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Moved the encoding of events into the
+ *                                     shared BinaryLogEncoder. Implemented
+ *                                     FileAppender.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.utils.TerminalErrorPrinter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * The `BinaryLogAppender` writes `LogEvent`s to a compact binary log file
+ * through a `FileChannel`.
+ * <p>
+ * The text log repeats the full ISO instant, the source class name, the source
+ * method name, and the thread ID on every line. The binary log stores the same
+ * information in a fraction of the space:</p>
+ *
+ * | Field | Encoding |
+ * | :---- | :------- |
+ * | Level | One byte |
+ * | Label, class name, method name | Varint index into a string table that is written to the log the first time each string is seen |
+ * | Sequence number | Zig-zag varint of the difference from the previous event |
+ * | Instant | Zig-zag varint of the difference, in nanoseconds, from the previous event |
+ * | Thread ID | Varint |
+ * | Signature and message | Varint byte length followed by UTF-8 bytes |
+ *
+ * <p>
+ * The file starts with the four byte magic number `NTAB`, a format version
+ * byte, and the instant of the file's creation in nanoseconds since the epoch.
+ * Each entry after the header starts with a tag byte: `TAG_STRING` for a new
+ * string table entry, or `TAG_EVENT` for an event. Because every string is
+ * defined before it is first used, the file can be decoded in a single pass
+ * from the start. Use the `BinaryLogRenderer` to turn a binary log back into
+ * the familiar text layout.</p>
+ * <p>
+ * Events are encoded into a reusable buffer and are only written to the file
+ * when the buffer fills, or when `flush` is called.</p>
+ *
+ * @see BinaryLogRenderer
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class BinaryLogAppender implements FileAppender {
+
+    /** The magic number at the start of every binary log file. */
+    static final int MAGIC = 0x4E544142; // "NTAB"
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+    private final FileChannel channel;
+    private final BinaryLogEncoder encoder;
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private long length = BinaryLogEncoder.HEADER_SIZE;
+    private boolean closed = false;
+
+    /**
+     * Constructs a new `BinaryLogAppender` that writes to the given file. Any
+     * existing content of the file is replaced.
+     *
+     * @param file the binary log file
+     * @throws IOException if the log file cannot be opened
+     */
+    public BinaryLogAppender(File file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        long baseNanos = BinaryLogEncoder.toEpochNanos(Instant.now());
+        encoder = new BinaryLogEncoder(baseNanos);
+        BinaryLogEncoder.writeHeader(buffer, MAGIC, baseNanos);
+    }
+
+    @Override
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized long getLength() {
+        return length;
+    }
+
+    @Override
+    public synchronized void append(LogEvent event) {
+        if (closed) {
+            return;
+        }
+
+        ByteBuffer entries = encoder.encode(event);
+        length += entries.remaining();
+        ensureRoom(entries.remaining());
+        buffer.put(entries);
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+
+        try {
+            drain();
+        } catch (IOException e) {
+            String msg = String.format("Unable to flush the binary log file %s",
+                    file);
+            TerminalErrorPrinter.print(e, msg);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            drain();
+            channel.close();
+        } catch (IOException e) {
+            String msg = String.format("Unable to close the binary log file %s",
+                    file);
+            TerminalErrorPrinter.print(e, msg);
+        }
+    }
+
+    private void ensureRoom(int needed) {
+        if (buffer.remaining() >= needed) {
+            return;
+        }
+
+        try {
+            drain();
+        } catch (IOException e) {
+            String msg = String.format("Unable to write to the binary log file "
+                    + "%s", file);
+            TerminalErrorPrinter.print(e, msg);
+            buffer.clear();
+        }
+
+        if (buffer.capacity() < needed) {
+            // A single oversized message; grow the buffer to hold it.
+            buffer = ByteBuffer.allocate(needed);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+}
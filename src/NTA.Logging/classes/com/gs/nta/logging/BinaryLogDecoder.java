@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   BinaryLogDecoder.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 2:58:14 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation. Moved the decoding of
+ *                                     entries out of BinaryLogRenderer so that
+ *                                     binary logs and mapped segments share it.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The `BinaryLogDecoder` turns the entries written by a `BinaryLogEncoder`
+ * back into `LogEvent`s.
+ * <p>
+ * Like the encoder, the decoder keeps the string table and the previous event,
+ * so entries must be decoded in the order in which they were written, starting
+ * from the file header.</p>
+ *
+ * @see BinaryLogEncoder
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class BinaryLogDecoder {
+
+    private final String source;
+    private final List<String> strings = new ArrayList<>();
+    private long sequence = 0L;
+    private long nanos;
+
+    /**
+     * Constructs a new `BinaryLogDecoder`.
+     *
+     * @param source the name of the file being decoded, for error messages
+     * @param baseNanos the instant from the file header, in nanoseconds since
+     * the epoch
+     */
+    BinaryLogDecoder(String source, long baseNanos) {
+        this.source = source;
+        this.nanos = baseNanos;
+    }
+
+    /**
+     * Decodes the body of the entry with the given `tag`.
+     *
+     * @param tag the tag byte that was read ahead of the entry
+     * @param in the stream positioned just after the tag byte
+     * @return the decoded event, or `null` if the entry was a string table
+     * entry
+     * @throws EOFException if the entry was only partially written
+     * @throws IOException if the entry is corrupt
+     */
+    LogEvent decode(int tag, DataInputStream in) throws IOException {
+        if (tag == BinaryLogEncoder.TAG_STRING) {
+            long id = readVarLong(in);
+            String value = readString(in);
+            if (id != strings.size()) {
+                throw new IOException(String.format("Corrupt string table "
+                        + "entry %d in %s", id, source));
+            }
+            strings.add(value);
+            return null;
+        } else if (tag == BinaryLogEncoder.TAG_EVENT) {
+            int level = in.readByte();
+            String label = lookup(readVarLong(in));
+            String sourceClass = lookup(readVarLong(in));
+            String sourceMethod = lookup(readVarLong(in));
+            sequence += BinaryLogEncoder.unZigZag(readVarLong(in));
+            nanos += BinaryLogEncoder.unZigZag(readVarLong(in));
+            long threadId = readVarLong(in);
+            String signature = readString(in);
+            String message = readString(in);
+
+            return new LogEvent(level, label, Instant.ofEpochSecond(0L, nanos),
+                    sequence, sourceClass, sourceMethod, threadId, signature,
+                    message);
+        }
+
+        throw new IOException(String.format("Unknown entry tag %d in %s", tag,
+                source));
+    }
+
+    private String lookup(long id) throws IOException {
+        if (id < 0 || id >= strings.size()) {
+            throw new IOException(String.format("Undefined string %d in %s",
+                    id, source));
+        }
+        return strings.get((int) id);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = (int) readVarLong(in);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static long readVarLong(InputStream in) throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b == -1) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+}
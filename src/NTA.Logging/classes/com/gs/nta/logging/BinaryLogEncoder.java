@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   BinaryLogEncoder.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 2:40:51 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation. Moved the encoding of
+ *                                     events out of BinaryLogAppender so that
+ *                                     the MappedLogAppender can share it.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The `BinaryLogEncoder` turns `LogEvent`s into the entries of the binary log
+ * format described by the `BinaryLogAppender`.
+ * <p>
+ * The encoder remembers which strings have already been defined and the
+ * sequence number and instant of the previous event, so every event is encoded
+ * relative to the events before it. Calling `reset` starts over, as at the
+ * beginning of a new file or segment.</p>
+ * <p>
+ * An encoder is not thread-safe. It is owned by a single appender, which must
+ * only call it while holding its own lock.</p>
+ *
+ * @see BinaryLogDecoder
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class BinaryLogEncoder {
+
+    /** The version of the binary log format. */
+    static final byte VERSION = 1;
+    /** Tags a string table entry. */
+    static final byte TAG_STRING = 1;
+    /** Tags a log event. */
+    static final byte TAG_EVENT = 2;
+    /** The size of a file header: magic, version, and base epoch nanos. */
+    static final int HEADER_SIZE = 4 + 1 + 8;
+
+    private final Map<String, Integer> strings = new HashMap<>();
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+    private long lastSequence;
+    private long lastNanos;
+
+    /**
+     * Constructs a new `BinaryLogEncoder`.
+     *
+     * @param baseNanos the instant written to the file header, in nanoseconds
+     * since the epoch
+     */
+    BinaryLogEncoder(long baseNanos) {
+        reset(baseNanos);
+    }
+
+    /**
+     * Forgets every defined string and the previous event, as at the start of
+     * a new file.
+     *
+     * @param baseNanos the instant written to the new file header, in
+     * nanoseconds since the epoch
+     */
+    void reset(long baseNanos) {
+        strings.clear();
+        lastSequence = 0L;
+        lastNanos = baseNanos;
+    }
+
+    /**
+     * Writes a file header with the given magic number into `out`.
+     *
+     * @param out the destination of the header
+     * @param magic the magic number of the file type
+     * @param baseNanos the base instant, in nanoseconds since the epoch
+     */
+    static void writeHeader(ByteBuffer out, int magic, long baseNanos) {
+        out.putInt(magic);
+        out.put(VERSION);
+        out.putLong(baseNanos);
+    }
+
+    /**
+     * Encodes the `event`, preceded by a string table entry for each of its
+     * strings that has not yet been defined.
+     * <p>
+     * The returned buffer is reused by the next call to `encode`, so its
+     * content must be copied out before then.</p>
+     *
+     * @param event the event to encode
+     * @return a buffer that is ready to be read, holding the encoded entries
+     */
+    ByteBuffer encode(LogEvent event) {
+        scratch.clear();
+
+        int label = intern(event.getLabel());
+        int sourceClass = intern(event.getSourceClassName());
+        int sourceMethod = intern(event.getSourceMethodName());
+        byte[] signature = utf8(event.getSignature());
+        byte[] message = utf8(event.getMessage());
+
+        // tag + level + 3 string IDs + 3 longs + 2 lengths, all at worst case.
+        ensure(2 + 3 * 5 + 3 * 10 + 2 * 5 + signature.length + message.length);
+
+        long nanos = toEpochNanos(event.getInstant());
+        scratch.put(TAG_EVENT);
+        scratch.put((byte) event.getLevel());
+        putVarint(scratch, label);
+        putVarint(scratch, sourceClass);
+        putVarint(scratch, sourceMethod);
+        putVarLong(scratch, zigZag(event.getSequenceNumber() - lastSequence));
+        putVarLong(scratch, zigZag(nanos - lastNanos));
+        putVarLong(scratch, event.getThreadId());
+        putVarint(scratch, signature.length);
+        scratch.put(signature);
+        putVarint(scratch, message.length);
+        scratch.put(message);
+
+        lastSequence = event.getSequenceNumber();
+        lastNanos = nanos;
+
+        scratch.flip();
+        return scratch;
+    }
+
+    /**
+     * Gets the string table index of the given string, first encoding a new
+     * string table entry if this is the first time the string has been seen.
+     */
+    private int intern(String value) {
+        String key = (value == null) ? "null" : value;
+        Integer id = strings.get(key);
+        if (id != null) {
+            return id;
+        }
+
+        id = strings.size();
+        strings.put(key, id);
+
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        ensure(1 + 5 + 5 + bytes.length);
+        scratch.put(TAG_STRING);
+        putVarint(scratch, id);
+        putVarint(scratch, bytes.length);
+        scratch.put(bytes);
+
+        return id;
+    }
+
+    private void ensure(int needed) {
+        if (scratch.remaining() < needed) {
+            ByteBuffer larger = ByteBuffer.allocate(
+                    Math.max(scratch.capacity() * 2, scratch.position() + needed));
+            scratch.flip();
+            larger.put(scratch);
+            scratch = larger;
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return ((value == null) ? "null" : value)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    static long toEpochNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void putVarint(ByteBuffer buffer, int value) {
+        putVarLong(buffer, value & 0xFFFFFFFFL);
+    }
+
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   BinaryLogRenderer.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 1:52:09 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Added rendering of the segments written
+ *                                     by the MappedLogAppender.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+
+/**
+ * The `BinaryLogRenderer` reads a log file written by the `BinaryLogAppender`,
+ * or a segment written by the `MappedLogAppender`, and turns it back into the
+ * same text layout that the `TextFileAppender` writes.
+ * <p>
+ * The renderer can be run from the command line to convert a binary log for
+ * reading:</p>
+ * ```
+ * java -p ${module.path} -m NTA.Logging/com.gs.nta.logging.BinaryLogRenderer "MyApp - MyClass.binlog" [output.log]
+ * ```
+ * <p>
+ * When no output file is given, the text is written to standard output.</p>
+ * <p>
+ * If the application stopped in the middle of writing an event, the partial
+ * event at the end of the file is ignored, and every complete event before it
+ * is rendered.</p>
+ *
+ * @see BinaryLogAppender
+ * @see MappedLogAppender
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class BinaryLogRenderer {
+
+    private BinaryLogRenderer() {
+        // Only static methods.
+    }
+
+    /**
+     * Renders the binary log `file` as text to the given `Writer`, one event
+     * per line.
+     *
+     * @param file the binary log file
+     * @param out the destination of the text
+     * @return the number of events rendered
+     * @throws IOException if the file cannot be read, is not a binary log, or
+     * the text cannot be written
+     */
+    public static long render(Path file, Writer out) throws IOException {
+        long[] count = new long[1];
+        IOException[] failure = new IOException[1];
+
+        forEach(file, event -> {
+            if (failure[0] != null) {
+                return;
+            }
+            try {
+                out.write(event.toText());
+                out.write("\n");
+                count[0]++;
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+
+        out.flush();
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+
+        return count[0];
+    }
+
+    /**
+     * Decodes every complete event in the binary log `file`, in the order in
+     * which they were written, and hands each one to the `action`.
+     *
+     * @param file the binary log file
+     * @param action receives each decoded event
+     * @throws IOException if the file cannot be read or is not a binary log
+     */
+    public static void forEach(Path file, Consumer<LogEvent> action)
+            throws IOException {
+        try (InputStream stream = Files.newInputStream(file)) {
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(stream, 64 * 1024));
+
+            int magic = in.readInt();
+            if (magic == MappedLogAppender.MAGIC) {
+                MappedLogAppender.forEach(file, action);
+                return;
+            } else if (magic != BinaryLogAppender.MAGIC) {
+                throw new IOException(file + " is not a binary log file");
+            }
+            byte version = in.readByte();
+            if (version != BinaryLogEncoder.VERSION) {
+                throw new IOException(String.format("Unsupported binary log "
+                        + "version %d in %s", version, file));
+            }
+
+            BinaryLogDecoder decoder = new BinaryLogDecoder(file.toString(),
+                    in.readLong());
+
+            int tag;
+            while ((tag = in.read()) != -1) {
+                LogEvent event;
+                try {
+                    event = decoder.decode(tag, in);
+                } catch (EOFException e) {
+                    // The last entry was only partially written.
+                    break;
+                }
+                if (event != null) {
+                    action.accept(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Renders a binary log file as text.
+     *
+     * @param args the binary log file, and optionally the text file to create
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: BinaryLogRenderer <binary log> "
+                    + "[text log]");
+            System.exit(1);
+        }
+
+        try {
+            if (args.length == 2) {
+                try (Writer out = Files.newBufferedWriter(Paths.get(args[1]),
+                        StandardCharsets.UTF_8)) {
+                    render(Paths.get(args[0]), out);
+                }
+            } else {
+                Writer out = new BufferedWriter(new OutputStreamWriter(
+                        System.out, StandardCharsets.UTF_8));
+                render(Paths.get(args[0]), out);
+            }
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   CallSiteLimiter.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 8:26:12 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The `CallSiteLimiter` decides whether a message from one call site, that is
+ * one method of one class, may be logged, and counts the messages that were
+ * not.
+ * <p>
+ * A call site can be sampled, so that only one in every `sampleEvery` messages
+ * is logged, and can be rate limited by a token bucket, so that no more than
+ * `burst` messages are logged at once and no more than `recordsPerSecond` are
+ * logged on average. When both are set, the sampled messages are also rate
+ * limited.</p>
+ * <p>
+ * The token bucket is kept as a single `AtomicLong`: the instant at which the
+ * bucket will next be full, in `System.nanoTime` units. A message is allowed
+ * when that instant is no further ahead than the burst allows, and taking a
+ * token is one compare-and-set that moves the instant forward by one
+ * interval. The sampler is a single counter. Neither ever blocks, so a
+ * limited call site that is below its limit costs a clock read and one
+ * atomic update per message. Suppressed messages are counted in a
+ * `LongAdder`, so that threads flooding the same call site do not contend
+ * on the count.</p>
+ * <p>
+ * The suppressed count is handed out at most once per `summaryNanos`, by
+ * `takeSuppressed`, so that the `Logger` can write a summary line without
+ * writing one for every allowed message.</p>
+ *
+ * @see Logger
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class CallSiteLimiter {
+
+    private final double recordsPerSecond;
+    private final int burst;
+    private final int sampleEvery;
+    private final boolean inherited;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final long summaryNanos;
+    private final AtomicLong fullAt;
+    private final AtomicLong sampled = new AtomicLong();
+    private final AtomicLong summaryDue;
+    private final LongAdder suppressed = new LongAdder();
+    private volatile int lastLevel;
+
+    /**
+     * Constructs a new `CallSiteLimiter`.
+     *
+     * @param recordsPerSecond the average number of messages allowed per
+     * second, or zero or less for no rate limit
+     * @param burst the number of messages allowed at once
+     * @param sampleEvery log one in every `sampleEvery` messages, or one or
+     * less to log every message
+     * @param summaryNanos the least time between two summaries of the
+     * suppressed messages
+     * @param inherited `true` if the limits are the defaults of the `Logger`
+     * rather than set for this call site
+     */
+    CallSiteLimiter(double recordsPerSecond, int burst, int sampleEvery,
+            long summaryNanos, boolean inherited) {
+        this.recordsPerSecond = Math.max(0.0, recordsPerSecond);
+        this.burst = Math.max(1, burst);
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.inherited = inherited;
+        this.summaryNanos = summaryNanos;
+
+        intervalNanos = (this.recordsPerSecond > 0.0)
+                ? Math.max(1L, (long) (1_000_000_000.0 / this.recordsPerSecond))
+                : 0L;
+        toleranceNanos = intervalNanos * (this.burst - 1);
+
+        long now = System.nanoTime();
+        fullAt = new AtomicLong(now);
+        summaryDue = new AtomicLong(now + summaryNanos);
+    }
+
+    double getRecordsPerSecond() {
+        return recordsPerSecond;
+    }
+
+    int getBurst() {
+        return burst;
+    }
+
+    int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    /**
+     * Determines whether this call site has a rate limit or sampling.
+     *
+     * @return `true` if some messages may be suppressed
+     */
+    boolean isLimited() {
+        return intervalNanos > 0L || sampleEvery > 1;
+    }
+
+    /**
+     * Determines whether this call site uses the defaults of the `Logger`,
+     * which are replaced when the defaults change.
+     *
+     * @return `true` if the limits are inherited
+     */
+    boolean isInherited() {
+        return inherited;
+    }
+
+    /**
+     * Gets the level of the most recently suppressed message.
+     *
+     * @return the level of the last suppressed message
+     */
+    int getLastLevel() {
+        return lastLevel;
+    }
+
+    /**
+     * Takes one message from the call site through the sampler and the token
+     * bucket.
+     *
+     * @param level the level of the message
+     * @param now the current `System.nanoTime`
+     * @return `true` if the message may be logged; `false` if it is
+     * suppressed, and has been counted
+     */
+    boolean tryAcquire(int level, long now) {
+        if (sampleEvery > 1 && sampled.getAndIncrement() % sampleEvery != 0) {
+            suppress(level);
+            return false;
+        }
+
+        if (intervalNanos > 0L) {
+            while (true) {
+                long full = fullAt.get();
+                // A bucket that filled in the past is simply full now.
+                long start = (full - now > 0L) ? full : now;
+                if (start - now > toleranceNanos) {
+                    suppress(level);
+                    return false;
+                }
+                if (fullAt.compareAndSet(full, start + intervalNanos)) {
+                    break;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Takes the count of suppressed messages, if any were suppressed and a
+     * summary is due. Only one of any number of racing threads gets the
+     * count.
+     *
+     * @param now the current `System.nanoTime`
+     * @return the number of messages suppressed since the last summary, or
+     * zero if no summary should be written
+     */
+    long takeSuppressed(long now) {
+        long due = summaryDue.get();
+        if (now - due < 0L || suppressed.sum() == 0L) {
+            return 0L;
+        }
+        if (!summaryDue.compareAndSet(due, now + summaryNanos)) {
+            return 0L;
+        }
+
+        return suppressed.sumThenReset();
+    }
+
+    /**
+     * Takes the count of suppressed messages, whether or not a summary is
+     * due.
+     *
+     * @return the number of messages suppressed since the last summary
+     */
+    long drainSuppressed() {
+        return suppressed.sumThenReset();
+    }
+
+    /**
+     * Adds the messages suppressed by an earlier limiter of the same call
+     * site, so that they are still summarized.
+     *
+     * @param count the number of suppressed messages
+     */
+    void addSuppressed(long count) {
+        if (count > 0L) {
+            suppressed.add(count);
+        }
+    }
+
+    private void suppress(int level) {
+        suppressed.increment();
+        lastLevel = level;
+    }
+
+}
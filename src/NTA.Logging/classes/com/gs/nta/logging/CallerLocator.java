@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   CallerLocator.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 11:07:21 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Also skips the System.Logger interface
+ *                                     and the platform logging classes of the
+ *                                     JDK, for the SystemLoggerFinder.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.api.GSLogger;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The `CallerLocator` finds the class and method that called the `Logger`,
+ * for the `Logger`s that infer the source of their messages instead of
+ * trusting the `LogRecord`.
+ * <p>
+ * The caller is the first frame on the stack outside of this package, the
+ * `GSLogger` and `System.Logger` interfaces, and the JDK's own plumbing
+ * between its platform loggers and `System.Logger`, found with a `StackWalker` that stops as soon as it
+ * gets there. Only the class, the method, and the bytecode index of that
+ * frame are read during the walk. The names written to the log are resolved
+ * once for each call site, keyed by the class and then by the method and
+ * bytecode index within it, and are shared by every later message from the
+ * same call site.</p>
+ * <p>
+ * Constructors are named in the style used throughout the application, such
+ * as `SplashScreen [Constructor]`, and static initializers as
+ * `SplashScreen [Static Initializer]`.</p>
+ *
+ * @see Logger#setCallerInference(boolean)
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class CallerLocator {
+
+    private static final StackWalker WALKER = StackWalker.getInstance(
+            StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final String PACKAGE = CallerLocator.class.getPackageName();
+    private static final String[] PLATFORM_PACKAGES = {
+        "jdk.internal.logger", "sun.util.logging"
+    };
+
+    private static final ClassValue<ConcurrentMap<Site, Location>> SITES
+            = new ClassValue<ConcurrentMap<Site, Location>>() {
+        @Override
+        protected ConcurrentMap<Site, Location> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private CallerLocator() {
+        // Only static methods.
+    }
+
+    /**
+     * Finds the caller of the `Logger` on the stack of the current thread.
+     *
+     * @return the location of the caller, or `null` if every frame on the
+     * stack belongs to the logging package
+     */
+    static Location locate() {
+        return WALKER.walk(frames -> frames.filter(CallerLocator::isCaller)
+                .findFirst().map(CallerLocator::resolve).orElse(null));
+    }
+
+    private static boolean isCaller(StackWalker.StackFrame frame) {
+        Class<?> type = frame.getDeclaringClass();
+        if (type == GSLogger.class || type == System.Logger.class) {
+            return false;
+        }
+
+        String pkg = type.getPackageName();
+        if (pkg.equals(PACKAGE)) {
+            return false;
+        }
+        for (String platform : PLATFORM_PACKAGES) {
+            if (pkg.equals(platform)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static Location resolve(StackWalker.StackFrame frame) {
+        ConcurrentMap<Site, Location> sites = SITES.get(
+                frame.getDeclaringClass());
+        Site site = new Site(frame.getMethodName(), frame.getDescriptor(),
+                frame.getByteCodeIndex());
+
+        Location location = sites.get(site);
+        if (location == null) {
+            location = new Location(frame);
+            Location existing = sites.putIfAbsent(site, location);
+            if (existing != null) {
+                location = existing;
+            }
+        }
+
+        return location;
+    }
+
+    /**
+     * A call site within a class: a method, told apart from its overloads by
+     * its descriptor, and the bytecode index of the call within it.
+     */
+    private static final class Site {
+
+        private final String methodName;
+        private final String descriptor;
+        private final int byteCodeIndex;
+
+        private Site(String methodName, String descriptor, int byteCodeIndex) {
+            this.methodName = methodName;
+            this.descriptor = descriptor;
+            this.byteCodeIndex = byteCodeIndex;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Site)) {
+                return false;
+            }
+            Site other = (Site) obj;
+            return byteCodeIndex == other.byteCodeIndex
+                    && methodName.equals(other.methodName)
+                    && descriptor.equals(other.descriptor);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(methodName, descriptor, byteCodeIndex);
+        }
+
+    }
+
+    /**
+     * The resolved location of a call site.
+     */
+    static final class Location {
+
+        private final String className;
+        private final String methodName;
+        private final int lineNumber;
+
+        private Location(StackWalker.StackFrame frame) {
+            Class<?> type = frame.getDeclaringClass();
+            String method = frame.getMethodName();
+            className = type.getName();
+            if (method.equals("<init>")) {
+                methodName = type.getSimpleName() + " [Constructor]";
+            } else if (method.equals("<clinit>")) {
+                methodName = type.getSimpleName() + " [Static Initializer]";
+            } else {
+                methodName = method;
+            }
+            lineNumber = frame.getLineNumber();
+        }
+
+        String getClassName() {
+            return className;
+        }
+
+        String getMethodName() {
+            return methodName;
+        }
+
+        /**
+         * Gets the source line of the call.
+         *
+         * @return the line number, or a negative number if it is not known
+         */
+        int getLineNumber() {
+            return lineNumber;
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   FileAppender.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 4:05:33 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import java.io.File;
+
+/**
+ * A `FileAppender` is a `LogAppender` that writes to a single file, and keeps
+ * a running count of how much it has written.
+ * <p>
+ * The running count allows the `RollingFileAppender` to decide when to roll
+ * the file without asking the file system for its size.</p>
+ *
+ * @see RollingFileAppender
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public interface FileAppender extends LogAppender {
+
+    /**
+     * Gets the file to which this appender writes.
+     *
+     * @return the log file
+     */
+    public File getFile();
+
+    /**
+     * Gets the length of everything appended to the file so far, including
+     * anything that has not yet been flushed.
+     *
+     * @return the length of the file's content, in bytes
+     */
+    public long getLength();
+
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   FlightRecorder.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 8:58:27 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Records only at or above its own level,
+ *                                     TRACE by default. Keeps the raw pieces
+ *                                     of each message again, with a snapshot
+ *                                     of its immutable parameters, and formats
+ *                                     them only when the ring is dumped.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.api.GSLogger;
+import java.time.Instant;
+import java.util.Arrays;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.IllegalFormatException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * The `FlightRecorder` remembers the last messages given to any `Logger`, at
+ * every level from its own up, whether or not that level is enabled in the
+ * `Logger`.
+ * <p>
+ * A production application usually logs at `WARN`, so the log holds nothing
+ * about what led up to a crash. The recorder keeps the raw pieces of the most
+ * recent messages in a fixed-size ring, and the `Logger` adds them to the
+ * error log of a critical error. Nothing is formatted until the ring is
+ * dumped: a message costs one small object, a copy of its parameters, and one
+ * atomic increment. The recorder has its own level, `TRACE` by default, which
+ * the `Logger` checks before it builds anything for the recorder, so raising
+ * it makes the calls below it cost nothing more than the level checks.</p>
+ * <p>
+ * The parameters of a message are copied when it is recorded, so the caller
+ * may reuse its array. Only the parameters that cannot change, such as
+ * strings, boxed primitives, and enums, are kept; any other parameter is
+ * replaced by the name of its class, so a dump never shows an object as it
+ * was long after the message, and the ring keeps no caller's object alive.
+ * A `Supplier` of the message is kept as it is, and only called if the ring
+ * is dumped.</p>
+ * <p>
+ * Each message takes a ticket from an `AtomicLong`, and is stored in the slot
+ * of the ring for that ticket with a lazy write, so recording never locks and
+ * never waits for another thread. A dump keeps only the slots that still
+ * hold the ticket it expects, so a message that was overwritten while the
+ * dump ran is skipped instead of being shown out of order.</p>
+ *
+ * @see Logger
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class FlightRecorder {
+
+    private final AtomicReferenceArray<Entry> ring;
+    private final int mask;
+    private final int level;
+    private final AtomicLong tickets = new AtomicLong();
+
+    /**
+     * Constructs a new `FlightRecorder` that records messages at every
+     * level.
+     *
+     * @param capacity the number of messages remembered, rounded up to a
+     * power of two
+     */
+    FlightRecorder(int capacity) {
+        this(capacity, GSLogger.TRACE);
+    }
+
+    /**
+     * Constructs a new `FlightRecorder`.
+     *
+     * @param capacity the number of messages remembered, rounded up to a
+     * power of two
+     * @param level the lowest level recorded, from `GSLogger.TRACE` to
+     * `GSLogger.CRITICAL`
+     */
+    FlightRecorder(int capacity, int level) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        ring = new AtomicReferenceArray<>(Math.max(2, size));
+        mask = ring.length() - 1;
+        this.level = level;
+    }
+
+    /**
+     * Gets the number of messages that the ring can hold.
+     *
+     * @return the capacity of the ring
+     */
+    int getCapacity() {
+        return ring.length();
+    }
+
+    /**
+     * Gets the lowest level that is recorded. The `Logger` checks it before
+     * calling `record`.
+     *
+     * @return the level of the recorder
+     */
+    int getLevel() {
+        return level;
+    }
+
+    /**
+     * Records a message, without formatting it.
+     *
+     * @param label the level label, such as `DEBUG` or `ENTERING`
+     * @param className the source class name
+     * @param methodName the source method name
+     * @param message the message text or format string, or a `Supplier` of
+     * the message text
+     * @param params the parameters of the format string, or of the method for
+     * `ENTERING` and `EXITING` messages; `null` if the message is already
+     * formatted
+     * @param thrown the exception of the message, or `null`
+     */
+    void record(String label, String className, String methodName,
+            Object message, Object[] params, Throwable thrown) {
+        Object[] kept = snapshot(params);
+        long ticket = tickets.getAndIncrement();
+        ring.lazySet((int) ticket & mask, new Entry(ticket,
+                System.currentTimeMillis(), Thread.currentThread().getId(),
+                label, className, methodName, message, kept, thrown));
+    }
+
+    private static Object[] snapshot(Object[] params) {
+        if (params == null || params.length == 0) {
+            return null;
+        }
+
+        Object[] kept = new Object[params.length];
+        for (int i = 0; i < params.length; i++) {
+            Object p = params[i];
+            kept[i] = (p == null || isImmutable(p)) ? p
+                    : new Unrecorded(p.getClass());
+        }
+        return kept;
+    }
+
+    private static boolean isImmutable(Object o) {
+        return o instanceof String || o instanceof Integer
+                || o instanceof Long || o instanceof Boolean
+                || o instanceof Double || o instanceof Float
+                || o instanceof Character || o instanceof Short
+                || o instanceof Byte || o instanceof Enum
+                || o instanceof BigDecimal || o instanceof BigInteger
+                || o instanceof UUID || o instanceof Class
+                || o.getClass().getPackageName().equals("java.time");
+    }
+
+    /**
+     * Formats the messages in the ring, oldest first, one per line.
+     *
+     * @param sb the destination of the formatted messages
+     * @return the number of messages formatted
+     */
+    int dump(StringBuilder sb) {
+        long end = tickets.get();
+        long start = Math.max(0L, end - ring.length());
+        int count = 0;
+
+        for (long ticket = start; ticket < end; ticket++) {
+            Entry entry = ring.get((int) ticket & mask);
+            if (entry == null || entry.ticket != ticket) {
+                // Overwritten by a newer message, or not yet stored.
+                continue;
+            }
+
+            entry.format(sb);
+            sb.append("\n");
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Stands in for a parameter that could change after it was recorded.
+     */
+    private static final class Unrecorded {
+
+        private final Class<?> type;
+
+        private Unrecorded(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public String toString() {
+            return "<" + type.getName() + ">";
+        }
+
+    }
+
+    /**
+     * The raw pieces of one recorded message.
+     */
+    private static final class Entry {
+
+        private final long ticket;
+        private final long millis;
+        private final long threadId;
+        private final String label;
+        private final String className;
+        private final String methodName;
+        private final Object message;
+        private final Object[] params;
+        private final Throwable thrown;
+
+        private Entry(long ticket, long millis, long threadId, String label,
+                String className, String methodName, Object message,
+                Object[] params, Throwable thrown) {
+            this.ticket = ticket;
+            this.millis = millis;
+            this.threadId = threadId;
+            this.label = label;
+            this.className = className;
+            this.methodName = methodName;
+            this.message = message;
+            this.params = params;
+            this.thrown = thrown;
+        }
+
+        private void format(StringBuilder sb) {
+            sb.append(Instant.ofEpochMilli(millis)).append(" ").append(label);
+            sb.append(": ").append(className).append(".").append(methodName);
+            sb.append("(); Thread ID: ").append(threadId).append("; ");
+
+            try {
+                String text = (message instanceof Supplier)
+                        ? String.valueOf(((Supplier<?>) message).get())
+                        : String.valueOf(message);
+                if (params == null) {
+                    sb.append(text);
+                } else if (label.equals("ENTERING") || label.equals("EXITING")) {
+                    sb.append(text).append(" ").append(Arrays.toString(params));
+                } else {
+                    sb.append(String.format(text, params));
+                }
+            } catch (IllegalFormatException e) {
+                sb.append(message).append(" ").append(Arrays.toString(params));
+            } catch (RuntimeException e) {
+                // A Supplier failed long after the message was recorded; the
+                //+ critical error log must still be written.
+                sb.append("<unable to format the message: ").append(e)
+                        .append(">");
+            }
+
+            if (thrown != null) {
+                sb.append(" [").append(thrown).append("]");
+            }
+        }
+
+    }
+
+}
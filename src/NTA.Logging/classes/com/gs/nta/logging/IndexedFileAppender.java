@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   IndexedFileAppender.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 7:54:40 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.utils.TerminalErrorPrinter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The `IndexedFileAppender` keeps the sparse `LogIndex` of a text or JSON Lines
+ * log file while the wrapped `FileAppender` writes it.
+ * <p>
+ * The running length of the wrapped appender is the offset at which each event
+ * starts, so the index costs no reads of the log, only a few comparisons per
+ * event. Once a block of at least `interval` bytes has been written, its
+ * offsets and ranges are appended to the index file as a single entry of
+ * forty-eight bytes. The last block is written when the appender is
+ * closed.</p>
+ * <p>
+ * Only line-oriented logs can be indexed, because a query starts reading at
+ * the offset of a block. The entries of the binary log formats depend on the
+ * entries before them.</p>
+ *
+ * @see LogIndex
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class IndexedFileAppender implements FileAppender {
+
+    /** The default size of a block of the log, in bytes. */
+    public static final long DEFAULT_INTERVAL = 64L * 1024L;
+
+    private final FileAppender appender;
+    private final long interval;
+    private final File indexFile;
+    private final FileChannel index;
+    private final ByteBuffer entry = ByteBuffer.allocate(LogIndex.ENTRY_SIZE);
+    private long blockStart;
+    private long blockEvents = 0L;
+    private long minNanos;
+    private long maxNanos;
+    private long minSeq;
+    private long maxSeq;
+    private boolean closed = false;
+
+    /**
+     * Constructs a new `IndexedFileAppender`. Any existing index of the log
+     * file is replaced.
+     *
+     * @param appender the appender that writes the log file
+     * @param interval the size of a block of the log, in bytes
+     * @throws IOException if the index file cannot be opened
+     * @throws IllegalArgumentException if `appender` is `null`, or `interval`
+     * is not positive
+     */
+    public IndexedFileAppender(FileAppender appender, long interval)
+            throws IOException {
+        if (appender == null) {
+            throw new IllegalArgumentException("null appender");
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+
+        this.appender = appender;
+        this.interval = interval;
+        indexFile = LogIndex.indexFileFor(appender.getFile());
+        index = FileChannel.open(indexFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        ByteBuffer header = ByteBuffer.allocate(LogIndex.HEADER_SIZE);
+        header.putInt(LogIndex.MAGIC).put(LogIndex.VERSION).flip();
+        write(header);
+    }
+
+    /**
+     * Gets the appender that writes the log file.
+     *
+     * @return the wrapped appender
+     */
+    public FileAppender getAppender() {
+        return appender;
+    }
+
+    @Override
+    public File getFile() {
+        return appender.getFile();
+    }
+
+    @Override
+    public long getLength() {
+        return appender.getLength();
+    }
+
+    @Override
+    public synchronized void append(LogEvent event) {
+        if (closed) {
+            return;
+        }
+
+        long offset = appender.getLength();
+        if (blockEvents > 0 && offset - blockStart >= interval) {
+            writeBlock(offset);
+        }
+
+        long nanos = BinaryLogEncoder.toEpochNanos(event.getInstant());
+        long seq = event.getSequenceNumber();
+        if (blockEvents == 0) {
+            blockStart = offset;
+            minNanos = maxNanos = nanos;
+            minSeq = maxSeq = seq;
+        } else {
+            minNanos = Math.min(minNanos, nanos);
+            maxNanos = Math.max(maxNanos, nanos);
+            minSeq = Math.min(minSeq, seq);
+            maxSeq = Math.max(maxSeq, seq);
+        }
+        blockEvents++;
+
+        appender.append(event);
+    }
+
+    @Override
+    public synchronized void flush() {
+        appender.flush();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        if (blockEvents > 0) {
+            writeBlock(appender.getLength());
+        }
+        appender.close();
+
+        try {
+            index.close();
+        } catch (IOException e) {
+            String msg = String.format("Unable to close the log index %s",
+                    indexFile);
+            TerminalErrorPrinter.print(e, msg);
+        }
+    }
+
+    private void writeBlock(long end) {
+        entry.clear();
+        entry.putLong(blockStart).putLong(end);
+        entry.putLong(minNanos).putLong(maxNanos);
+        entry.putLong(minSeq).putLong(maxSeq);
+        entry.flip();
+        write(entry);
+
+        blockEvents = 0L;
+    }
+
+    private void write(ByteBuffer buffer) {
+        try {
+            while (buffer.hasRemaining()) {
+                index.write(buffer);
+            }
+        } catch (IOException e) {
+            String msg = String.format("Unable to write to the log index %s",
+                    indexFile);
+            TerminalErrorPrinter.print(e, msg);
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   JsonLinesAppender.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 7:08:36 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.utils.TerminalErrorPrinter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The `JsonLinesAppender` writes `LogEvent`s to a JSON Lines file, one JSON
+ * object per line.
+ * <p>
+ * The text log wraps long messages over several lines when formatted output
+ * is turned on, and its layout has to be picked apart with regular
+ * expressions. A JSON Lines log can be read by `jq`, by log shippers, and by
+ * any JSON library, one line at a time. See the `JsonLogEncoder` for the
+ * fields of each object.</p>
+ * <p>
+ * Events are encoded into a reusable buffer and are only written to the file
+ * when the buffer fills, or when `flush` is called.</p>
+ *
+ * @see JsonLogEncoder
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class JsonLinesAppender implements FileAppender {
+
+    /** The extension of JSON Lines log files. */
+    public static final String EXTENSION = ".jsonl";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+    private final FileChannel channel;
+    private final JsonLogEncoder encoder = new JsonLogEncoder();
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private long length = 0L;
+    private boolean closed = false;
+
+    /**
+     * Constructs a new `JsonLinesAppender` that writes to the given file. Any
+     * existing content of the file is replaced.
+     *
+     * @param file the JSON Lines log file
+     * @throws IOException if the log file cannot be opened
+     */
+    public JsonLinesAppender(File file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    @Override
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized long getLength() {
+        return length;
+    }
+
+    @Override
+    public synchronized void append(LogEvent event) {
+        if (closed) {
+            return;
+        }
+
+        ByteBuffer line = encoder.encode(event);
+        length += line.remaining();
+        ensureRoom(line.remaining());
+        buffer.put(line);
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+
+        try {
+            drain();
+        } catch (IOException e) {
+            String msg = String.format("Unable to flush the JSON log file %s",
+                    file);
+            TerminalErrorPrinter.print(e, msg);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            drain();
+            channel.close();
+        } catch (IOException e) {
+            String msg = String.format("Unable to close the JSON log file %s",
+                    file);
+            TerminalErrorPrinter.print(e, msg);
+        }
+    }
+
+    private void ensureRoom(int needed) {
+        if (buffer.remaining() >= needed) {
+            return;
+        }
+
+        try {
+            drain();
+        } catch (IOException e) {
+            String msg = String.format("Unable to write to the JSON log file %s",
+                    file);
+            TerminalErrorPrinter.print(e, msg);
+            buffer.clear();
+        }
+
+        if (buffer.capacity() < needed) {
+            // A single oversized message; grow the buffer to hold it.
+            buffer = ByteBuffer.allocate(needed);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   JsonLogEncoder.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 6:52:14 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * The `JsonLogEncoder` turns a `LogEvent` into a single line of JSON, encoded
+ * as UTF-8:
+ * <pre>
+ * {"time":"2026-10-18T18:43:30.460099581Z","seq":12,"level":"DEBUG","levelValue":1,"class":"MyClass","method":"doSomething","thread":1,"signature":"();","message":"..."}
+ * </pre>
+ * <p>
+ * The field names and punctuation are converted to bytes once, when the class
+ * is loaded. The instant, the numbers, and the characters of the strings are
+ * written straight into a reusable buffer, so encoding an event creates no
+ * `String`s and no other garbage. Line breaks and other control characters in
+ * a message are escaped, so every event is exactly one line of the file.</p>
+ * <p>
+ * An encoder is not thread-safe. It is owned by a single appender, which must
+ * only call it while holding its own lock.</p>
+ *
+ * @see JsonLinesAppender
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class JsonLogEncoder {
+
+    private static final byte[] TIME = ascii("{\"time\":\"");
+    private static final byte[] SEQ = ascii("\",\"seq\":");
+    private static final byte[] LEVEL = ascii(",\"level\":");
+    private static final byte[] LEVEL_VALUE = ascii(",\"levelValue\":");
+    private static final byte[] CLASS = ascii(",\"class\":");
+    private static final byte[] METHOD = ascii(",\"method\":");
+    private static final byte[] THREAD = ascii(",\"thread\":");
+    private static final byte[] SIGNATURE = ascii(",\"signature\":");
+    private static final byte[] MESSAGE = ascii(",\"message\":");
+    private static final byte[] END = ascii("}\n");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    /** The most bytes that a single `char` can take once escaped. */
+    private static final int MAX_CHAR_BYTES = 6;
+
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+
+    /**
+     * Encodes the `event` as a line of JSON, including the trailing newline.
+     * <p>
+     * The returned buffer is reused by the next call to `encode`, so its
+     * content must be copied out before then.</p>
+     *
+     * @param event the event to encode
+     * @return the encoded line, ready to be read
+     */
+    ByteBuffer encode(LogEvent event) {
+        scratch.clear();
+
+        put(TIME);
+        putInstant(event.getInstant());
+        put(SEQ);
+        putLong(event.getSequenceNumber());
+        put(LEVEL);
+        putString(event.getLabel());
+        put(LEVEL_VALUE);
+        putLong(event.getLevel());
+        put(CLASS);
+        putString(event.getSourceClassName());
+        put(METHOD);
+        putString(event.getSourceMethodName());
+        put(THREAD);
+        putLong(event.getThreadId());
+        put(SIGNATURE);
+        putString(event.getSignature());
+        put(MESSAGE);
+        putString(event.getMessage());
+        put(END);
+
+        scratch.flip();
+        return scratch;
+    }
+
+    private void ensureRoom(int needed) {
+        if (scratch.remaining() < needed) {
+            int size = Math.max(scratch.capacity() * 2,
+                    scratch.position() + needed);
+            ByteBuffer grown = ByteBuffer.allocate(size);
+            scratch.flip();
+            grown.put(scratch);
+            scratch = grown;
+        }
+    }
+
+    private void put(byte[] bytes) {
+        ensureRoom(bytes.length);
+        scratch.put(bytes);
+    }
+
+    private void putLong(long value) {
+        ensureRoom(20);
+        if (value < 0) {
+            scratch.put((byte) '-');
+        } else {
+            value = -value;
+        }
+
+        // Digits are produced from the negative value, so that Long.MIN_VALUE
+        //+ does not overflow.
+        int start = scratch.position();
+        do {
+            scratch.put((byte) ('0' - (value % 10)));
+            value /= 10;
+        } while (value != 0);
+
+        for (int i = start, j = scratch.position() - 1; i < j; i++, j--) {
+            byte b = scratch.get(i);
+            scratch.put(i, scratch.get(j));
+            scratch.put(j, b);
+        }
+    }
+
+    private void putDigits(long value, int width) {
+        for (int i = width - 1; i >= 0; i--) {
+            scratch.put(scratch.position() + i, (byte) ('0' + (value % 10)));
+            value /= 10;
+        }
+        scratch.position(scratch.position() + width);
+    }
+
+    /**
+     * Writes the instant in the same ISO-8601 layout as `Instant.toString`,
+     * with a fixed nine digits of nanoseconds so that every line sorts the
+     * same way as text.
+     */
+    private void putInstant(Instant instant) {
+        ensureRoom(32);
+        long seconds = instant.getEpochSecond();
+        long days = Math.floorDiv(seconds, 86_400L);
+        long secondOfDay = Math.floorMod(seconds, 86_400L);
+
+        // Converts days since the epoch to a proleptic Gregorian date, working
+        //+ in 400 year eras that start on March 1st.
+        long z = days + 719_468L;
+        long era = Math.floorDiv(z, 146_097L);
+        long doe = z - era * 146_097L;
+        long yoe = (doe - doe / 1_460L + doe / 36_524L - doe / 146_096L) / 365L;
+        long doy = doe - (365L * yoe + yoe / 4L - yoe / 100L);
+        long mp = (5L * doy + 2L) / 153L;
+        long day = doy - (153L * mp + 2L) / 5L + 1L;
+        long month = (mp < 10L) ? mp + 3L : mp - 9L;
+        long year = yoe + era * 400L + ((month <= 2L) ? 1L : 0L);
+
+        if (year < 0L || year > 9999L) {
+            putLong(year);
+            ensureRoom(32);
+        } else {
+            putDigits(year, 4);
+        }
+        scratch.put((byte) '-');
+        putDigits(month, 2);
+        scratch.put((byte) '-');
+        putDigits(day, 2);
+        scratch.put((byte) 'T');
+        putDigits(secondOfDay / 3_600L, 2);
+        scratch.put((byte) ':');
+        putDigits((secondOfDay / 60L) % 60L, 2);
+        scratch.put((byte) ':');
+        putDigits(secondOfDay % 60L, 2);
+        scratch.put((byte) '.');
+        putDigits(instant.getNano(), 9);
+        scratch.put((byte) 'Z');
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            put(NULL);
+            return;
+        }
+
+        int length = value.length();
+        ensureRoom(length * MAX_CHAR_BYTES + 2);
+        scratch.put((byte) '"');
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                putAscii(c);
+            } else if (c < 0x800) {
+                scratch.put((byte) (0xC0 | (c >> 6)));
+                scratch.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                scratch.put((byte) (0xF0 | (cp >> 18)));
+                scratch.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                scratch.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                scratch.put((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // An unpaired surrogate cannot be encoded; write U+FFFD, as
+                //+ the String encoders do.
+                scratch.put((byte) 0xEF);
+                scratch.put((byte) 0xBF);
+                scratch.put((byte) 0xBD);
+            } else {
+                scratch.put((byte) (0xE0 | (c >> 12)));
+                scratch.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                scratch.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        scratch.put((byte) '"');
+    }
+
+    private void putAscii(char c) {
+        switch (c) {
+            case '"':
+            case '\\':
+                scratch.put((byte) '\\');
+                scratch.put((byte) c);
+                break;
+            case '\n':
+                scratch.put((byte) '\\');
+                scratch.put((byte) 'n');
+                break;
+            case '\r':
+                scratch.put((byte) '\\');
+                scratch.put((byte) 'r');
+                break;
+            case '\t':
+                scratch.put((byte) '\\');
+                scratch.put((byte) 't');
+                break;
+            default:
+                if (c < 0x20 || c == 0x7F) {
+                    scratch.put((byte) '\\');
+                    scratch.put((byte) 'u');
+                    scratch.put((byte) '0');
+                    scratch.put((byte) '0');
+                    scratch.put(HEX[c >> 4]);
+                    scratch.put(HEX[c & 0xF]);
+                } else {
+                    scratch.put((byte) c);
+                }
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+}
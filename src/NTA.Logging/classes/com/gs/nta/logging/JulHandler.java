@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   JulHandler.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 11:49:05 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+
+/**
+ * The `JulHandler` writes the messages of `java.util.logging`, such as those
+ * of the Swing Application Framework, to the application's log file, through
+ * the same `LogPipeline` as every `Logger`.
+ * <p>
+ * The `LogPipeline` installs this handler on the root logger of
+ * `java.util.logging` when it is opened, unless the
+ * `Application.logging.bridge` resource is `false`. Each message is written
+ * by the `Logger` named for its `java.util.logging` logger, so the message is
+ * filtered by the levels of the `etc/logging.levels` file, stamped with the
+ * next global sequence number, and buffered like any other. Its message is
+ * localized and formatted with its parameters, in the `{0}` style of
+ * `java.util.logging`, before it is written.</p>
+ * <p>
+ * The levels map as follows: `SEVERE` to `ERROR`, `WARNING` to `WARN`, `INFO`
+ * to `INFO`, `CONFIG` to `CONFIG`, `FINE` to `DEBUG`, and `FINER` and
+ * `FINEST` to `TRACE`.</p>
+ *
+ * @see LogBridge
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class JulHandler extends Handler {
+
+    // Only its formatMessage is used, to localize and fill in the message.
+    private static final Formatter MESSAGES = new Formatter() {
+        @Override
+        public String format(java.util.logging.LogRecord record) {
+            return formatMessage(record);
+        }
+    };
+
+    /**
+     * Constructs a new `JulHandler`, which passes every level on to the
+     * `Logger`s to filter.
+     */
+    public JulHandler() {
+        setLevel(Level.ALL);
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * A message is only loggable when the `Logger` for its logger name is
+     * enabled for its level.</p>
+     *
+     * @param record {@inheritDoc }
+     * @return {@inheritDoc }
+     */
+    @Override
+    public boolean isLoggable(java.util.logging.LogRecord record) {
+        if (record == null || !super.isLoggable(record)) {
+            return false;
+        }
+
+        Logger logger = LogBridge.loggerFor(record.getLoggerName());
+        return logger != null
+                && logger.isEnabled(LogBridge.fromJul(record.getLevel()));
+    }
+
+    @Override
+    public void publish(java.util.logging.LogRecord record) {
+        if (record == null || !super.isLoggable(record)) {
+            return;
+        }
+
+        Logger logger = LogBridge.loggerFor(record.getLoggerName());
+        int level = LogBridge.fromJul(record.getLevel());
+        if (logger == null || !logger.isEnabled(level)) {
+            return;
+        }
+
+        String sourceClass = record.getSourceClassName();
+        LogRecord nta = new LogRecord((sourceClass == null)
+                ? logger.getClassName() : sourceClass,
+                record.getSourceMethodName());
+        nta.setInstant(record.getInstant());
+        nta.setLoggerName(record.getLoggerName());
+        nta.setThrown(record.getThrown());
+        try {
+            nta.setMessage(MESSAGES.formatMessage(record));
+        } catch (RuntimeException e) {
+            nta.setMessage(record.getMessage());
+        }
+
+        LogBridge.write(logger, level, nta);
+    }
+
+    @Override
+    public void flush() {
+        LogPipeline pipeline = LogPipeline.peekShared();
+        if (pipeline != null) {
+            pipeline.flush();
+        }
+    }
+
+    /**
+     * Stops this handler from writing any more messages. The log file itself
+     * is closed with the `LogPipeline`.
+     */
+    @Override
+    public void close() {
+        setLevel(Level.OFF);
+    }
+
+}
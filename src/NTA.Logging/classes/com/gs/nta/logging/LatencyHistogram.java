@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   LatencyHistogram.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 9:24:50 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Keeps the longest duration, and
+ *                                     estimates percentiles, for the span
+ *                                     report of the SpanRecorder.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The `LatencyHistogram` counts durations in buckets that double in width,
+ * from under two nanoseconds up to about eighteen minutes.
+ * <p>
+ * Bucket `i` counts the durations from 2<sup>i</sup> up to, but not including,
+ * 2<sup>i+1</sup> nanoseconds; bucket zero also counts durations of zero. The
+ * bucket of a duration is found from its number of leading zero bits, so
+ * recording a duration is one intrinsic and one `LongAdder` increment, and
+ * never contends with other threads.</p>
+ *
+ * @see LoggingMetrics
+ * @see SpanRecorder
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class LatencyHistogram {
+
+    /** The number of buckets. The last bucket counts every longer duration. */
+    static final int BUCKETS = 40;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Gets the exclusive upper limit of every bucket, in nanoseconds.
+     *
+     * @return the bucket limits; the last bucket has no limit, and is given
+     * as `Long.MAX_VALUE`
+     */
+    static long[] getBucketLimits() {
+        long[] limits = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            limits[i] = 2L << i;
+        }
+        limits[BUCKETS - 1] = Long.MAX_VALUE;
+
+        return limits;
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration, in nanoseconds
+     */
+    void record(long nanos) {
+        int bucket = (nanos <= 1L) ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+        buckets[Math.min(bucket, BUCKETS - 1)].increment();
+        count.increment();
+        totalNanos.add(Math.max(0L, nanos));
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Gets a snapshot of the bucket counts. The counts are not read
+     * atomically, so a snapshot taken while durations are recorded may be
+     * slightly inconsistent with `getCount`.
+     *
+     * @return the count of every bucket
+     */
+    long[] getCounts() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+
+        return counts;
+    }
+
+    long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the mean of the recorded durations.
+     *
+     * @return the mean duration in nanoseconds, or zero if none were recorded
+     */
+    double getMeanNanos() {
+        long n = count.sum();
+        return (n == 0L) ? 0.0 : (double) totalNanos.sum() / n;
+    }
+
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Estimates a percentile of the recorded durations, as the upper limit of
+     * the bucket that holds it, so the estimate is at most twice the real
+     * value. The longest duration is never exceeded.
+     *
+     * @param fraction the percentile, from zero to one, such as 0.99
+     * @return the estimated duration in nanoseconds, or zero if none were
+     * recorded
+     */
+    long getPercentileNanos(double fraction) {
+        long[] counts = getCounts();
+        long n = 0L;
+        for (long c : counts) {
+            n += c;
+        }
+        if (n == 0L) {
+            return 0L;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(fraction * n));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(2L << i, getMaxNanos());
+            }
+        }
+
+        return getMaxNanos();
+    }
+
+    void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+}
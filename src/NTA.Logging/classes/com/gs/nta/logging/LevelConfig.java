@@ -0,0 +1,371 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   LevelConfig.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 11:34:52 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Tells listeners when the levels are
+ *                                     reloaded, and finds the most verbose
+ *                                     level of a snapshot, for the bridges
+ *                                     from java.util.logging.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.api.GSLogger;
+import com.gs.utils.TerminalErrorPrinter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The `LevelConfig` holds the per-package and per-class logging levels read
+ * from the `logging.levels` file in the application's `etc` directory, and
+ * reloads them whenever the file changes.
+ * <p>
+ * The file holds one level for each package or class name, in the format of
+ * a properties file:</p>
+ * <pre>
+ * # Everything at WARN, the properties module at DEBUG, and one class at
+ * # TRACE.
+ * root=WARN
+ * com.gs.nta.properties=DEBUG
+ * com.gs.nta.desktop.SplashScreen=TRACE
+ * </pre>
+ * <p>
+ * A level is a name, `OFF`, `TRACE`, `DEBUG`, `CONFIG`, `INFO`, `WARN`,
+ * `ERROR`, or `CRITICAL`, or the number of a `GSLogger` level. The level of a
+ * `Logger` comes from the longest name in the file that is its own class name
+ * or one of its enclosing packages or classes, or else from `root`. A level
+ * from the file overrides the level set with `Logger.setLevel`; a `Logger`
+ * that no entry matches keeps the level it was given.</p>
+ * <p>
+ * The entries are kept in an immutable `Snapshot`, along with a cache of the
+ * level already worked out for each name, so looking up the level of a name
+ * is a single hash lookup once the name has been seen. Reloading the file
+ * replaces the snapshot, and with it the cache, and every `Logger` notices the
+ * new snapshot on its next level check. Edits therefore take effect within a
+ * moment, without restarting the application.</p>
+ *
+ * @see Logger#isEnabled(int)
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class LevelConfig {
+
+    /** The name of the file of levels, in the application's `etc` directory. */
+    static final String FILE_NAME = "logging.levels";
+    /** The entry that applies to every name that no other entry matches. */
+    static final String ROOT = "root";
+    /** The level of a name that no entry matches. */
+    static final int UNSET = Integer.MIN_VALUE;
+
+    // Editors often write a file in more than one step; wait for them to
+    //+ finish before reading it.
+    private static final long SETTLE_MILLIS = 100L;
+
+    private final Path file;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private volatile Snapshot snapshot;
+    private volatile WatchService watcher;
+
+    /**
+     * Constructs a new `LevelConfig`, and loads the levels from the file, if
+     * it exists.
+     *
+     * @param file the file of levels
+     */
+    LevelConfig(Path file) {
+        this.file = file;
+        snapshot = load();
+    }
+
+    /**
+     * Gets the current levels.
+     *
+     * @return the levels, which are replaced as a whole when the file is
+     * reloaded
+     */
+    Snapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Reads the file again, replaces the current levels, and tells the
+     * listeners.
+     */
+    void reload() {
+        snapshot = load();
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Adds a listener that is run, on the watcher thread, each time the
+     * levels are reloaded.
+     *
+     * @param listener the listener
+     */
+    void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts a daemon thread that reloads the levels whenever the file is
+     * created, changed, or deleted. The directory of the file is created if
+     * it does not exist.
+     */
+    void watch() {
+        Path dir = file.toAbsolutePath().getParent();
+        try {
+            Files.createDirectories(dir);
+            WatchService service = dir.getFileSystem().newWatchService();
+            dir.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            watcher = service;
+        } catch (IOException | RuntimeException e) {
+            TerminalErrorPrinter.print(e, String.format("Unable to watch %s "
+                    + "for changes to the log levels", dir));
+            return;
+        }
+
+        Thread thread = new Thread(this::watchLoop, "NTA Log Levels Watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the file.
+     */
+    void close() {
+        WatchService service = watcher;
+        watcher = null;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                // The watcher thread stops either way.
+            }
+        }
+    }
+
+    private void watchLoop() {
+        Path name = file.getFileName();
+        try {
+            while (true) {
+                WatchService service = watcher;
+                if (service == null) {
+                    return;
+                }
+
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || name.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                if (!key.reset()) {
+                    // The directory itself is gone.
+                    return;
+                }
+
+                if (changed) {
+                    Thread.sleep(SETTLE_MILLIS);
+                    reload();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Closed by close().
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Snapshot load() {
+        Properties props = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(in);
+        } catch (NoSuchFileException e) {
+            return new Snapshot(Collections.emptyMap());
+        } catch (IOException | IllegalArgumentException e) {
+            TerminalErrorPrinter.print(e, String.format("Unable to read the "
+                    + "log levels from %s. Keeping the previous levels.", file));
+            Snapshot previous = snapshot;
+            return (previous == null) ? new Snapshot(Collections.emptyMap())
+                    : previous;
+        }
+
+        Map<String, Integer> levels = new HashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            String value = props.getProperty(key).trim();
+            int level = parseLevel(value);
+            if (level == UNSET) {
+                TerminalErrorPrinter.print(new IllegalArgumentException(value),
+                        String.format("Unknown log level \"%s\" for \"%s\" in "
+                                + "%s", value, key, file));
+            } else {
+                levels.put(key.trim(), level);
+            }
+        }
+
+        return new Snapshot(levels);
+    }
+
+    /**
+     * Parses a level name or number.
+     *
+     * @param value the level, such as `DEBUG` or `1`
+     * @return the `GSLogger` level, or `UNSET` if `value` is not a level
+     */
+    static int parseLevel(String value) {
+        switch (value.toUpperCase(Locale.ROOT)) {
+            case "OFF":
+                return GSLogger.OFF;
+            case "TRACE":
+                return GSLogger.TRACE;
+            case "DEBUG":
+                return GSLogger.DEBUG;
+            case "CONFIG":
+                return GSLogger.CONFIG;
+            case "INFO":
+                return GSLogger.INFO;
+            case "WARN":
+            case "WARNING":
+                return GSLogger.WARN;
+            case "ERROR":
+                return GSLogger.ERROR;
+            case "CRITICAL":
+                return GSLogger.CRITICAL;
+            default:
+                try {
+                    int level = Integer.parseInt(value);
+                    return (level >= GSLogger.OFF && level <= GSLogger.CRITICAL)
+                            ? level : UNSET;
+                } catch (NumberFormatException e) {
+                    return UNSET;
+                }
+        }
+    }
+
+    /**
+     * The levels read from one version of the file, and the levels already
+     * worked out from them.
+     */
+    static final class Snapshot {
+
+        private final Map<String, Integer> levels;
+        private final Map<String, Integer> resolved = new ConcurrentHashMap<>();
+
+        private Snapshot(Map<String, Integer> levels) {
+            this.levels = levels;
+        }
+
+        /**
+         * Gets the level of a `Logger` name from the most specific entry that
+         * matches it.
+         *
+         * @param name the class name of the `Logger`, or `null`
+         * @return the level, or `UNSET` if no entry matches
+         */
+        int levelFor(String name) {
+            if (levels.isEmpty()) {
+                return UNSET;
+            }
+
+            String key = (name == null) ? "" : name;
+            Integer level = resolved.get(key);
+            if (level == null) {
+                level = resolve(key);
+                resolved.putIfAbsent(key, level);
+            }
+
+            return level;
+        }
+
+        /**
+         * Gets the most verbose level that any name may have.
+         *
+         * @param fallback the level of the names that no entry matches, when
+         * there is no `root` entry
+         * @return the lowest level of any entry, other than `OFF`, or of the
+         * names that no entry matches
+         */
+        int finestLevel(int fallback) {
+            int finest = levels.containsKey(ROOT) ? Integer.MAX_VALUE
+                    : fallback;
+            for (int level : levels.values()) {
+                if (level != GSLogger.OFF && level < finest) {
+                    finest = level;
+                }
+            }
+
+            return (finest == Integer.MAX_VALUE) ? GSLogger.OFF : finest;
+        }
+
+        private int resolve(String name) {
+            String prefix = name;
+            while (!prefix.isEmpty()) {
+                Integer level = levels.get(prefix);
+                if (level != null) {
+                    return level;
+                }
+
+                int end = Math.max(prefix.lastIndexOf('.'),
+                        prefix.lastIndexOf('$'));
+                prefix = (end < 0) ? "" : prefix.substring(0, end);
+            }
+
+            Integer root = levels.get(ROOT);
+            return (root == null) ? UNSET : root;
+        }
+
+    }
+
+}
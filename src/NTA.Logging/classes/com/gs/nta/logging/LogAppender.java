@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   LogAppender.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 9:20:05 AM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+/**
+ * A `LogAppender` is the destination of the `LogEvent`s accepted by a
+ * `Logger`.
+ * <p>
+ * Appenders are chained together to build the logging pipeline. For example,
+ * the `AsyncAppender` accepts events on the calling thread and hands them to
+ * a `TextFileAppender` on its own writer thread.</p>
+ * <p>
+ * The `append` method is not required to make the event durable. Callers
+ * that need the event on disk must call `flush`. This allows an appender to
+ * write several events and flush them as a single batch.</p>
+ *
+ * @see LogEvent
+ * @see Logger
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public interface LogAppender {
+
+    /**
+     * Appends the given event to this appender.
+     *
+     * @param event the event to append
+     */
+    public void append(LogEvent event);
+
+    /**
+     * Forces any buffered events to their final destination.
+     */
+    public void flush();
+
+    /**
+     * Flushes and releases all resources held by this appender. Events that
+     * are appended after this method returns are discarded.
+     */
+    public void close();
+
+}
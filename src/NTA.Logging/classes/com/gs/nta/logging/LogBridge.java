@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   LogBridge.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 11:58:37 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         uninstall puts back the handlers and the
+ *                                     level that the root logger had before
+ *                                     install.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.api.GSLogger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+
+/**
+ * The `LogBridge` holds what the `JulHandler` and the `SystemLoggerFinder`
+ * share: the `Logger` that writes the messages of each bridged logger name,
+ * and the mapping of their levels to the levels of the `GSLogger`.
+ * <p>
+ * The messages of a bridged logger are written by a `Logger` whose class name
+ * is the name of that logger, such as `org.jdesktop.application.Application`,
+ * so that the entries of the `etc/logging.levels` file apply to them as they
+ * do to the application's own classes. These `Logger`s start at `INFO`, the
+ * default level of `java.util.logging`.</p>
+ * <p>
+ * The bridges only write once the application has opened the `LogPipeline`
+ * with its first `Logger`, so that a message logged by the JDK during startup
+ * cannot open the log file before the `Application` exists. The pipeline then
+ * installs the `JulHandler` on the root logger of `java.util.logging`, in
+ * place of its console handler, and keeps the level of that root logger at
+ * the most verbose level that any bridged `Logger` may have. A disabled
+ * `java.util.logging` message is therefore thrown away by the `isLoggable`
+ * check of its own logger, before a `LogRecord` is ever created. When the
+ * pipeline is closed, the handlers and the level that the root logger had
+ * before are put back, so that messages logged during the rest of the
+ * shutdown still reach the console.</p>
+ *
+ * @see JulHandler
+ * @see SystemLoggerFinder
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class LogBridge {
+
+    /** The name used for a message from a logger with no name. */
+    static final String ROOT_NAME = "root";
+
+    private static final ConcurrentMap<String, Logger> LOGGERS
+            = new ConcurrentHashMap<>();
+    // Set while a bridged message is written, so that a message logged by
+    //+ the pipeline itself cannot come back through the bridge.
+    private static final ThreadLocal<Boolean> WRITING = new ThreadLocal<>();
+
+    private static volatile JulHandler handler;
+    // What the root logger had before install, for uninstall to put back.
+    private static Handler[] savedHandlers;
+    private static Level savedLevel;
+
+    private LogBridge() {
+        // Only static methods.
+    }
+
+    /**
+     * Installs the `JulHandler` on the root logger of `java.util.logging`,
+     * removing its other handlers, and keeps the level of the root logger in
+     * step with the levels of the `etc/logging.levels` file.
+     *
+     * @param pipeline the pipeline, which has just been opened
+     */
+    static synchronized void install(LogPipeline pipeline) {
+        java.util.logging.Logger root = java.util.logging.Logger.getLogger("");
+        savedHandlers = root.getHandlers();
+        savedLevel = root.getLevel();
+        for (Handler h : savedHandlers) {
+            root.removeHandler(h);
+        }
+
+        JulHandler julHandler = new JulHandler();
+        root.addHandler(julHandler);
+        handler = julHandler;
+
+        LevelConfig levels = pipeline.getLevels();
+        if (levels != null) {
+            levels.addListener(() -> syncJulLevel(levels));
+        }
+        syncJulLevel(levels);
+    }
+
+    /**
+     * Removes the `JulHandler` from the root logger, once the pipeline is
+     * closed, and puts back the handlers and the level that `install` took
+     * from it.
+     */
+    static synchronized void uninstall() {
+        JulHandler julHandler = handler;
+        handler = null;
+        if (julHandler == null) {
+            return;
+        }
+
+        java.util.logging.Logger root = java.util.logging.Logger.getLogger("");
+        root.removeHandler(julHandler);
+        for (Handler h : savedHandlers) {
+            root.addHandler(h);
+        }
+        root.setLevel(savedLevel);
+        savedHandlers = null;
+        savedLevel = null;
+    }
+
+    private static synchronized void syncJulLevel(LevelConfig levels) {
+        if (handler == null) {
+            // Uninstalled: the level of the root logger is its own again.
+            return;
+        }
+
+        int finest = (levels == null) ? GSLogger.INFO
+                : levels.current().finestLevel(GSLogger.INFO);
+        java.util.logging.Logger.getLogger("").setLevel(toJul(finest));
+    }
+
+    /**
+     * Gets the `Logger` that writes the messages of a bridged logger.
+     *
+     * @param name the name of the bridged logger, or `null`
+     * @return the `Logger`, or `null` if the application has not yet opened
+     * the `LogPipeline`
+     */
+    static Logger loggerFor(String name) {
+        if (LogPipeline.peekShared() == null) {
+            return null;
+        }
+
+        String key = (name == null || name.isEmpty()) ? ROOT_NAME : name;
+        Logger logger = LOGGERS.get(key);
+        if (logger == null) {
+            logger = LOGGERS.computeIfAbsent(key, LogBridge::createLogger);
+        }
+
+        return logger;
+    }
+
+    private static Logger createLogger(String name) {
+        Logger logger = new Logger();
+        logger.setClassName(name);
+        // The bridges fill in the source of each message themselves.
+        logger.setCallerInference(false);
+        return logger;
+    }
+
+    /**
+     * Writes a bridged message, unless the current thread is already writing
+     * one.
+     *
+     * @param logger the `Logger` of the bridged logger
+     * @param level the `GSLogger` level of the message
+     * @param record the message
+     */
+    static void write(Logger logger, int level, LogRecord record) {
+        if (WRITING.get() != null) {
+            return;
+        }
+
+        WRITING.set(Boolean.TRUE);
+        try {
+            logger.bridge(level, record);
+        } finally {
+            WRITING.remove();
+        }
+    }
+
+    /**
+     * Maps a `java.util.logging` level to a `GSLogger` level.
+     *
+     * @param level the level
+     * @return the `GSLogger` level, or `GSLogger.OFF` for `Level.OFF`
+     */
+    static int fromJul(Level level) {
+        int value = level.intValue();
+        if (value == Level.OFF.intValue()) {
+            return GSLogger.OFF;
+        } else if (value >= Level.SEVERE.intValue()) {
+            return GSLogger.ERROR;
+        } else if (value >= Level.WARNING.intValue()) {
+            return GSLogger.WARN;
+        } else if (value >= Level.INFO.intValue()) {
+            return GSLogger.INFO;
+        } else if (value >= Level.CONFIG.intValue()) {
+            return GSLogger.CONFIG;
+        } else if (value >= Level.FINE.intValue()) {
+            return GSLogger.DEBUG;
+        }
+
+        return GSLogger.TRACE;
+    }
+
+    /**
+     * Maps a `GSLogger` level to the most verbose `java.util.logging` level
+     * that it enables.
+     *
+     * @param level the `GSLogger` level
+     * @return the `java.util.logging` level
+     */
+    static Level toJul(int level) {
+        switch (level) {
+            case GSLogger.TRACE:
+                return Level.FINEST;
+            case GSLogger.DEBUG:
+                return Level.FINE;
+            case GSLogger.CONFIG:
+                return Level.CONFIG;
+            case GSLogger.INFO:
+                return Level.INFO;
+            case GSLogger.WARN:
+                return Level.WARNING;
+            case GSLogger.ERROR:
+            case GSLogger.CRITICAL:
+                return Level.SEVERE;
+            default:
+                return Level.OFF;
+        }
+    }
+
+    /**
+     * Maps a `System.Logger` level to a `GSLogger` level.
+     *
+     * @param level the level
+     * @return the `GSLogger` level, or `GSLogger.OFF` for `Level.OFF`
+     */
+    static int fromSystem(System.Logger.Level level) {
+        switch (level) {
+            case ALL:
+            case TRACE:
+                return GSLogger.TRACE;
+            case DEBUG:
+                return GSLogger.DEBUG;
+            case INFO:
+                return GSLogger.INFO;
+            case WARNING:
+                return GSLogger.WARN;
+            case ERROR:
+                return GSLogger.ERROR;
+            default:
+                return GSLogger.OFF;
+        }
+    }
+
+}
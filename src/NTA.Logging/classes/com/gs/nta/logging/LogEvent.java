@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   LogEvent.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 9:12:40 AM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         The sequence number is stamped again
+ *                                     when the event is written.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import java.time.Instant;
+
+/**
+ * A `LogEvent` is an immutable snapshot of a single log message, taken at the
+ * moment the `Logger` accepted it.
+ * <p>
+ * Callers typically keep a single `GSLogRecord` and mutate it before every call
+ * to the `Logger`. Because of that, a record cannot be handed to another thread
+ * for writing. The `Logger` therefore copies the pieces of the record that it
+ * needs into a `LogEvent`, and only the `LogEvent` travels through the
+ * `LogAppender` pipeline.</p>
+ * <p>
+ * The `signature` is the part of the log line between the source method name
+ * and the thread ID, such as the parameter list of an `ENTERING` message. The
+ * `message` is the fully expanded message text, with any `String.format` tokens
+ * already substituted.</p>
+ * <p>
+ * The `LogPipeline` stamps every event with the next global sequence number at
+ * the moment that it is written, replacing the number it was constructed with,
+ * so that the log file is always in sequence order.</p>
+ *
+ * @see LogAppender
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LogEvent {
+
+    private final int level;
+    private final String label;
+    private final Instant instant;
+    private long sequenceNumber;
+    private final String sourceClassName;
+    private final String sourceMethodName;
+    private final long threadId;
+    private final String signature;
+    private final String message;
+
+    /**
+     * Constructs a new `LogEvent`.
+     *
+     * @param level the `GSLogger` level of the event
+     * @param label the level label written to the log, such as `DEBUG` or
+     * `ENTERING`
+     * @param instant the instant the event occurred
+     * @param sequenceNumber the sequence number of the event
+     * @param sourceClassName the name of the class that issued the event
+     * @param sourceMethodName the name of the method that issued the event
+     * @param threadId the ID of the thread that issued the event
+     * @param signature the text between the method name and the thread ID
+     * @param message the fully expanded message text
+     */
+    public LogEvent(int level, String label, Instant instant,
+            long sequenceNumber, String sourceClassName,
+            String sourceMethodName, long threadId, String signature,
+            String message) {
+        this.level = level;
+        this.label = label;
+        this.instant = instant;
+        this.sequenceNumber = sequenceNumber;
+        this.sourceClassName = sourceClassName;
+        this.sourceMethodName = sourceMethodName;
+        this.threadId = threadId;
+        this.signature = signature;
+        this.message = message;
+    }
+
+    /**
+     * Gets the `GSLogger` level of this event.
+     *
+     * @return the event level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the level label that is written to the log, such as `DEBUG`.
+     *
+     * @return the level label
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Gets the instant that the event occurred.
+     *
+     * @return the event instant
+     */
+    public Instant getInstant() {
+        return instant;
+    }
+
+    /**
+     * Gets the sequence number of this event.
+     *
+     * @return the sequence number
+     */
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    /**
+     * Replaces the sequence number of this event. Only the thread that
+     * created the event may stamp it, before the event is handed to another
+     * thread.
+     *
+     * @param sequenceNumber the new sequence number
+     */
+    void stampSequenceNumber(long sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    /**
+     * Gets the name of the class that issued this event.
+     *
+     * @return the source class name
+     */
+    public String getSourceClassName() {
+        return sourceClassName;
+    }
+
+    /**
+     * Gets the name of the method that issued this event.
+     *
+     * @return the source method name
+     */
+    public String getSourceMethodName() {
+        return sourceMethodName;
+    }
+
+    /**
+     * Gets the ID of the thread that issued this event.
+     *
+     * @return the thread ID
+     */
+    public long getThreadId() {
+        return threadId;
+    }
+
+    /**
+     * Gets the text written between the source method name and the thread ID.
+     *
+     * @return the signature text
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    /**
+     * Gets the fully expanded message text.
+     *
+     * @return the message text
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Renders this event in the standard, single-line log file layout:
+     * <pre>
+     * 2021-10-23T20:41:51Z [SEQ 12]: DEBUG: MyClass.doSomething(); Thread ID: 1; message
+     * </pre>
+     *
+     * @return the event as a line of log text, without a trailing newline
+     */
+    public String toText() {
+        StringBuilder sb = new StringBuilder(128 + ((message == null) ? 4
+                : message.length()));
+        sb.append(instant).append(" [SEQ ").append(sequenceNumber);
+        sb.append("]: ").append(label).append(": ");
+        sb.append(sourceClassName).append(".").append(sourceMethodName);
+        sb.append(signature).append(" Thread ID: ").append(threadId);
+        sb.append("; ").append(message);
+
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   LogIndex.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 7:31:05 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The `LogIndex` finds the entries of a text or JSON Lines log file that fall
+ * within a range of time or of sequence numbers, without reading the whole
+ * file.
+ * <p>
+ * While the log is written, the `IndexedFileAppender` keeps a sparse index in
+ * a side file, "${log}.idx". The log is cut into blocks of roughly the same
+ * size, and the index records where each block starts and ends in the log,
+ * and the lowest and highest instant and sequence number in the block. The
+ * events of different threads can reach the log slightly out of order, so
+ * each block's range is kept instead of only its first event. A query reads
+ * the index, and then only maps and scans the blocks whose ranges overlap the
+ * query:</p>
+ * ```java
+ * Instant end = Instant.now();
+ * List&lt;String&gt; entries = LogIndex.query(logFile, end.minusSeconds(300), end);
+ * ```
+ * <p>
+ * Entries written after the last indexed block, or to a log without an index,
+ * are found by scanning. Each entry is returned as it appears in the log,
+ * without its trailing newline. A formatted text entry includes its wrapped
+ * lines and the divider that follows it.</p>
+ * <p>
+ * The index file starts with the four byte magic number `NTAI` and a version
+ * byte. Each block is then described by six longs: the start and end offsets,
+ * the lowest and highest instant in nanoseconds since the epoch, and the
+ * lowest and highest sequence number.</p>
+ *
+ * @see IndexedFileAppender
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LogIndex {
+
+    /** The extension added to the name of a log file to name its index. */
+    public static final String EXTENSION = ".idx";
+
+    /** The magic number at the start of every index file. */
+    static final int MAGIC = 0x4E544149; // "NTAI"
+    /** The version of the index format. */
+    static final byte VERSION = 1;
+    /** The size of the index file header: magic and version. */
+    static final int HEADER_SIZE = 4 + 1;
+    /** The size of each block entry in the index file. */
+    static final int ENTRY_SIZE = 6 * 8;
+
+    private static final byte[] JSON_START = "{\"time\":\""
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_SEQ = "\",\"seq\":"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TEXT_SEQ = " [SEQ "
+            .getBytes(StandardCharsets.US_ASCII);
+    /** The longest instant text: a nine digit fraction and a signed year. */
+    private static final int MAX_INSTANT_LENGTH = 40;
+
+    private LogIndex() {
+        // Only static methods.
+    }
+
+    /**
+     * Gets the index file of the given log file.
+     *
+     * @param log the log file
+     * @return the index file, which may not exist
+     */
+    public static File indexFileFor(File log) {
+        return new File(log.getPath() + EXTENSION);
+    }
+
+    /**
+     * Finds the entries of the log that occurred from `from` to `to`,
+     * inclusive.
+     *
+     * @param log the text or JSON Lines log file
+     * @param from the earliest instant to return
+     * @param to the latest instant to return
+     * @return the matching entries, in the order they appear in the log
+     * @throws IOException if the log or its index cannot be read
+     * @throws IllegalArgumentException if `log`, `from`, or `to` is `null`
+     */
+    public static List<String> query(File log, Instant from, Instant to)
+            throws IOException {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("null instant");
+        }
+
+        return query(log, BinaryLogEncoder.toEpochNanos(from),
+                BinaryLogEncoder.toEpochNanos(to), false);
+    }
+
+    /**
+     * Finds the entries of the log with sequence numbers from `first` to
+     * `last`, inclusive.
+     *
+     * @param log the text or JSON Lines log file
+     * @param first the lowest sequence number to return
+     * @param last the highest sequence number to return
+     * @return the matching entries, in the order they appear in the log
+     * @throws IOException if the log or its index cannot be read
+     * @throws IllegalArgumentException if `log` is `null`
+     */
+    public static List<String> querySequence(File log, long first, long last)
+            throws IOException {
+        return query(log, first, last, true);
+    }
+
+    private static List<String> query(File log, long low, long high,
+            boolean bySequence) throws IOException {
+        if (log == null) {
+            throw new IllegalArgumentException("null log");
+        }
+
+        List<String> found = new ArrayList<>();
+        if (low > high) {
+            return found;
+        }
+
+        try (FileChannel channel = FileChannel.open(log.toPath(),
+                StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] ranges = findRanges(indexFileFor(log).toPath(), size, low,
+                    high, bySequence);
+            for (int i = 0; i < ranges.length; i += 2) {
+                long length = ranges[i + 1] - ranges[i];
+                if (length > Integer.MAX_VALUE) {
+                    throw new IOException(String.format("The unindexed part "
+                            + "of %s is too large to map", log));
+                }
+                if (length > 0) {
+                    scan(channel.map(FileChannel.MapMode.READ_ONLY, ranges[i],
+                            length), low, high, bySequence, found);
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Reads the index and returns the start and end offsets of the parts of
+     * the log that must be scanned: the overlapping blocks, merged where they
+     * touch, and everything after the last indexed block.
+     */
+    private static long[] findRanges(Path index, long size, long low,
+            long high, boolean bySequence) throws IOException {
+        List<long[]> ranges = new ArrayList<>();
+        long indexed = 0L;
+
+        if (Files.exists(index)) {
+            try (FileChannel channel = FileChannel.open(index,
+                    StandardOpenOption.READ)) {
+                long length = channel.size();
+                MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY,
+                        0, length);
+                if (length >= HEADER_SIZE && map.getInt() == MAGIC
+                        && map.get() == VERSION) {
+                    // A partial entry at the end was cut off by a crash.
+                    while (map.remaining() >= ENTRY_SIZE) {
+                        long start = map.getLong();
+                        long end = Math.min(map.getLong(), size);
+                        long minNanos = map.getLong();
+                        long maxNanos = map.getLong();
+                        long minSeq = map.getLong();
+                        long maxSeq = map.getLong();
+
+                        indexed = Math.max(indexed, end);
+                        long min = bySequence ? minSeq : minNanos;
+                        long max = bySequence ? maxSeq : maxNanos;
+                        if (start >= end || max < low || min > high) {
+                            continue;
+                        }
+
+                        long[] last = ranges.isEmpty() ? null
+                                : ranges.get(ranges.size() - 1);
+                        if (last != null && last[1] == start
+                                && end - last[0] <= Integer.MAX_VALUE) {
+                            last[1] = end;
+                        } else {
+                            ranges.add(new long[]{start, end});
+                        }
+                    }
+                }
+            }
+        }
+
+        if (indexed < size) {
+            ranges.add(new long[]{indexed, size});
+        }
+
+        long[] result = new long[ranges.size() * 2];
+        for (int i = 0; i < ranges.size(); i++) {
+            result[i * 2] = ranges.get(i)[0];
+            result[i * 2 + 1] = ranges.get(i)[1];
+        }
+
+        return result;
+    }
+
+    /**
+     * Splits the mapped part of the log into entries, and adds the entries in
+     * range to `found`. An entry starts on a line that begins with its
+     * instant and sequence number, and runs up to the start of the next
+     * entry. A last entry that does not end with a newline is still being
+     * written, and is skipped.
+     */
+    private static void scan(ByteBuffer map, long low, long high,
+            boolean bySequence, List<String> found) {
+        int limit = map.limit();
+        int entryStart = -1;
+        long entryKey = 0L;
+        int line = 0;
+
+        while (line < limit) {
+            long[] key = parseStart(map, line, limit);
+            if (key != null) {
+                if (entryStart >= 0) {
+                    addIfInRange(map, entryStart, line, entryKey, low, high,
+                            found);
+                }
+                entryStart = line;
+                entryKey = bySequence ? key[1] : key[0];
+            }
+
+            int next = line;
+            while (next < limit && map.get(next) != '\n') {
+                next++;
+            }
+            line = next + 1;
+        }
+
+        if (entryStart >= 0 && map.get(limit - 1) == '\n') {
+            addIfInRange(map, entryStart, limit, entryKey, low, high, found);
+        }
+    }
+
+    private static void addIfInRange(ByteBuffer map, int start, int end,
+            long key, long low, long high, List<String> found) {
+        if (key < low || key > high) {
+            return;
+        }
+
+        // Drops the trailing newline.
+        byte[] bytes = new byte[end - start - 1];
+        map.duplicate().position(start).get(bytes);
+        found.add(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses the instant and sequence number at the start of a text or JSON
+     * entry.
+     *
+     * @return the instant in nanoseconds since the epoch and the sequence
+     * number, or `null` if the line does not start an entry
+     */
+    private static long[] parseStart(ByteBuffer map, int line, int limit) {
+        int pos = line;
+        boolean json = startsWith(map, pos, limit, JSON_START);
+        if (json) {
+            pos += JSON_START.length;
+        }
+
+        if (pos + 5 > limit || !isDigit(map.get(pos))
+                || map.get(pos + 4) != '-') {
+            return null;
+        }
+
+        int end = pos;
+        byte stop = json ? (byte) '"' : (byte) ' ';
+        while (end < limit && map.get(end) != stop && map.get(end) != '\n'
+                && end - pos < MAX_INSTANT_LENGTH) {
+            end++;
+        }
+
+        byte[] separator = json ? JSON_SEQ : TEXT_SEQ;
+        if (!startsWith(map, end, limit, separator)) {
+            return null;
+        }
+
+        byte[] text = new byte[end - pos];
+        map.duplicate().position(pos).get(text);
+        long nanos;
+        try {
+            nanos = BinaryLogEncoder.toEpochNanos(Instant.parse(
+                    new String(text, StandardCharsets.US_ASCII)));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+
+        pos = end + separator.length;
+        boolean negative = pos < limit && map.get(pos) == '-';
+        if (negative) {
+            pos++;
+        }
+        if (pos >= limit || !isDigit(map.get(pos))) {
+            return null;
+        }
+
+        long sequence = 0L;
+        while (pos < limit && isDigit(map.get(pos))) {
+            sequence = sequence * 10 + (map.get(pos) - '0');
+            pos++;
+        }
+
+        return new long[]{nanos, negative ? -sequence : sequence};
+    }
+
+    private static boolean startsWith(ByteBuffer map, int pos, int limit,
+            byte[] prefix) {
+        if (pos + prefix.length > limit) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (map.get(pos + i) != prefix[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+}
@@ -0,0 +1,752 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   LogPipeline.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 5:12:48 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation. Moved the opening of
+ *                                     the log file and the building of the
+ *                                     appender pipeline out of the Logger
+ *                                     constructor, so that every Logger shares
+ *                                     them.
+ *  Oct 18, 2026  Sean Carrick         Added the json log format.
+ *  Oct 18, 2026  Sean Carrick         Text and JSON log files are now indexed
+ *                                     for the queries of the LogIndex.
+ *  Oct 18, 2026  Sean Carrick         Reads the default call site limits of
+ *                                     the Loggers.
+ *  Oct 18, 2026  Sean Carrick         Owns the FlightRecorder shared by the
+ *                                     Loggers.
+ *  Oct 18, 2026  Sean Carrick         Collects the LoggingMetrics and
+ *                                     registers them with JMX.
+ *  Oct 18, 2026  Sean Carrick         Stamps every message with the next
+ *                                     global sequence number as it is
+ *                                     written, so that the log file is in
+ *                                     sequence order.
+ *  Oct 18, 2026  Sean Carrick         Reads whether the Loggers infer the
+ *                                     callers of their messages.
+ *  Oct 18, 2026  Sean Carrick         Loads the per-package levels from
+ *                                     etc/logging.levels and watches the file
+ *                                     for changes.
+ *  Oct 18, 2026  Sean Carrick         Installs the bridge from
+ *                                     java.util.logging once it is open.
+ *  Oct 18, 2026  Sean Carrick         Owns the SpanRecorder, and writes its
+ *                                     report to the log when closed, before
+ *                                     its AsyncAppender is closed.
+ *  Oct 18, 2026  Sean Carrick         Optionally ships the messages to a
+ *                                     syslog collector.
+ *  Oct 18, 2026  Sean Carrick         Reads the level of the FlightRecorder.
+ *  Oct 18, 2026  Sean Carrick         The async capacity is per thread, 1024
+ *                                     by default.
+ *  Oct 18, 2026  Sean Carrick         Hands the syslog collector over
+ *                                     unresolved, so opening the pipeline does
+ *                                     no DNS lookup.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.api.GSLogger;
+import com.gs.api.LogRecordFactory;
+import com.gs.utils.TerminalErrorPrinter;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+import org.jdesktop.application.Application;
+import org.jdesktop.application.ResourceMap;
+
+/**
+ * The `LogPipeline` owns the single log file of the application and the chain
+ * of `LogAppender`s in front of it.
+ * <p>
+ * Every `Logger` writes through the same `LogPipeline`, so the log file is
+ * opened once, the `ResourceMap` and local storage are only consulted once,
+ * and the `Logger`s of different classes can no longer truncate or overwrite
+ * each other's output. The source class of each message is already part of
+ * every log line, so nothing is lost by sharing the file.</p>
+ * <p>
+ * The log file is named "${Application.name}.log", with the extension of the
+ * configured `Application.logging.format`, and lives in the application's
+ * `var/log` directory. The formats are `text`, `binary`, `mapped`, and `json`
+ * for one JSON object per line. The pipeline is closed by a shutdown hook,
+ * after every `Logger` has had the chance to write its last messages.</p>
+ *
+ * @see Logger
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class LogPipeline {
+
+    private static final long DEFAULT_LIMIT_SUMMARY = 60L; // seconds
+    private static final int DEFAULT_RECORDER_SIZE = 256;
+
+    private static volatile LogPipeline shared;
+
+    private final Application app;
+    private final String errLogPath;
+    private final long criticalWindowSeconds;
+    private final double limitRate;
+    private final int limitBurst;
+    private final int limitSample;
+    private final long limitSummarySeconds;
+    private final FlightRecorder recorder;
+    private final boolean inferCaller;
+    private final LevelConfig levels;
+    private final SpanRecorder spans;
+    private final boolean dumpSpans;
+    private final LoggingMetrics metrics = new LoggingMetrics();
+    private final File logFile;
+    private LogAppender log; // The file to which messages will be written.
+    private LogAppender appender; // The head of the appender pipeline.
+    private boolean synchronous; // The head is the log file itself.
+    private volatile boolean formattedOutput = false;
+
+    /**
+     * Gets the pipeline shared by every `Logger` in the application, opening
+     * the log file the first time it is called.
+     *
+     * @return the shared pipeline
+     */
+    static LogPipeline getShared() {
+        LogPipeline pipeline = shared;
+        if (pipeline == null) {
+            synchronized (LogPipeline.class) {
+                pipeline = shared;
+                if (pipeline == null) {
+                    pipeline = new LogPipeline(Application.getInstance());
+                    shared = pipeline;
+                    pipeline.installBridge();
+                }
+            }
+        }
+
+        return pipeline;
+    }
+
+    /**
+     * Gets the shared pipeline, without opening it.
+     *
+     * @return the shared pipeline, or `null` if no `Logger` has opened it yet
+     */
+    static LogPipeline peekShared() {
+        return shared;
+    }
+
+    private LogPipeline(Application app) {
+        this.app = app;
+
+        String format = "text";
+        String logExtension = ".log";
+        String logPath;
+        long window = -1L;
+        double rate = 0.0;
+        int burst = 0;
+        int sample = 1;
+        long summary = DEFAULT_LIMIT_SUMMARY;
+        int recorderSize = DEFAULT_RECORDER_SIZE;
+        int recorderLevel = GSLogger.TRACE;
+        boolean infer = false;
+        LevelConfig config = null;
+        boolean timeSpans = true;
+        boolean dump = true;
+
+        if (app != null) {
+            ResourceMap map = app.getContext().getResourceMap();
+            String value = map.getString("Application.logging.format");
+            if (value != null && !value.isBlank()) {
+                format = value.trim().toLowerCase(Locale.ROOT);
+            }
+            Long seconds = map.getLong("Application.logging.critical.window");
+            if (seconds != null) {
+                window = seconds;
+            }
+            Double limit = map.getDouble("Application.logging.limit.rate");
+            if (limit != null) {
+                rate = limit;
+            }
+            Integer count = map.getInteger("Application.logging.limit.burst");
+            if (count != null) {
+                burst = count;
+            }
+            count = map.getInteger("Application.logging.limit.sample");
+            if (count != null) {
+                sample = count;
+            }
+            seconds = map.getLong("Application.logging.limit.summary");
+            if (seconds != null && seconds > 0) {
+                summary = seconds;
+            }
+            count = map.getInteger("Application.logging.recorder.size");
+            if (count != null) {
+                recorderSize = count;
+            }
+            count = map.getInteger("Application.logging.recorder.level");
+            if (count != null && count >= GSLogger.TRACE
+                    && count <= GSLogger.CRITICAL) {
+                recorderLevel = count;
+            }
+            infer = Boolean.TRUE.equals(map.getBoolean(
+                    "Application.logging.inferCaller"));
+            timeSpans = !Boolean.FALSE.equals(map.getBoolean(
+                    "Application.logging.spans"));
+            dump = !Boolean.FALSE.equals(map.getBoolean(
+                    "Application.logging.spans.dump"));
+
+            if (format.equals("binary")) {
+                logExtension = ".binlog";
+            } else if (format.equals("json")) {
+                logExtension = JsonLinesAppender.EXTENSION;
+            } else if (format.equals("mapped")) {
+                logExtension = MappedLogAppender.EXTENSION;
+            }
+
+            String appHome = app.getContext().getLocalStorage().getDirectory()
+                    .getAbsolutePath();
+            if (!appHome.endsWith(File.separator)) {
+                appHome += File.separator;
+            }
+
+            logPath = appHome + "var" + File.separator + "log" + File.separator;
+            File dir = new File(logPath);
+            if (!dir.exists()) {
+                dir.mkdirs();
+            }
+
+            errLogPath = appHome + "var" + File.separator + "err"
+                    + File.separator;
+            dir = new File(errLogPath);
+            if (!dir.exists()) {
+                dir.mkdirs();
+            }
+
+            logFile = new File(logPath + map.getString("Application.name")
+                    + logExtension);
+
+            config = new LevelConfig(Paths.get(appHome, "etc",
+                    LevelConfig.FILE_NAME));
+            if (!Boolean.FALSE.equals(map.getBoolean(
+                    "Application.logging.levels.watch"))) {
+                config.watch();
+            }
+        } else {
+            logPath = System.getProperty("user.home") + File.separator;
+            errLogPath = logPath;
+            logFile = new File(logPath + ".log");
+        }
+        criticalWindowSeconds = window;
+        limitRate = rate;
+        // Without a configured burst, a call site may log one second's worth
+        //+ of messages at once.
+        limitBurst = (burst > 0) ? burst : (int) Math.max(1L,
+                (long) Math.ceil(rate));
+        limitSample = sample;
+        limitSummarySeconds = summary;
+        recorder = (recorderSize > 0) ? new FlightRecorder(recorderSize,
+                recorderLevel) : null;
+        inferCaller = infer;
+        levels = config;
+        spans = timeSpans ? new SpanRecorder() : null;
+        dumpSpans = dump;
+        metrics.setSpanRecorder(spans);
+
+        try {
+            if (app != null && format.equals("mapped")) {
+                Integer size = app.getContext().getResourceMap()
+                        .getInteger("Application.logging.mapped.segmentSize");
+                String name = logFile.getName();
+                log = new MappedLogAppender(Paths.get(logPath),
+                        name.substring(0, name.length() - logExtension.length()),
+                        (size == null) ? MappedLogAppender.DEFAULT_SEGMENT_SIZE
+                                : size);
+            } else if (format.equals("binary")) {
+                log = createRollingFile(logFile, BinaryLogAppender::new);
+            } else if (format.equals("json")) {
+                log = createRollingFile(logFile, file -> indexed(
+                        new JsonLinesAppender(file)));
+            } else {
+                log = createRollingFile(logFile, file -> indexed(
+                        openTextFile(file)));
+            }
+            LogAppender metered = new MeteredAppender(log, bytesWritten(log),
+                    metrics);
+            LogAppender shipped = createSyslog(metered);
+            appender = createPipeline(shipped);
+            synchronous = appender == shipped;
+            if (appender instanceof AsyncAppender) {
+                metrics.setAsyncAppender((AsyncAppender) appender);
+                // Closed by the shutdown hook of this pipeline, after the
+                //+ span report has been written.
+                ((AsyncAppender) appender).releaseShutdownHook();
+            }
+        } catch (IOException ex) {
+            String msg = String.format("Unable to create the log file, %s",
+                    logFile);
+            TerminalErrorPrinter.print(ex, msg);
+        }
+
+        if (app == null || !Boolean.FALSE.equals(app.getContext()
+                .getResourceMap().getBoolean("Application.logging.jmx"))) {
+            metrics.register();
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close,
+                "NTA Log Shutdown"));
+    }
+
+    /**
+     * Routes the messages of `java.util.logging` into this pipeline, unless
+     * the `Application.logging.bridge` resource is `false`. Called once the
+     * pipeline is shared, so that the `Logger`s of the bridge use it.
+     */
+    private void installBridge() {
+        if (app == null || !Boolean.FALSE.equals(app.getContext()
+                .getResourceMap().getBoolean("Application.logging.bridge"))) {
+            LogBridge.install(this);
+        }
+    }
+
+    /**
+     * Gets the `Application` from which messages are logged.
+     *
+     * @return the application, or `null` if none is running
+     */
+    Application getApplication() {
+        return app;
+    }
+
+    /**
+     * Gets the directory of the critical error logs.
+     *
+     * @return the `var/err` directory, ending in a separator
+     */
+    String getErrLogPath() {
+        return errLogPath;
+    }
+
+    /**
+     * Gets the log file. For the mapped format, this is the base name of the
+     * segments.
+     *
+     * @return the log file
+     */
+    File getLogFile() {
+        return logFile;
+    }
+
+    /**
+     * Gets the configured `Application.logging.critical.window`.
+     *
+     * @return the window in seconds, or a negative number if not configured
+     */
+    long getCriticalWindowSeconds() {
+        return criticalWindowSeconds;
+    }
+
+    /**
+     * Gets the configured `Application.logging.limit.rate`, the default rate
+     * limit of every call site.
+     *
+     * @return the messages per second, or zero for no limit
+     */
+    double getLimitRate() {
+        return limitRate;
+    }
+
+    /**
+     * Gets the configured `Application.logging.limit.burst`.
+     *
+     * @return the default burst of a rate limited call site
+     */
+    int getLimitBurst() {
+        return limitBurst;
+    }
+
+    /**
+     * Gets the configured `Application.logging.limit.sample`, the default
+     * sampling of every call site.
+     *
+     * @return log one in this many messages, or one for every message
+     */
+    int getLimitSample() {
+        return limitSample;
+    }
+
+    /**
+     * Gets the configured `Application.logging.limit.summary`.
+     *
+     * @return the least number of seconds between two summaries of the
+     * messages suppressed at a call site
+     */
+    long getLimitSummarySeconds() {
+        return limitSummarySeconds;
+    }
+
+    /**
+     * Gets the `FlightRecorder` that keeps the most recent messages of every
+     * `Logger`, sized by the `Application.logging.recorder.size` resource and
+     * limited to the `Application.logging.recorder.level` and above.
+     *
+     * @return the recorder, or `null` if the size is zero
+     */
+    FlightRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Gets the configured `Application.logging.inferCaller`, whether new
+     * `Logger`s find the source class and method of their messages on the
+     * stack, instead of taking them from the `LogRecord`.
+     *
+     * @return `true` if the callers are inferred
+     */
+    boolean isInferCaller() {
+        return inferCaller;
+    }
+
+    /**
+     * Gets the per-package levels from the `etc/logging.levels` file of the
+     * application, which override the levels set on the `Logger`s.
+     *
+     * @return the levels, or `null` if no application is running
+     */
+    LevelConfig getLevels() {
+        return levels;
+    }
+
+    /**
+     * Gets the `SpanRecorder` that times the spans between the `enter` and
+     * `exit` messages of every `Logger`. Spans are timed unless the
+     * `Application.logging.spans` resource is `false`.
+     *
+     * @return the recorder, or `null` if spans are not timed
+     */
+    SpanRecorder getSpans() {
+        return spans;
+    }
+
+    /**
+     * Writes the report of the `SpanRecorder` to the log, as an `INFO`
+     * message.
+     *
+     * @return the report, or `null` if spans are not timed
+     */
+    String dumpSpans() {
+        if (spans == null) {
+            return null;
+        }
+
+        String report = spans.report();
+        write(new LogEvent(GSLogger.INFO, "SPANS", Instant.now(),
+                LogRecordFactory.nextSequenceNumber(),
+                SpanRecorder.class.getName(), "report",
+                Thread.currentThread().getId(), "();", report));
+        return report;
+    }
+
+    /**
+     * Gets the metrics of the pipeline, which are registered with JMX as
+     * `com.gs.nta.logging:type=LoggingMetrics`.
+     *
+     * @return the logging metrics
+     */
+    LoggingMetrics getMetrics() {
+        return metrics;
+    }
+
+    boolean isFormattedOutput() {
+        return formattedOutput;
+    }
+
+    void setFormattedOutput(boolean formattedOutput) {
+        this.formattedOutput = formattedOutput;
+        LogAppender file = (log instanceof RollingFileAppender)
+                ? ((RollingFileAppender) log).getAppender() : log;
+        if (file instanceof IndexedFileAppender) {
+            file = ((IndexedFileAppender) file).getAppender();
+        }
+        if (file instanceof TextFileAppender) {
+            // The binary and JSON log formats are never formatted.
+            ((TextFileAppender) file).setFormattedOutput(formattedOutput);
+        }
+    }
+
+    /**
+     * Hands the message to the appender pipeline, which stamps it with the
+     * next global sequence number. When the pipeline is synchronous, the
+     * message is stamped, written, and flushed while holding the lock of the
+     * log file. When the pipeline is asynchronous, the `AsyncAppender` stamps
+     * the message without a lock, and its writer thread writes the messages
+     * in sequence order and flushes the log file once per batch.
+     *
+     * @param event the message to write
+     */
+    void write(LogEvent event) {
+        if (appender == null) {
+            return;
+        }
+
+        metrics.countEvent(event.getLevel());
+        if (synchronous) {
+            synchronized (appender) {
+                event.stampSequenceNumber(
+                        LogRecordFactory.nextSequenceNumber());
+                appender.append(event);
+                appender.flush();
+            }
+        } else {
+            appender.append(event);
+        }
+    }
+
+    void flush() {
+        if (appender != null) {
+            appender.flush();
+        }
+    }
+
+    void close() {
+        LogBridge.uninstall();
+        if (dumpSpans && spans != null && !spans.isEmpty()) {
+            // Every span timed while the application ran, written before the
+            //+ log file is closed.
+            dumpSpans();
+        }
+        if (levels != null) {
+            levels.close();
+        }
+        if (appender != null) {
+            // Closing the pipeline writes out any messages that are still
+            //+ waiting in an AsyncAppender queue before the file is closed.
+            appender.close();
+        }
+    }
+
+    /**
+     * Opens the appender for the log file, wrapped in a `RollingFileAppender`
+     * unless rolling has been turned off. The rolling is configured by the
+     * following resources:
+     *
+     * | Resource | Default | Use |
+     * | :------- | :-----: | :-- |
+     * | `Application.logging.rotate.maxBytes` | 0 | The size at which the log file rolls, or 0 to never roll by size |
+     * | `Application.logging.rotate.minutes` | 0 | The age at which the log file rolls, or 0 to never roll by age |
+     * | `Application.logging.rotate.backups` | 5 | The number of backups to keep |
+     * | `Application.logging.rotate.compress` | `true` | Whether backups are compressed with gzip |
+     *
+     * @param file the log file
+     * @param opener opens the appender for the log file
+     * @return the appender for the log file
+     * @throws IOException if the log file cannot be opened
+     */
+    private FileAppender createRollingFile(File file,
+            RollingFileAppender.Opener opener) throws IOException {
+        if (app == null) {
+            return opener.open(file);
+        }
+
+        ResourceMap map = app.getContext().getResourceMap();
+        Long maxBytes = map.getLong("Application.logging.rotate.maxBytes");
+        Integer minutes = map.getInteger("Application.logging.rotate.minutes");
+        Integer backups = map.getInteger("Application.logging.rotate.backups");
+        Boolean compress = map.getBoolean("Application.logging.rotate.compress");
+
+        long size = (maxBytes == null) ? 0L : Math.max(0L, maxBytes);
+        long age = (minutes == null) ? 0L : Math.max(0, minutes);
+        if (size == 0L && age == 0L) {
+            return opener.open(file);
+        }
+
+        return new RollingFileAppender(file, opener, size,
+                Duration.ofMinutes(age),
+                (backups == null) ? 5 : Math.max(0, backups),
+                !Boolean.FALSE.equals(compress));
+    }
+
+    /**
+     * Wraps the appender for a text or JSON log file in an
+     * `IndexedFileAppender`, unless the `Application.logging.index.interval`
+     * resource is zero. The resource sets the size of the indexed blocks, and
+     * defaults to `IndexedFileAppender.DEFAULT_INTERVAL`.
+     *
+     * @param file the appender for the log file
+     * @return the appender to write through
+     * @throws IOException if the index file cannot be opened
+     */
+    private FileAppender indexed(FileAppender file) throws IOException {
+        Long interval = (app == null) ? null : app.getContext()
+                .getResourceMap().getLong("Application.logging.index.interval");
+        if (interval == null) {
+            interval = IndexedFileAppender.DEFAULT_INTERVAL;
+        }
+
+        return (interval > 0) ? new IndexedFileAppender(file, interval) : file;
+    }
+
+    /**
+     * Gets the running total of the bytes written by the appender of the log
+     * file. A rolling file starts over at zero after every roll, so its own
+     * total across every file is used instead.
+     *
+     * @param file the appender of the log file
+     * @return supplies the number of bytes written
+     */
+    private static LongSupplier bytesWritten(LogAppender file) {
+        if (file instanceof RollingFileAppender) {
+            return ((RollingFileAppender) file)::getBytesWritten;
+        } else if (file instanceof FileAppender) {
+            return ((FileAppender) file)::getLength;
+        } else if (file instanceof MappedLogAppender) {
+            return ((MappedLogAppender) file)::getBytesWritten;
+        }
+
+        return () -> 0L;
+    }
+
+    private FileAppender openTextFile(File file) throws IOException {
+        TextFileAppender text = new TextFileAppender(file);
+        text.setFormattedOutput(formattedOutput);
+        return text;
+    }
+
+    /**
+     * Puts a `SyslogAppender` in front of the log file, when the
+     * `Application.logging.syslog` resource names a collector, such as
+     * `udp://loghost:514` or `tcp://loghost`. The sink is configured by the
+     * following resources:
+     *
+     * | Resource | Default | Use |
+     * | :------- | :-----: | :-- |
+     * | `Application.logging.syslog` | | The transport, host, and port of the collector; the port defaults to 514 |
+     * | `Application.logging.syslog.facility` | 1 | The syslog facility, from 0 to 23, such as 16 for `local0` |
+     * | `Application.logging.syslog.level` | 3 | The lowest level of the messages that are shipped |
+     * | `Application.logging.syslog.maxLength` | 2048 | The longest message sent, in bytes |
+     *
+     * @param file the appender of the log file
+     * @return the appender to write through
+     */
+    private LogAppender createSyslog(LogAppender file) {
+        if (app == null) {
+            return file;
+        }
+
+        ResourceMap map = app.getContext().getResourceMap();
+        String target = map.getString("Application.logging.syslog");
+        if (target == null || target.isBlank()) {
+            return file;
+        }
+
+        try {
+            URI uri = new URI(target.trim());
+            String scheme = (uri.getScheme() == null) ? "udp"
+                    : uri.getScheme().toUpperCase(Locale.ROOT);
+            if (uri.getHost() == null) {
+                throw new URISyntaxException(target, "No collector host");
+            }
+            Integer facility = map.getInteger(
+                    "Application.logging.syslog.facility");
+            Integer level = map.getInteger("Application.logging.syslog.level");
+            Integer maxLength = map.getInteger(
+                    "Application.logging.syslog.maxLength");
+
+            SyslogAppender syslog = new SyslogAppender(file,
+                    SyslogAppender.Transport.valueOf(scheme),
+                    InetSocketAddress.createUnresolved(uri.getHost(),
+                            (uri.getPort() < 0) ? SyslogAppender.DEFAULT_PORT
+                                    : uri.getPort()),
+                    map.getString("Application.id"),
+                    (facility == null) ? SyslogAppender.FACILITY_USER
+                            : facility,
+                    (level == null) ? GSLogger.INFO : level,
+                    (maxLength == null) ? SyslogAppender.DEFAULT_MAX_LENGTH
+                            : maxLength);
+            metrics.setSyslogAppender(syslog);
+            return syslog;
+        } catch (URISyntaxException | IllegalArgumentException ex) {
+            TerminalErrorPrinter.print(ex, String.format("Unable to ship the "
+                    + "log to the syslog collector \"%s\"", target));
+            return file;
+        }
+    }
+
+    /**
+     * Builds the appender pipeline in front of the log file.
+     * <p>
+     * When the `Application.logging.async` resource is `true`, messages are
+     * handed to an `AsyncAppender` so that the log file is written and flushed
+     * on a background thread instead of the calling thread. The queue is tuned
+     * by the following resources:</p>
+     *
+     * | Resource | Default | Use |
+     * | :------- | :-----: | :-- |
+     * | `Application.logging.async.capacity` | 1024 | The maximum number of queued messages of each logging thread |
+     * | `Application.logging.async.batch` | 256 | The maximum number of messages written per flush |
+     * | `Application.logging.async.policy` | `BLOCK` | One of `BLOCK`, `DROP_OLDEST`, or `DROP_BELOW_LEVEL` |
+     * | `Application.logging.async.threshold` | `Logger.WARN` | The lowest level never dropped by `DROP_BELOW_LEVEL` |
+     *
+     * @param file the appender for the log file
+     * @return the head of the appender pipeline
+     */
+    private LogAppender createPipeline(LogAppender file) {
+        if (app == null) {
+            return file;
+        }
+
+        ResourceMap map = app.getContext().getResourceMap();
+        if (!Boolean.TRUE.equals(map.getBoolean("Application.logging.async"))) {
+            return file;
+        }
+
+        Integer capacity = map.getInteger("Application.logging.async.capacity");
+        Integer batch = map.getInteger("Application.logging.async.batch");
+        Integer threshold = map.getInteger("Application.logging.async.threshold");
+        String policy = map.getString("Application.logging.async.policy");
+
+        AsyncAppender.OverflowPolicy overflow = AsyncAppender.OverflowPolicy.BLOCK;
+        if (policy != null && !policy.isBlank()) {
+            try {
+                overflow = AsyncAppender.OverflowPolicy.valueOf(
+                        policy.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                TerminalErrorPrinter.print(ex, String.format("Unknown logging "
+                        + "overflow policy \"%s\". Using BLOCK.", policy));
+            }
+        }
+
+        return new AsyncAppender(file,
+                (capacity == null) ? AsyncAppender.DEFAULT_CAPACITY : capacity,
+                (batch == null) ? AsyncAppender.DEFAULT_BATCH_SIZE : batch,
+                overflow, (threshold == null) ? GSLogger.WARN : threshold);
+    }
+
+}
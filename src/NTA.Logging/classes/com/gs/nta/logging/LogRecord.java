@@ -34,6 +34,7 @@
  *                                     chances of cyclic dependencies, so that
  *                                     com.gs.nta.utils can be refactored back
  *                                     to its own module.
+ *  Oct 18, 2026  Sean Carrick         Implemented GSLogRecord.reset.
  * *****************************************************************************
  */
 package com.gs.nta.logging;
@@ -414,4 +415,23 @@ public class LogRecord implements GSLogRecord {
         this.sourceClassName = sourceClassName;
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void reset() {
+        instant = null;
+        level = 0;
+        loggerName = null;
+        message = null;
+        parameters = null;
+        resourceBundle = null;
+        resourceBundleName = null;
+        sequenceNumber = 0L;
+        sourceClassName = null;
+        sourceMethodName = null;
+        thread = null;
+        thrown = null;
+    }
+
 }
@@ -28,6 +28,9 @@
  *  WHEN          BY                   REASON
  *  ------------  -------------------  -----------------------------------------
  *  Jul 31, 2021  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Deprecated in favor of the
+ *                                     RollingFileAppender. getFiles no longer
+ *                                     returns null when no log files match.
  * *****************************************************************************
  */
 package com.gs.nta.logging;
@@ -45,12 +48,20 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
+ * <p>
+ * <strong><em>Deprecated</em></strong>: The `Logger` now rolls its own log
+ * files by size and age through the `RollingFileAppender`, which compresses
+ * the backups and tracks them without listing the log directory. This class
+ * is kept only for source compatibility.</p>
+ *
+ * @see RollingFileAppender
  *
  * @author Kevin Nathan &lt;knathan at linux54 dot com&gt;
  *
  * @version 0.1.0
  * @since 0.1.0
  */
+@Deprecated
 public class LogRotate {
 
     private final String appId;
@@ -165,7 +176,7 @@ public class LogRotate {
         if (hadDeletions) {
             String baseFileName;
             String newFileName;
-            for (int i = maxBackups - 1; i > -1; i--) {
+            for (int i = Math.min(maxBackups, files.size()) - 1; i > -1; i--) {
                 tmpFilename = files.get(i).getName();
                 extensionPosition = tmpFilename.lastIndexOf('.');
                 extensionString = tmpFilename.substring(extensionPosition + 1);
@@ -188,19 +199,19 @@ public class LogRotate {
         File topDir = new File(logDir);
         Pattern MY_PATTERN = Pattern.compile(logBaseName + ".*log.*");
         ArrayList<File> matchFiles = new ArrayList<>();
-        ArrayList<File> files = new ArrayList<>(Arrays.asList(topDir.listFiles()));
+        File[] listed = topDir.listFiles();
+        if (listed == null) {
+            return matchFiles;
+        }
+        ArrayList<File> files = new ArrayList<>(Arrays.asList(listed));
         files.forEach(file -> {
             Matcher m = MY_PATTERN.matcher(file.getName());
             if (m.find()) {
                 matchFiles.add(file);
             }
         });
-        if (matchFiles.size() > 0) {
-            Collections.sort(matchFiles);
-            return matchFiles;
-        } else {
-            return null;
-        }
+        Collections.sort(matchFiles);
+        return matchFiles;
     }
 
     private String bumpExtension(String oldExtension) {
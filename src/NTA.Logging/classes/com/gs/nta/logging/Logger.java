@@ -102,19 +102,100 @@
  *                                     ******************************************
  *                                     * Still need to get app modules printing *
  *                                     ******************************************
+ *  Oct 18, 2026  Sean Carrick         Moved the writing of the log file out of
+ *                                     writeMessage and into the new LogAppender
+ *                                     pipeline. Each message is now captured as
+ *                                     a LogEvent, so that the caller may reuse
+ *                                     its record right away. Added the optional
+ *                                     AsyncAppender, which writes the log file
+ *                                     on a background thread and flushes it
+ *                                     once per batch, instead of once per
+ *                                     message on the calling thread.
+ *                                     Each messaging method now checks the
+ *                                     level before building its message, and
+ *                                     the new isEnabled method and the Supplier
+ *                                     and format string overloads allow callers
+ *                                     to skip building messages altogether.
+ *                                     Messages without a sequence number are
+ *                                     assigned one from the LogRecordFactory.
+ *                                     Added the optional binary log format,
+ *                                     which is selected by the
+ *                                     Application.logging.format resource and
+ *                                     written by the BinaryLogAppender.
+ *                                     Added the memory-mapped log format,
+ *                                     which is written by the
+ *                                     MappedLogAppender.
+ *                                     Text and binary log files are now rolled
+ *                                     by the RollingFileAppender, by size and
+ *                                     by age, and a log file left by an earlier
+ *                                     run is kept as a backup instead of being
+ *                                     replaced by updateLogName.
+ *                                     The environment section of the critical
+ *                                     error log is now built only once, and a
+ *                                     critical error that repeats within the
+ *                                     Application.logging.critical.window is
+ *                                     counted instead of written to a new
+ *                                     error log.
+ *                                     The log file and the appender pipeline
+ *                                     moved into the LogPipeline, which is
+ *                                     shared by every Logger, so that all of
+ *                                     the Loggers write to one file through one
+ *                                     file handle. Loggers are now obtained
+ *                                     from the LoggerFactory, and
+ *                                     updateLogName no longer has anything to
+ *                                     rename.
+ *                                     Added per-call-site sampling and rate
+ *                                     limits, with periodic summaries of the
+ *                                     suppressed messages.
+ *                                     Every message, at every level, is now
+ *                                     kept raw in the FlightRecorder, whose
+ *                                     contents are added to the error log of
+ *                                     a critical error.
+ *                                     Suppressed messages are counted in the
+ *                                     LoggingMetrics.
+ *  Oct 18, 2026  Sean Carrick         The level is volatile, and the record
+ *                                     of a message is stamped with the
+ *                                     sequence number under which it was
+ *                                     written.
+ *  Oct 18, 2026  Sean Carrick         Optionally infers the source class and
+ *                                     method of a message from the stack,
+ *                                     with the CallerLocator.
+ *  Oct 18, 2026  Sean Carrick         A level for the package or class in the
+ *                                     etc/logging.levels file overrides the
+ *                                     level set on the Logger, and is picked
+ *                                     up live when the file changes.
+ *  Oct 18, 2026  Sean Carrick         Writes the messages bridged from
+ *                                     java.util.logging and System.Logger.
+ *  Oct 18, 2026  Sean Carrick         enter and exit time the spans of methods
+ *                                     with the SpanRecorder, at every level.
+ *  Oct 18, 2026  Sean Carrick         Only messages at or above the level of
+ *                                     the FlightRecorder are handed to it, and
+ *                                     disabled calls below that level build
+ *                                     nothing for it.
+ *  Oct 18, 2026  Sean Carrick         The lazy messaging methods, and enter and
+ *                                     exit with a Supplier, no longer write
+ *                                     the message, parameters or instant into
+ *                                     the caller's LogRecord.
+ *  Oct 18, 2026  Sean Carrick         critical accepts a record without an
+ *                                     exception, and writes its error log when
+ *                                     no application is running.
  * *****************************************************************************
  */
 package com.gs.nta.logging;
 
 import com.gs.api.GSLogRecord;
 import com.gs.api.GSLogger;
-import com.gs.utils.MessageBox;
+import com.gs.api.LogRecordFactory;
 import com.gs.utils.StringUtils;
 import com.gs.utils.TerminalErrorPrinter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import org.jdesktop.application.Application;
 import org.jdesktop.application.ResourceMap;
 
@@ -171,44 +252,23 @@ import org.jdesktop.application.ResourceMap;
  * as for getting them fixed.
  * 
  * The manner by which the logger is constructed is by use of the default 
- * constructor, which is never called directly. `Logger` is only constructed by
- * use of the `ServiceLoader` mechanism, such as:
+ * constructor, which is never called directly. `Logger`s are obtained from the
+ * `LoggerFactory`, which finds this class through the `ServiceLoader`
+ * mechanism once, and then hands out one cached `Logger` per name:
  * 
  * ```java
  * public class MyClass {
  * 
- *     private Logger logger;
- *     private LogRecord record;
- * 
- *     public MyClass() {
- *         ServiceLoader<GSLogger> logLoader = ServiceLoader.load(GSLogger.class);
- *         logger = logLoader.iterator().next();
- *         logger.setClassName(getClass().getCanonicalName();
- *         logger.updateLogName(); // discussed below
- *         // The rest of the initialization.
- *     }
+ *     private final GSLogger logger = LoggerFactory.getLogger(MyClass.class);
  * 
  * }
  * ```
  * 
- * When a `Logger` instance is obtained via the `ServiceLoader`, the created file
- * name will be "${Application.name} - null.log". This is because the class name
- * cannot be set via the default constructor used by `ServiceLoader`. Therefore,
- * it is imperative that the first two lines of code ***after*** loading the
- * `Logger` instance from the `ServiceLoader` be:
- * 
- * ```java
- * logger.setClassName(getClass().getCanonicalName());
- * logger.updateLogName();
- * ```
- * 
- * The `getCanonicalName()` method is just an example&hellip;one could just as
- * well use `getSimpleName()`. However, the `logger.updateLogName()` is very
- * important because it will change the log file name from 
- * "${Application.name} - null.log" to "${Application.name} - ${ClassName}.log".
- * As long as this rule is followed, each class in the application will have a
- * unique log file name that identifies to what application it belongs, and the
- * class that created the log file.
+ * Every `Logger` in the application writes to the same log file,
+ * "${Application.name}.log", through the same appender pipeline. The file is
+ * opened only once, and the `Logger`s of different classes never overwrite
+ * each other's output. The class that wrote each message is part of every log
+ * line.
  *
  * @see LogRecord
  *
@@ -220,60 +280,49 @@ import org.jdesktop.application.ResourceMap;
 public class Logger implements GSLogger {
 
     private static final String DIVIDER = "-".repeat(65);
-
-    private final String tempLogPath;
-    private Application app;   // The Application from which we are logging.
-    private FileWriter log; // The file to which messages will be written.
-    private String logPath;
-    private String errLogPath;
-    private FileWriter err; // The file to which error message will be written.
-    private int level;      // Level at which to log messages.
-    private boolean formattedOutput = false;
+    // The number of stack frames, from the top, that identify a critical error.
+    private static final int FINGERPRINT_FRAMES = 5;
+    private static final int MAX_CRITICAL_FINGERPRINTS = 256;
+    private static final long DEFAULT_CRITICAL_WINDOW = 60L; // seconds
+
+    private static volatile String environment; // Built by the first critical.
+
+    private final LogPipeline pipeline; // Shared by every Logger.
+    private final FlightRecorder recorder; // Shared, or null when disabled.
+    private final int recordLevel; // Lowest level handed to the recorder.
+    private final Application app;   // The Application from which we are logging.
+    private final Map<String, CriticalReport> criticals = new ConcurrentHashMap<>();
+    private final long criticalWindowMillis;
+    private final Map<String, CallSiteLimiter> sites = new ConcurrentHashMap<>();
+    private final long summaryNanos;
+    private volatile CallSiteLimiter defaults; // null when nothing is limited.
+    private volatile boolean limited = false;
+    private volatile boolean inferCaller;
+    private volatile int level;     // Level at which to log messages.
+    private final LevelConfig levels; // null when no application is running.
+    private final SpanRecorder spans; // Shared, or null when disabled.
+    private volatile Threshold threshold; // The level in effect.
     private String className = null;
-    
+
     public Logger() {
-        app = Application.getInstance();
+        pipeline = LogPipeline.getShared();
+        app = pipeline.getApplication();
+        recorder = pipeline.getRecorder();
+        recordLevel = (recorder == null) ? Integer.MAX_VALUE
+                : recorder.getLevel();
+        inferCaller = pipeline.isInferCaller();
+        levels = pipeline.getLevels();
+        spans = pipeline.getSpans();
         this.level = INFO;
-        tempLogPath = System.getProperty("user.home") + File.separator
-                + ".log";
 
-        File logFile;
+        long window = pipeline.getCriticalWindowSeconds();
+        criticalWindowMillis = ((window < 0) ? DEFAULT_CRITICAL_WINDOW : window)
+                * 1000L;
 
-        if (app != null) {
-            String logFileName = app.getContext().getResourceMap(app.getClass())
-                    .getString("Application.name") + " - " + className + ".log";
-            String appHome = app.getContext().getLocalStorage().getDirectory().getAbsolutePath();
-            if (!appHome.endsWith(File.separator)) {
-                appHome += File.separator;
-            }
-
-            logPath = appHome + "var" + File.separator + "log" + File.separator;
-            File dir = new File(logPath);
-            if (!dir.exists()) {
-                dir.mkdirs();
-            }
-
-            errLogPath = appHome + "var" + File.separator + "err" + File.separator;
-            dir = new File(errLogPath);
-            if (!dir.exists()) {
-                dir.mkdirs();
-            }
-            // Set up objects that are no longer necessary for garbage collection.
-            dir = null;
-            appHome = null;
-
-            logFile = new File(logPath + logFileName);
-        } else {
-            logFile = new File(tempLogPath);
-        }
-
-        try {
-            log = new FileWriter(logFile);
-        } catch (IOException ex) {
-            String msg = String.format("Unable to create the log file, %s",
-                    logFile);
-            TerminalErrorPrinter.print(ex, msg);
-        }
+        summaryNanos = pipeline.getLimitSummarySeconds() * 1_000_000_000L;
+        setDefaults(new CallSiteLimiter(pipeline.getLimitRate(),
+                pipeline.getLimitBurst(), pipeline.getLimitSample(),
+                summaryNanos, true));
     }
 
     /**
@@ -295,24 +344,8 @@ public class Logger implements GSLogger {
         if (record == null) {
             throw new IllegalArgumentException("null LogRecord [record]");
         }
-
-        StringBuilder msg = new StringBuilder();
-        msg.append((record.getInstant() == null) ? Instant.now().toString()
-                : record.getInstant().toString()).append("[SEQ ");
-        msg.append(record.getSequenceNumber()).append("]: CONFIG: ");
-        msg.append(record.getSourceClassName()).append(".");
-        msg.append(record.getSourceMethodName()).append("(); ");
-        msg.append("Thread ID: ").append(record.getThread().getId()).append("; ");
-
-        if (record.getParameters() != null) {
-            msg.append(String.format(record.getMessage(), record.getParameters()));
-        } else {
-            msg.append(record.getMessage());
-        }
-
-        if (level != OFF && level >= CONFIG || level <= DEBUG) {
-            writeMessage(msg.toString());
-        }
+        log(CONFIG, "CONFIG", record, record.getInstant(), record.getMessage(),
+                record.getParameters());
     }
 
     /**
@@ -320,19 +353,18 @@ public class Logger implements GSLogger {
      * called just prior to the `Application` exiting, possibly during the
      * `shutdown` method. This method only has an effect if logging is not at
      * level `Logger.OFF`.
+     * <p>
+     * Because the log file is shared by every `Logger` in the application,
+     * this method only writes out the messages of this `Logger`. The log file
+     * itself is closed when the application exits.</p>
      */
     @Override
     public void close() {
-        if (level != OFF) {
-            try {
-                log.flush();
-                log.close();
-            } catch (IOException e) {
-                String msg = String.format("Unable to close the log file %s",
-                        log);
-                TerminalErrorPrinter.print(e, msg);
-            }
+        reportRepeatedCriticals();
+        for (Map.Entry<String, CallSiteLimiter> site : sites.entrySet()) {
+            summarize(site.getKey(), site.getValue());
         }
+        pipeline.flush();
     }
 
     /**
@@ -383,37 +415,195 @@ public class Logger implements GSLogger {
      * <strong><em>Note</em></strong>: The `critical` method will always be
      * executed, regardless of logging level, except for the level
      * `Logger.OFF`.</p>
+     * <p>
+     * To keep a failure loop from filling the disk, a critical error with the
+     * same exception type and the same top stack frames, or with no exception
+     * and the same source class and method, as one that was reported within
+     * the last `Application.logging.critical.window` seconds (sixty by
+     * default) only increments a counter. The count is written in the next
+     * error log for that error, or to the log file when the `Logger` is
+     * closed.</p>
+     * <p>
+     * A record without an exception is reported without the exception
+     * section, and when no application is running, the error log says so in
+     * place of the application information.</p>
      *
      * @param record the `LogRecord` of the message and message details.
      */
     @Override
     public void critical(GSLogRecord record) {
-        ResourceMap map = app.getContext().getResourceMap();
+        if (record == null) {
+            throw new IllegalArgumentException("null LogRecord [record]");
+        }
+        if (!isEnabled(CRITICAL)) {
+            return;
+        }
+        remember(CRITICAL, "CRITICAL", record, record.getMessage(),
+                record.getParameters());
+
+        Instant instant = (record.getInstant() == null) ? Instant.now()
+                : record.getInstant();
+        CallerLocator.Location caller = locateCaller();
+        String sourceClass = (caller == null) ? record.getSourceClassName()
+                : caller.getClassName();
+        String sourceMethod = (caller == null) ? record.getSourceMethodName()
+                : caller.getMethodName();
+        String errFile = pipeline.getErrLogPath() + instant.toString() + " - "
+                + sourceClass + "." + sourceMethod + ".err.log";
+
+        // Decide, atomically for this fingerprint, whether this is a repeat of
+        //+ an error that was already reported within the window.
+        long now = System.currentTimeMillis();
+        CriticalReport[] previous = new CriticalReport[1];
+        boolean[] repeat = new boolean[1];
+        Throwable thrown = record.getThrown();
+        String key = (thrown == null) ? sourceClass + "." + sourceMethod
+                : fingerprint(thrown);
+        criticals.compute(key, (k, seen) -> {
+            if (seen != null && now - seen.reportedAt < criticalWindowMillis) {
+                seen.repeats++;
+                seen.lastSeen = instant;
+                repeat[0] = true;
+                return seen;
+            }
+            previous[0] = seen;
+            return new CriticalReport(now, instant, errFile, sourceClass,
+                    sourceMethod);
+        });
+        if (repeat[0]) {
+            return;
+        }
+        if (criticals.size() > MAX_CRITICAL_FINGERPRINTS) {
+            criticals.values().removeIf(r -> now - r.reportedAt
+                    >= criticalWindowMillis && r.repeats == 0);
+        }
+
         StringBuilder msg = new StringBuilder();
-        msg.append(record.getThrown().getClass().toString()).append(" thrown at ");
-        msg.append(record.getInstant().toString()).append("\n");
-        msg.append("Location: ").append(record.getSourceClassName()).append(".");
-        msg.append(record.getSourceMethodName()).append("(");
+        msg.append((thrown == null) ? "Critical error"
+                : thrown.getClass().toString() + " thrown");
+        msg.append(" at ").append(instant.toString()).append("\n");
+        msg.append("Location: ").append(sourceClass).append(".");
+        msg.append(sourceMethod).append("(");
 
         if (record.getParameters() != null && record.getParameters().length > 0) {
             for (Object o : record.getParameters()) {
-                msg.append(o.getClass().getSimpleName());
-                msg.append(" [").append(o.toString()).append("], ");
+                appendParameter(msg, o);
+                msg.append(", ");
             }
+            msg.setLength(msg.length() - 2);
         }
-
-        String tmpString = msg.toString();
-        if (tmpString.endsWith("], ")) {
-            msg.replace(msg.lastIndexOf("], "), msg.length(), "])").append("\n");
-        } else {
-            msg.append(")\n");
+        msg.append(")");
+        if (caller != null && caller.getLineNumber() > 0) {
+            msg.append(", line ").append(caller.getLineNumber());
         }
+        msg.append("\n");
+
+        Thread thread = (record.getThread() == null) ? Thread.currentThread()
+                : record.getThread();
+        msg.append("Thread ID: ").append(thread.getId()).append("\n");
 
-        msg.append("Thread ID: ").append(record.getThread().getId()).append("\n");
+        if (previous[0] != null && previous[0].repeats > 0) {
+            msg.append("Repeats: The same error was reported in ");
+            msg.append(previous[0].errFile).append(" and then repeated ");
+            msg.append(previous[0].repeats).append(" more time(s), last at ");
+            msg.append(previous[0].lastSeen).append("\n");
+        }
 
         msg.append(DIVIDER).append("\nDetail Message: ");
         msg.append(record.getMessage()).append("\n").append(DIVIDER).append("\n");
+        msg.append(getApplication((app == null) ? null
+                : app.getContext().getResourceMap()));
+        msg.append(getEnvironment());
+
+        if (thrown != null) {
+            msg.append(DIVIDER).append("\nException Information:\n\n");
+            msg.append("Exception Message: ").append(thrown.getMessage());
+            msg.append("\n\nStack Trace:\n");
+
+            for (StackTraceElement element : thrown.getStackTrace()) {
+                msg.append("\n\t").append(element.toString());
+            }
+            msg.append("\n ~ End of Stack Trace ~\n");
+        }
+
+        if (recorder != null) {
+            msg.append(DIVIDER).append("\nFlight Recorder:\n\n");
+            msg.append("The last ").append(recorder.getCapacity());
+            msg.append(" recorded messages, oldest first.\n\n");
+            recorder.dump(msg);
+        }
+
+        try {
+            Path errPath = Paths.get(pipeline.getErrLogPath());
+            if (!Files.exists(errPath)) {
+                Files.createDirectories(errPath);
+            }
+            Files.writeString(Paths.get(errFile), msg);
+        } catch (IOException e) {
+            String msg2 = String.format("Unable to write message to log file %s"
+                    + "\nMessage: %s", errFile, msg.toString());
+            TerminalErrorPrinter.print(e, msg2);
+        }
+
+        writeMessage(record, createEvent(CRITICAL, "CRITICAL", record, "();",
+                "See detailed error log at " + errFile));
+    }
+
+    /**
+     * Writes a line to the log for every critical error that was repeated
+     * after its last error log was written, so that the repeats are not lost
+     * when the application exits.
+     */
+    private void reportRepeatedCriticals() {
+        for (CriticalReport report : criticals.values()) {
+            long repeats = report.repeats;
+            if (repeats > 0 && isEnabled(CRITICAL)) {
+                writeMessage(new LogEvent(CRITICAL, "CRITICAL", Instant.now(),
+                        LogRecordFactory.nextSequenceNumber(),
+                        report.sourceClassName, report.sourceMethodName,
+                        Thread.currentThread().getId(), "();", String.format(
+                        "The error in %s was repeated %d more time(s), last "
+                        + "at %s", report.errFile, repeats, report.lastSeen)));
+            }
+        }
+        criticals.clear();
+    }
+
+    /**
+     * Identifies a critical error by the type of the exception and the top of
+     * its stack trace, so that the same failure repeated in a loop has the
+     * same fingerprint, even though its messages and instants differ.
+     *
+     * @param thrown the exception of the critical error
+     * @return the fingerprint of the error
+     */
+    private static String fingerprint(Throwable thrown) {
+        StringBuilder sb = new StringBuilder(thrown.getClass().getName());
+        StackTraceElement[] frames = thrown.getStackTrace();
+        for (int i = 0; i < Math.min(FINGERPRINT_FRAMES, frames.length); i++) {
+            sb.append('|').append(frames[i].getClassName()).append('.');
+            sb.append(frames[i].getMethodName()).append(':');
+            sb.append(frames[i].getLineNumber());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Gets the application information written to a critical error log.
+     *
+     * @param map the application's resource map, or `null` when no
+     * application is running
+     * @return the application section of a critical error log
+     */
+    private static String getApplication(ResourceMap map) {
+        StringBuilder msg = new StringBuilder();
         msg.append("Application Information:").append("\n\n");
+        if (map == null) {
+            msg.append("No application is running.\n");
+            msg.append(DIVIDER).append("\n");
+            return msg.toString();
+        }
+
         msg.append(map.getString("Application.name"));
         msg.append(" (").append(map.getString("Application.vendor")).append(")\n");
         msg.append("\tVersion: ").append(map.getString("Application.version"));
@@ -424,7 +614,23 @@ public class Logger implements GSLogger {
 //            msg.append("\t").append(module).append("\n");
 //        }
         msg.append(DIVIDER).append("\n");
+        return msg.toString();
+    }
+
+    /**
+     * Gets the system, Java, and user information written to every critical
+     * error log. None of it changes while the application runs, so it is only
+     * built once.
+     *
+     * @return the environment section of a critical error log
+     */
+    private static String getEnvironment() {
+        String env = environment;
+        if (env != null) {
+            return env;
+        }
 
+        StringBuilder msg = new StringBuilder();
         int tabWidth = 70;
         java.util.Properties p = System.getProperties();
         msg.append("\nSystem Information:\n\n");
@@ -505,49 +711,32 @@ public class Logger implements GSLogger {
                 p.getProperty("user.language"), tabWidth, '.'));
         msg.append("\n");
 
-        msg.append(DIVIDER).append("\nException Information:\n\n");
-        msg.append("Exception Message: ").append(record.getThrown().getMessage());
-        msg.append("\n\nStack Trace:\n");
+        environment = msg.toString();
+        return environment;
+    }
 
-        for (StackTraceElement element : record.getThrown().getStackTrace()) {
-            msg.append("\n\t").append(element.toString());
+    /**
+     * The most recent report written for one critical error fingerprint, and
+     * the repeats of that error that were not written.
+     */
+    private static final class CriticalReport {
+
+        private final long reportedAt;
+        private final String errFile;
+        private final String sourceClassName;
+        private final String sourceMethodName;
+        private volatile long repeats = 0L;
+        private volatile Instant lastSeen;
+
+        private CriticalReport(long reportedAt, Instant instant, String errFile,
+                String sourceClassName, String sourceMethodName) {
+            this.reportedAt = reportedAt;
+            this.lastSeen = instant;
+            this.errFile = errFile;
+            this.sourceClassName = sourceClassName;
+            this.sourceMethodName = sourceMethodName;
         }
-        msg.append("\n ~ End of Stack Trace ~\n");
-
-        if (level != OFF) {
-            String ePath = app.getContext().getLocalStorage().getDirectory().toString();
-            if (!ePath.endsWith(File.separator)) {
-                ePath += File.separator;
-            }
-            ePath += "var" + File.separator + "err" + File.separator;
-
-            File errPath = new File(ePath);
-            if (!errPath.exists()) {
-                errPath.mkdirs();
-            }
 
-            try {
-                err = new FileWriter(ePath + record.getInstant().toString() + " - "
-                        + record.getSourceClassName() + "."
-                        + record.getSourceMethodName() + ".err.log");
-                err.write(msg.toString());
-                err.flush();
-                err.close();
-                err = null;
-            } catch (IOException e) {
-                String msg2 = String.format("Unable to write message to log file %s"
-                        + "\nMessage: %s", log, msg.toString());
-                TerminalErrorPrinter.print(e, msg2);
-            }
-
-            msg = new StringBuilder();
-            msg.append(record.getInstant().toString()).append(": CRITICAL: ");
-            msg.append("See detailed error log at ").append(ePath);
-            msg.append(record.getInstant().toString()).append(" - ");
-            msg.append(record.getSourceClassName()).append(".");
-            msg.append(record.getSourceMethodName()).append(".err.log");
-            writeMessage(msg.toString());
-        }
     }
 
     /**
@@ -569,24 +758,8 @@ public class Logger implements GSLogger {
         if (record == null) {
             throw new IllegalArgumentException("null LogRecord [record]");
         }
-
-        StringBuilder msg = new StringBuilder();
-        msg.append((record.getInstant() == null) ? Instant.now().toString()
-                : record.getInstant().toString()).append("[SEQ ");
-        msg.append(record.getSequenceNumber()).append("]: DEBUG: ");
-        msg.append(record.getSourceClassName()).append(".");
-        msg.append(record.getSourceMethodName()).append("(); ");
-        msg.append("Thread ID: ").append(record.getThread().getId()).append("; ");
-
-        if (record.getParameters() != null) {
-            msg.append(String.format(record.getMessage(), record.getParameters()));
-        } else {
-            msg.append(record.getMessage());
-        }
-
-        if (level != OFF && level >= DEBUG || level == TRACE) {
-            writeMessage(msg.toString());
-        }
+        log(DEBUG, "DEBUG", record, record.getInstant(), record.getMessage(),
+                record.getParameters());
     }
 
     /**
@@ -601,46 +774,45 @@ public class Logger implements GSLogger {
      * parameters list needs to be set to `null`. The instant and sequence
      * number for the `LogRecord` is optional, as is the thread ID.</p>
      * <p>
-     * <strong><em>Note</em></strong>: The `enter` method will only be executed
-     * if the logging level is set to `Logger.TRACE`.</p>
+     * <strong><em>Note</em></strong>: The `enter` message will only be written
+     * if the logging level is set to `Logger.TRACE`, but the span of the method
+     * is timed at every level.</p>
      *
      * @param record the `LogRecord` of the message and message details
+     * @return the token of the span, or `NO_SPAN` if spans are not timed
      *
      * @see #exit(com.gs.platform.utils.LogRecord)
+     * @see SpanRecorder
      */
     @Override
-    public void enter(GSLogRecord record) {
+    public long enter(GSLogRecord record) {
         if (record == null) {
             throw new IllegalArgumentException("null LogRecord [record]");
         }
+        long span = openSpan(record);
+        writeEnter(record, record.getInstant(), record.getMessage());
+        return span;
+    }
 
-        StringBuilder msg = new StringBuilder();
-        msg.append((record.getInstant() == null) ? Instant.now().toString()
-                : record.getInstant().toString()).append(" [SEQ ");
-        msg.append(record.getSequenceNumber()).append("]: ENTERING: ");
-        msg.append(record.getSourceClassName()).append(".");
-        msg.append(record.getSourceMethodName()).append("(");
+    private void writeEnter(GSLogRecord record, Instant instant,
+            String message) {
+        remember(TRACE, "ENTERING", record, message, record.getParameters());
+        if (!isEnabled(TRACE) || !admit(TRACE, record)) {
+            return;
+        }
 
+        StringBuilder sig = new StringBuilder("(");
         if (record.getParameters() != null && record.getParameters().length > 0) {
             for (Object o : record.getParameters()) {
-                msg.append(o.getClass().getSimpleName());
-                msg.append(" [").append(o.toString()).append("], ");
+                appendParameter(sig, o);
+                sig.append(", ");
             }
+            sig.setLength(sig.length() - 2);
         }
+        sig.append(");");
 
-        String tmpString = msg.toString();
-        if (tmpString.endsWith("], ")) {
-            msg.replace(msg.lastIndexOf("], "), msg.length(), "])");
-        } else {
-            msg.append("); ");
-        }
-
-        msg.append("Thread ID: ").append(record.getThread().getId()).append("; ");
-        msg.append(record.getMessage());
-
-        if (level != OFF && level == TRACE) {
-            writeMessage(msg.toString());
-        }
+        writeMessage(record, createEvent(TRACE, "ENTERING", record, instant,
+                sig.toString(), message));
     }
 
     /**
@@ -688,8 +860,9 @@ public class Logger implements GSLogger {
      * `Instant` is not set, the `Instant.now()` that this method is entered
      * will be recorded.</p>
      * <p>
-     * <strong><em>Note</em></strong>: The `exit` method will only be executed
-     * if the logging level is set to `Logger.TRACE`.</p>
+     * <strong><em>Note</em></strong>: The `exit` message will only be written
+     * if the logging level is set to `Logger.TRACE`, but the span of the method
+     * is closed at every level.</p>
      *
      * @param record the `LogRecord` of the message and message details
      *
@@ -700,27 +873,38 @@ public class Logger implements GSLogger {
         if (record == null) {
             throw new IllegalArgumentException("null LogRecord [record]");
         }
+        closeSpan(record, NO_SPAN);
+        writeExit(record, record.getInstant(), record.getMessage());
+    }
 
-        StringBuilder msg = new StringBuilder();
-        msg.append((record.getInstant() == null) ? Instant.now().toString()
-                : record.getInstant().toString()).append(" [SEQ ");
-        msg.append(record.getSequenceNumber()).append("]: EXITING: ");
-        msg.append(record.getSourceClassName()).append(".");
-        msg.append(record.getSourceMethodName()).append("() RETURNING");
+    @Override
+    public void exit(GSLogRecord record, long span) {
+        if (record == null) {
+            throw new IllegalArgumentException("null LogRecord [record]");
+        }
+        closeSpan(record, span);
+        writeExit(record, record.getInstant(), record.getMessage());
+    }
+
+    private void writeExit(GSLogRecord record, Instant instant,
+            String message) {
+        remember(TRACE, "EXITING", record, message, record.getParameters());
+        if (!isEnabled(TRACE) || !admit(TRACE, record)) {
+            return;
+        }
 
+        StringBuilder sig = new StringBuilder("()");
         if (record.getParameters() != null && record.getParameters().length > 0) {
+            sig.append(" RETURNING");
             for (Object o : record.getParameters()) {
-                msg.append(o.getClass().getSimpleName());
-                msg.append(" [").append(o.toString()).append("]");
+                sig.append(" ");
+                appendParameter(sig, o);
             }
         }
+        sig.append(";");
 
-        msg.append("Thread ID: ").append(record.getThread().getId()).append("; ");
-        msg.append(record.getMessage());
-
-        if (level != OFF && level == TRACE) {
-            writeMessage(msg.toString());
-        }
+        writeMessage(record, createEvent(TRACE, "EXITING", record, instant,
+                sig.toString(), message));
     }
 
     /**
@@ -744,41 +928,21 @@ public class Logger implements GSLogger {
         if (record == null) {
             throw new IllegalArgumentException("null LogRecord [record]");
         }
-
-        StringBuilder msg = new StringBuilder();
-        msg.append((record.getInstant() == null) ? Instant.now().toString()
-                : record.getInstant().toString()).append("[SEQ ");
-        msg.append(record.getSequenceNumber()).append("]: ERROR: ");
-        msg.append(record.getSourceClassName()).append(".");
-        msg.append(record.getSourceMethodName()).append("(); ");
-        msg.append("Thread ID: ").append(record.getThread().getId()).append("; ");
-
-        if (record.getParameters() != null) {
-            msg.append(String.format(record.getMessage(), record.getParameters()));
-        } else {
-            msg.append(record.getMessage());
-        }
-
-        msg.append(DIVIDER);
-        msg.append("\nError Message: ").append(record.getThrown().getMessage());
-        msg.append("\nStack Trace:");
-        for (StackTraceElement e : record.getThrown().getStackTrace()) {
-            msg.append("\n\t").append(e.toString());
-        }
-
-        if (level != OFF && level >= ERROR || level <= DEBUG) {
-            writeMessage(msg.toString());
-        }
+        log(ERROR, "ERROR", record, record.getInstant(), record.getMessage(),
+                record.getParameters());
     }
 
     /**
      * Provides a way to retrieve the current logging level for this `Logger`.
+     * This is the level from the `etc/logging.levels` file, if an entry
+     * matches the class of this `Logger`, or else the level last set with
+     * `setLevel`.
      *
      * @return the current logging level
      */
     @Override
     public int getLevel() {
-        return level;
+        return effectiveLevel();
     }
     
     /**
@@ -791,6 +955,318 @@ public class Logger implements GSLogger {
         this.level = level;
     }
     
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The level checked against is the one from the `etc/logging.levels` file
+     * for the package or class of this `Logger`, if any, or else the level set
+     * with `setLevel`. It is worked out again only when the file has been
+     * reloaded, so the check is otherwise a few reads and a comparison, and
+     * is safe to call on every message, even on hot paths.</p>
+     * <p>
+     * A disabled call of a messaging method costs this check and no
+     * formatting, and, at the `Application.logging.recorder.level` and above
+     * (`TRACE` by default), one unformatted entry in the `FlightRecorder`.
+     * Setting the recorder level higher, or its size to zero, leaves the
+     * check as the only cost.</p>
+     *
+     * @param level {@inheritDoc }
+     * @return {@inheritDoc }
+     *
+     * @see LevelConfig
+     */
+    @Override
+    public boolean isEnabled(int level) {
+        int threshold = effectiveLevel();
+        return threshold != OFF && level >= threshold;
+    }
+
+    private int effectiveLevel() {
+        if (levels == null) {
+            return level;
+        }
+
+        LevelConfig.Snapshot current = levels.current();
+        Threshold t = threshold;
+        if (t == null || t.snapshot != current || t.className != className) {
+            t = new Threshold(current, className,
+                    current.levelFor(className));
+            threshold = t;
+        }
+
+        return (t.level == LevelConfig.UNSET) ? level : t.level;
+    }
+
+    @Override
+    public void config(GSLogRecord record, Supplier<String> message) {
+        if (isEnabled(CONFIG)) {
+            log(CONFIG, "CONFIG", record, null, message.get(), null);
+        } else {
+            remember(CONFIG, "CONFIG", record, message, null);
+        }
+    }
+
+    @Override
+    public void config(GSLogRecord record, String format, Object param) {
+        if (isEnabled(CONFIG)) {
+            log(CONFIG, "CONFIG", record, null, format, new Object[]{param});
+        } else if (CONFIG >= recordLevel) {
+            remember(CONFIG, "CONFIG", record, format,
+                    new Object[]{param});
+        }
+    }
+
+    @Override
+    public void config(GSLogRecord record, String format, Object param1,
+            Object param2) {
+        if (isEnabled(CONFIG)) {
+            log(CONFIG, "CONFIG", record, null, format, new Object[]{param1, param2});
+        } else if (CONFIG >= recordLevel) {
+            remember(CONFIG, "CONFIG", record, format,
+                    new Object[]{param1, param2});
+        }
+    }
+
+    @Override
+    public void config(GSLogRecord record, String format, Object... params) {
+        if (isEnabled(CONFIG)) {
+            log(CONFIG, "CONFIG", record, null, format, params);
+        } else {
+            remember(CONFIG, "CONFIG", record, format, params);
+        }
+    }
+
+    @Override
+    public void debug(GSLogRecord record, Supplier<String> message) {
+        if (isEnabled(DEBUG)) {
+            log(DEBUG, "DEBUG", record, null, message.get(), null);
+        } else {
+            remember(DEBUG, "DEBUG", record, message, null);
+        }
+    }
+
+    @Override
+    public void debug(GSLogRecord record, String format, Object param) {
+        if (isEnabled(DEBUG)) {
+            log(DEBUG, "DEBUG", record, null, format, new Object[]{param});
+        } else if (DEBUG >= recordLevel) {
+            remember(DEBUG, "DEBUG", record, format,
+                    new Object[]{param});
+        }
+    }
+
+    @Override
+    public void debug(GSLogRecord record, String format, Object param1,
+            Object param2) {
+        if (isEnabled(DEBUG)) {
+            log(DEBUG, "DEBUG", record, null, format, new Object[]{param1, param2});
+        } else if (DEBUG >= recordLevel) {
+            remember(DEBUG, "DEBUG", record, format,
+                    new Object[]{param1, param2});
+        }
+    }
+
+    @Override
+    public void debug(GSLogRecord record, String format, Object... params) {
+        if (isEnabled(DEBUG)) {
+            log(DEBUG, "DEBUG", record, null, format, params);
+        } else {
+            remember(DEBUG, "DEBUG", record, format, params);
+        }
+    }
+
+    @Override
+    public void info(GSLogRecord record, Supplier<String> message) {
+        if (isEnabled(INFO)) {
+            log(INFO, "INFO", record, null, message.get(), null);
+        } else {
+            remember(INFO, "INFO", record, message, null);
+        }
+    }
+
+    @Override
+    public void info(GSLogRecord record, String format, Object param) {
+        if (isEnabled(INFO)) {
+            log(INFO, "INFO", record, null, format, new Object[]{param});
+        } else if (INFO >= recordLevel) {
+            remember(INFO, "INFO", record, format,
+                    new Object[]{param});
+        }
+    }
+
+    @Override
+    public void info(GSLogRecord record, String format, Object param1,
+            Object param2) {
+        if (isEnabled(INFO)) {
+            log(INFO, "INFO", record, null, format, new Object[]{param1, param2});
+        } else if (INFO >= recordLevel) {
+            remember(INFO, "INFO", record, format,
+                    new Object[]{param1, param2});
+        }
+    }
+
+    @Override
+    public void info(GSLogRecord record, String format, Object... params) {
+        if (isEnabled(INFO)) {
+            log(INFO, "INFO", record, null, format, params);
+        } else {
+            remember(INFO, "INFO", record, format, params);
+        }
+    }
+
+    @Override
+    public void warn(GSLogRecord record, Supplier<String> message) {
+        if (isEnabled(WARN)) {
+            log(WARN, "WARNING", record, null, message.get(), null);
+        } else {
+            remember(WARN, "WARNING", record, message, null);
+        }
+    }
+
+    @Override
+    public void warn(GSLogRecord record, String format, Object param) {
+        if (isEnabled(WARN)) {
+            log(WARN, "WARNING", record, null, format, new Object[]{param});
+        } else if (WARN >= recordLevel) {
+            remember(WARN, "WARNING", record, format,
+                    new Object[]{param});
+        }
+    }
+
+    @Override
+    public void warn(GSLogRecord record, String format, Object param1,
+            Object param2) {
+        if (isEnabled(WARN)) {
+            log(WARN, "WARNING", record, null, format, new Object[]{param1, param2});
+        } else if (WARN >= recordLevel) {
+            remember(WARN, "WARNING", record, format,
+                    new Object[]{param1, param2});
+        }
+    }
+
+    @Override
+    public void warn(GSLogRecord record, String format, Object... params) {
+        if (isEnabled(WARN)) {
+            log(WARN, "WARNING", record, null, format, params);
+        } else {
+            remember(WARN, "WARNING", record, format, params);
+        }
+    }
+
+    @Override
+    public void error(GSLogRecord record, Supplier<String> message) {
+        if (isEnabled(ERROR)) {
+            log(ERROR, "ERROR", record, null, message.get(), null);
+        } else {
+            remember(ERROR, "ERROR", record, message, null);
+        }
+    }
+
+    @Override
+    public void error(GSLogRecord record, String format, Object param) {
+        if (isEnabled(ERROR)) {
+            log(ERROR, "ERROR", record, null, format, new Object[]{param});
+        } else if (ERROR >= recordLevel) {
+            remember(ERROR, "ERROR", record, format,
+                    new Object[]{param});
+        }
+    }
+
+    @Override
+    public void error(GSLogRecord record, String format, Object param1,
+            Object param2) {
+        if (isEnabled(ERROR)) {
+            log(ERROR, "ERROR", record, null, format, new Object[]{param1, param2});
+        } else if (ERROR >= recordLevel) {
+            remember(ERROR, "ERROR", record, format,
+                    new Object[]{param1, param2});
+        }
+    }
+
+    @Override
+    public void error(GSLogRecord record, String format, Object... params) {
+        if (isEnabled(ERROR)) {
+            log(ERROR, "ERROR", record, null, format, params);
+        } else {
+            remember(ERROR, "ERROR", record, format, params);
+        }
+    }
+
+    @Override
+    public long enter(GSLogRecord record, Supplier<String> message) {
+        long span = openSpan(record);
+        if (isEnabled(TRACE)) {
+            writeEnter(record, null, message.get());
+        } else {
+            remember(TRACE, "ENTERING", record, message,
+                    record.getParameters());
+        }
+
+        return span;
+    }
+
+    @Override
+    public void exit(GSLogRecord record, Supplier<String> message) {
+        closeSpan(record, NO_SPAN);
+        if (isEnabled(TRACE)) {
+            writeExit(record, null, message.get());
+        } else {
+            remember(TRACE, "EXITING", record, message, record.getParameters());
+        }
+    }
+
+    private long openSpan(GSLogRecord record) {
+        return (spans == null) ? NO_SPAN : spans.open(record);
+    }
+
+    private void closeSpan(GSLogRecord record, long span) {
+        if (spans != null) {
+            spans.close(record, span);
+        }
+    }
+
+    /**
+     * Writes a message at one of the levels from `CONFIG` to `ERROR`. The
+     * message and its parameters are given apart from the `record`, so that
+     * the lazy messaging methods never write them into the caller's record,
+     * where they would show up in the next message logged with it.
+     *
+     * @param level the level of the message
+     * @param label the level label written to the log file
+     * @param record the `LogRecord` of the message details
+     * @param instant the instant of the message, or `null` for now
+     * @param message the message text or format string
+     * @param params the parameters of the format string, or `null`
+     */
+    private void log(int level, String label, GSLogRecord record,
+            Instant instant, String message, Object[] params) {
+        if (!isEnabled(level) || !admit(level, record)) {
+            remember(level, label, record, message, params);
+            return;
+        }
+
+        String text = (params != null) ? String.format(message, params)
+                : message;
+        remember(level, label, record, text, null);
+
+        Throwable thrown = record.getThrown();
+        if (level == ERROR) {
+            StringBuilder msg = new StringBuilder(String.valueOf(text));
+            msg.append("\n").append(DIVIDER);
+            msg.append("\nError Message: ").append(thrown.getMessage());
+            msg.append("\nStack Trace:");
+            for (StackTraceElement e : thrown.getStackTrace()) {
+                msg.append("\n\t").append(e.toString());
+            }
+            text = msg.toString();
+        } else if (level == WARN && thrown != null) {
+            text = text + "\n" + DIVIDER + "\n" + thrown.getMessage() + "\n";
+        }
+
+        writeMessage(record, createEvent(level, label, record, instant, "();",
+                text));
+    }
+
     /**
      * Determines whether the output to the log file should format the log
      * entries.
@@ -799,7 +1275,7 @@ public class Logger implements GSLogger {
      */
     @Override
     public boolean isFormattedOutput() {
-        return formattedOutput;
+        return pipeline.isFormattedOutput();
     }
     
     /**
@@ -809,7 +1285,7 @@ public class Logger implements GSLogger {
      */
     @Override
     public void setFormattedOutput(boolean formattedOutput) {
-        this.formattedOutput = formattedOutput;
+        pipeline.setFormattedOutput(formattedOutput);
     }
 
     /**
@@ -831,24 +1307,8 @@ public class Logger implements GSLogger {
         if (record == null) {
             throw new IllegalArgumentException("null LogRecord [record]");
         }
-
-        StringBuilder msg = new StringBuilder();
-        msg.append((record.getInstant() == null) ? Instant.now().toString()
-                : record.getInstant().toString()).append("[SEQ ");
-        msg.append(record.getSequenceNumber()).append("]: INFO: ");
-        msg.append(record.getSourceClassName()).append(".");
-        msg.append(record.getSourceMethodName()).append("(); ");
-        msg.append("Thread ID: ").append(record.getThread().getId()).append("; ");
-
-        if (record.getParameters() != null) {
-            msg.append(String.format(record.getMessage(), record.getParameters()));
-        } else {
-            msg.append(record.getMessage());
-        }
-
-        if (level != OFF && level >= INFO || level <= DEBUG) {
-            writeMessage(msg.toString());
-        }
+        log(INFO, "INFO", record, record.getInstant(), record.getMessage(),
+                record.getParameters());
     }
 
     /**
@@ -874,59 +1334,305 @@ public class Logger implements GSLogger {
         if (record == null) {
             throw new IllegalArgumentException("null LogRecord [record]");
         }
+        log(WARN, "WARNING", record, record.getInstant(), record.getMessage(),
+                record.getParameters());
+    }
 
-        StringBuilder msg = new StringBuilder();
-        msg.append((record.getInstant() == null) ? Instant.now().toString()
-                : record.getInstant().toString()).append("[SEQ ");
-        msg.append(record.getSequenceNumber()).append("]: WARNING: ");
-        msg.append(record.getSourceClassName()).append(".");
-        msg.append(record.getSourceMethodName()).append("(); ");
-        msg.append("Thread ID: ").append(record.getThread().getId()).append("; ");
-
-        if (record.getParameters() != null) {
-            msg.append(String.format(record.getMessage(), record.getParameters()));
+    @Override
+    public void setRateLimit(String methodName, double recordsPerSecond,
+            int burst) {
+        if (methodName == null) {
+            CallSiteLimiter old = defaults;
+            setDefaults(new CallSiteLimiter(recordsPerSecond, burst,
+                    (old == null) ? 1 : old.getSampleEvery(), summaryNanos,
+                    true));
         } else {
-            msg.append(record.getMessage());
+            sites.compute(methodName, (key, old) -> replace(old,
+                    new CallSiteLimiter(recordsPerSecond, burst,
+                            (old == null || old.isInherited()) ? 1
+                            : old.getSampleEvery(), summaryNanos, false)));
+            updateLimited();
         }
+    }
 
-        if (record.getThrown() != null) {
-            msg.append("\n").append(DIVIDER).append("\n");
-            msg.append(record.getThrown().getMessage()).append("\n");
+    @Override
+    public void setCallerInference(boolean inferCaller) {
+        this.inferCaller = inferCaller;
+    }
+
+    @Override
+    public void setSampling(String methodName, int oneIn) {
+        if (methodName == null) {
+            CallSiteLimiter old = defaults;
+            setDefaults((old == null)
+                    ? new CallSiteLimiter(0.0, 1, oneIn, summaryNanos, true)
+                    : new CallSiteLimiter(old.getRecordsPerSecond(),
+                            old.getBurst(), oneIn, summaryNanos, true));
+        } else {
+            sites.compute(methodName, (key, old) -> replace(old,
+                    (old == null || old.isInherited())
+                    ? new CallSiteLimiter(0.0, 1, oneIn, summaryNanos, false)
+                    : new CallSiteLimiter(old.getRecordsPerSecond(),
+                            old.getBurst(), oneIn, summaryNanos, false)));
+            updateLimited();
+        }
+    }
+
+    /**
+     * Decides whether a message from the call site of the `record` may be
+     * logged. When nothing is limited, this is a single read of a volatile
+     * field. When the message is allowed and a summary of the suppressed
+     * messages of the call site is due, the summary is written first.
+     *
+     * @param level the level of the message
+     * @param record the `LogRecord` of the message details
+     * @return `true` if the message may be logged
+     */
+    private boolean admit(int level, GSLogRecord record) {
+        if (!limited) {
+            return true;
+        }
+
+        String method = record.getSourceMethodName();
+        String key = (method == null) ? "" : method;
+        CallSiteLimiter site = sites.get(key);
+        if (site == null) {
+            CallSiteLimiter template = defaults;
+            if (template == null) {
+                return true;
+            }
+            site = sites.computeIfAbsent(key, k -> new CallSiteLimiter(
+                    template.getRecordsPerSecond(), template.getBurst(),
+                    template.getSampleEvery(), summaryNanos, true));
+        }
+        if (!site.isLimited()) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        if (!site.tryAcquire(level, now)) {
+            pipeline.getMetrics().countSuppressed();
+            return false;
+        }
+
+        long count = site.takeSuppressed(now);
+        if (count > 0L) {
+            writeSuppressed(level, method, count);
+        }
+
+        return true;
+    }
+
+    /**
+     * Replaces the defaults of every call site without limits of its own.
+     * The call sites that used the old defaults summarize what they have
+     * suppressed and start over with the new ones.
+     */
+    private void setDefaults(CallSiteLimiter next) {
+        defaults = next.isLimited() ? next : null;
+        for (Map.Entry<String, CallSiteLimiter> site : sites.entrySet()) {
+            if (site.getValue().isInherited()
+                    && sites.remove(site.getKey(), site.getValue())) {
+                summarize(site.getKey(), site.getValue());
+            }
+        }
+        updateLimited();
+    }
+
+    private void updateLimited() {
+        boolean any = defaults != null;
+        for (CallSiteLimiter site : sites.values()) {
+            any |= site.isLimited();
+        }
+        limited = any;
+    }
+
+    private static CallSiteLimiter replace(CallSiteLimiter old,
+            CallSiteLimiter next) {
+        if (old != null) {
+            next.addSuppressed(old.drainSuppressed());
+        }
+        return next;
+    }
+
+    private void summarize(String key, CallSiteLimiter site) {
+        long count = site.drainSuppressed();
+        if (count > 0L && isEnabled(site.getLastLevel())) {
+            writeSuppressed(site.getLastLevel(), key.isEmpty() ? null : key,
+                    count);
         }
+    }
 
-        if (level != OFF && level >= WARN || level <= DEBUG) {
-            writeMessage(msg.toString());
+    /**
+     * Hands a message to the `FlightRecorder`, if its level is recorded. The
+     * recorder keeps the message raw, and formats it only if a critical error
+     * dumps the ring, so neither the format nor a `Supplier` is run here.
+     *
+     * @param level the level of the message
+     * @param label the level label of the message
+     * @param record the `LogRecord` of the message details
+     * @param message the message text or format string, or a `Supplier` of
+     * the message text
+     * @param params the parameters of the message, or `null` if the message
+     * is already formatted
+     */
+    private void remember(int level, String label, GSLogRecord record,
+            Object message, Object[] params) {
+        if (level >= recordLevel) {
+            recorder.record(label, record.getSourceClassName(),
+                    record.getSourceMethodName(), message, params,
+                    record.getThrown());
         }
     }
 
+    private void writeSuppressed(int level, String method, long count) {
+        writeMessage(new LogEvent(level, "SUPPRESSED", Instant.now(),
+                LogRecordFactory.nextSequenceNumber(), className, method,
+                Thread.currentThread().getId(), "();", String.format(
+                "%d message(s) from this method were suppressed by its "
+                + "sampling or rate limit", count)));
+    }
+
     /**
-     * Performs the actual writing of the messages to the log file in a central
-     * fashion.
+     * Writes a message bridged from `java.util.logging` or a `System.Logger`.
+     * The message of the `record` is already formatted, and the thrown
+     * exception, if any, is appended to it with its stack trace.
+     *
+     * @param level the level of the message, from `TRACE` to `ERROR`
+     * @param record the message, with no parameters
      *
-     * @param message the message to write.
+     * @see LogBridge
      */
-    private void writeMessage(String message) {
-        try {
-            message = (formattedOutput) ? formatLogMessage(message) : message;
-            log.write(message);
-            log.write("\n");
-            log.flush();
-        } catch (IOException e) {
-            String msg = String.format("Unable to write message to log file %s"
-                    + "\nMessage: %s", log, message);
-            TerminalErrorPrinter.print(e, msg);
+    void bridge(int level, GSLogRecord record) {
+        String label;
+        switch (level) {
+            case TRACE:
+                label = "TRACE";
+                break;
+            case DEBUG:
+                label = "DEBUG";
+                break;
+            case CONFIG:
+                label = "CONFIG";
+                break;
+            case INFO:
+                label = "INFO";
+                break;
+            case WARN:
+                label = "WARNING";
+                break;
+            default:
+                level = ERROR;
+                label = "ERROR";
         }
+
+        remember(level, label, record, record.getMessage(), null);
+        if (!isEnabled(level) || !admit(level, record)) {
+            return;
+        }
+
+        StringBuilder msg = new StringBuilder(String.valueOf(
+                record.getMessage()));
+        Throwable thrown = record.getThrown();
+        if (thrown != null) {
+            msg.append("\n").append(DIVIDER);
+            msg.append("\nError Message: ").append(thrown);
+            msg.append("\nStack Trace:");
+            for (StackTraceElement e : thrown.getStackTrace()) {
+                msg.append("\n\t").append(e.toString());
+            }
+        }
+
+        writeMessage(record, createEvent(level, label, record, "();",
+                msg.toString()));
+    }
+
+    /**
+     * Hands the messages to the shared appender pipeline in a central fashion.
+     *
+     * @param event the message to write.
+     */
+    private void writeMessage(LogEvent event) {
+        pipeline.write(event);
+    }
+
+    /**
+     * Hands the message to the shared appender pipeline, and then stamps the
+     * `record` with the sequence number under which the message was written.
+     *
+     * @param record the `LogRecord` of the message
+     * @param event the message to write
+     */
+    private void writeMessage(GSLogRecord record, LogEvent event) {
+        writeMessage(event);
+        record.setSequenceNumber(event.getSequenceNumber());
+    }
+
+    /**
+     * Takes a snapshot of the `record` so that the record may be reused by the
+     * caller as soon as the logging method returns.
+     *
+     * @param level the level of the message
+     * @param label the level label written to the log file
+     * @param record the `LogRecord` of the message and message details
+     * @param signature the text between the method name and the thread ID
+     * @param message the fully expanded message text
+     * @return the message snapshot
+     */
+    private LogEvent createEvent(int level, String label, GSLogRecord record,
+            String signature, String message) {
+        return createEvent(level, label, record, record.getInstant(),
+                signature, message);
     }
 
     /**
-     * Formats the created message text for output to the log file and/or
-     * terminal.
+     * Takes a snapshot of the `record`, with the message given apart from it.
      *
-     * @param msg the message to be formatted
-     * @return the formatted message
+     * @param level the level of the message
+     * @param label the level label written to the log file
+     * @param record the `LogRecord` of the message details
+     * @param instant the instant of the message, or `null` for now
+     * @param signature the text between the method name and the thread ID
+     * @param message the fully expanded message text
+     * @return the message snapshot
      */
-    private String formatLogMessage(String msg) {
-        return StringUtils.wrapLogMessage(msg, 65) + "\n" + DIVIDER;
+    private LogEvent createEvent(int level, String label, GSLogRecord record,
+            Instant instant, String signature, String message) {
+        Thread thread = (record.getThread() == null) ? Thread.currentThread()
+                : record.getThread();
+        if (instant == null) {
+            instant = Instant.now();
+        }
+        CallerLocator.Location caller = locateCaller();
+        String sourceClass = (caller == null) ? record.getSourceClassName()
+                : caller.getClassName();
+        String sourceMethod = (caller == null) ? record.getSourceMethodName()
+                : caller.getMethodName();
+
+        // The pipeline stamps the event with the next sequence number as it
+        //+ is written, so the number of the record is only a placeholder.
+        return new LogEvent(level, label, instant, record.getSequenceNumber(),
+                sourceClass, sourceMethod, thread.getId(), signature, message);
+    }
+
+    /**
+     * Finds the caller of this `Logger` on the stack, when the caller is
+     * inferred. Only called once the message is known to be written.
+     *
+     * @return the location of the caller, or `null` if the caller is not
+     * inferred, or is not found
+     */
+    private CallerLocator.Location locateCaller() {
+        return inferCaller ? CallerLocator.locate() : null;
+    }
+
+    private static void appendParameter(StringBuilder sb, Object o) {
+        if (o == null) {
+            sb.append("null");
+        } else {
+            sb.append(o.getClass().getSimpleName());
+            sb.append(" [").append(o.toString()).append("]");
+        }
     }
 
     @Override
@@ -955,21 +1661,34 @@ public class Logger implements GSLogger {
         this.className = className;
     }
     
+    /**
+     * Does nothing. Every `Logger` now writes to the application's single log
+     * file, "${Application.name}.log", so there is no per-class log file to
+     * rename.
+     */
+    @Override
+    @Deprecated
     public void updateLogName() {
-        File oldLog = new File(logPath 
-                + app.getContext().getResourceMap().getString("Application.name") 
-                + " - null.log");
-        File newLog = new File(logPath 
-                + app.getContext().getResourceMap().getString("Application.name")
-                + " - " + className + ".log");
-        
-        boolean success = oldLog.renameTo(newLog);
-        
-        if (!success) {
-            MessageBox.showWarning("Log file:\n\t" + oldLog.getPath() + "\n"
-                    + "was not able to be renamed to:\n\t" + newLog.getPath(),
-                    "Unsuccessful Rename");
+        // The shared log file is already named for the application.
+    }
+
+    /**
+     * The level from the `etc/logging.levels` file for the class of this
+     * `Logger`, worked out from one snapshot of the file.
+     */
+    private static final class Threshold {
+
+        private final LevelConfig.Snapshot snapshot;
+        private final String className;
+        private final int level;
+
+        private Threshold(LevelConfig.Snapshot snapshot, String className,
+                int level) {
+            this.snapshot = snapshot;
+            this.className = className;
+            this.level = level;
         }
+
     }
 
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   LoggingMetrics.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 9:41:17 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Reports the method spans of the
+ *                                     SpanRecorder.
+ *  Oct 18, 2026  Sean Carrick         Reports the counts of the
+ *                                     SyslogAppender.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.api.GSLogger;
+import com.gs.utils.TerminalErrorPrinter;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The `LoggingMetrics` collects the counts and latencies of the shared
+ * `LogPipeline`, and publishes them over JMX.
+ * <p>
+ * Every count is a `LongAdder`, so the threads that log never contend with
+ * each other to update a count, and the cost of a metric is a few
+ * nanoseconds. The counts are only summed when they are read through the
+ * `LoggingMetricsMXBean`.</p>
+ *
+ * @see LoggingMetricsMXBean
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class LoggingMetrics implements LoggingMetricsMXBean {
+
+    /** The name under which the metrics are registered. */
+    static final String OBJECT_NAME = "com.gs.nta.logging:type=LoggingMetrics";
+
+    private final LongAdder[] levels = new LongAdder[GSLogger.CRITICAL + 1];
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+    private final LatencyHistogram writes = new LatencyHistogram();
+    private final LatencyHistogram flushes = new LatencyHistogram();
+    private volatile AsyncAppender async;
+    private volatile SpanRecorder spans;
+    private volatile SyslogAppender syslog;
+
+    LoggingMetrics() {
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registers these metrics with the platform `MBeanServer`, replacing any
+     * metrics registered earlier under the same name.
+     */
+    void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            try {
+                server.registerMBean(this, name);
+            } catch (InstanceAlreadyExistsException e) {
+                server.unregisterMBean(name);
+                server.registerMBean(this, name);
+            }
+        } catch (JMException | RuntimeException e) {
+            TerminalErrorPrinter.print(e, "Unable to register the logging "
+                    + "metrics with JMX");
+        }
+    }
+
+    /**
+     * Sets the asynchronous writer whose queue depth and dropped count are
+     * reported.
+     *
+     * @param async the asynchronous writer, or `null` if logging is
+     * synchronous
+     */
+    void setAsyncAppender(AsyncAppender async) {
+        this.async = async;
+    }
+
+    /**
+     * Sets the recorder whose method spans are reported.
+     *
+     * @param spans the recorder, or `null` if spans are not timed
+     */
+    void setSpanRecorder(SpanRecorder spans) {
+        this.spans = spans;
+    }
+
+    /**
+     * Sets the syslog sink whose sent and dropped counts are reported.
+     *
+     * @param syslog the sink, or `null` if the log is not shipped
+     */
+    void setSyslogAppender(SyslogAppender syslog) {
+        this.syslog = syslog;
+    }
+
+    void countEvent(int level) {
+        if (level >= 0 && level < levels.length) {
+            levels[level].increment();
+        }
+    }
+
+    void countSuppressed() {
+        suppressed.increment();
+    }
+
+    void recordWrite(long nanos, long byteCount) {
+        writes.record(nanos);
+        if (byteCount > 0L) {
+            bytes.add(byteCount);
+        }
+    }
+
+    void recordFlush(long nanos) {
+        flushes.record(nanos);
+    }
+
+    @Override
+    public long getTraceCount() {
+        return levels[GSLogger.TRACE].sum();
+    }
+
+    @Override
+    public long getDebugCount() {
+        return levels[GSLogger.DEBUG].sum();
+    }
+
+    @Override
+    public long getConfigCount() {
+        return levels[GSLogger.CONFIG].sum();
+    }
+
+    @Override
+    public long getInfoCount() {
+        return levels[GSLogger.INFO].sum();
+    }
+
+    @Override
+    public long getWarnCount() {
+        return levels[GSLogger.WARN].sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return levels[GSLogger.ERROR].sum();
+    }
+
+    @Override
+    public long getCriticalCount() {
+        return levels[GSLogger.CRITICAL].sum();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytes.sum();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        AsyncAppender queue = async;
+        return (queue == null) ? 0L : queue.getDroppedCount();
+    }
+
+    @Override
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        AsyncAppender queue = async;
+        return (queue == null) ? 0 : queue.getQueueDepth();
+    }
+
+    @Override
+    public long[] getLatencyBucketLimits() {
+        return LatencyHistogram.getBucketLimits();
+    }
+
+    @Override
+    public long[] getWriteLatencyHistogram() {
+        return writes.getCounts();
+    }
+
+    @Override
+    public long[] getFlushLatencyHistogram() {
+        return flushes.getCounts();
+    }
+
+    @Override
+    public double getMeanWriteNanos() {
+        return writes.getMeanNanos();
+    }
+
+    @Override
+    public double getMeanFlushNanos() {
+        return flushes.getMeanNanos();
+    }
+
+    @Override
+    public long getSyslogSentCount() {
+        SyslogAppender sink = syslog;
+        return (sink == null) ? 0L : sink.getSentCount();
+    }
+
+    @Override
+    public long getSyslogDroppedCount() {
+        SyslogAppender sink = syslog;
+        return (sink == null) ? 0L : sink.getDroppedCount();
+    }
+
+    @Override
+    public String getSpanReport() {
+        SpanRecorder recorder = spans;
+        return (recorder == null) ? "Spans are not timed." : recorder.report();
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder level : levels) {
+            level.reset();
+        }
+        bytes.reset();
+        suppressed.reset();
+        writes.reset();
+        flushes.reset();
+        SpanRecorder recorder = spans;
+        if (recorder != null) {
+            recorder.reset();
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   LoggingMetricsMXBean.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 9:36:03 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Added getSpanReport.
+ *  Oct 18, 2026  Sean Carrick         Added the syslog counts.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+/**
+ * The management interface of the logging metrics, registered with the
+ * platform `MBeanServer` as `com.gs.nta.logging:type=LoggingMetrics`.
+ * <p>
+ * Connect to a running application with JConsole or VisualVM, and open the
+ * `com.gs.nta.logging` node, to see whether logging is what slows it down.
+ * The counts start at zero when the application starts, or when `reset` is
+ * called.</p>
+ * <p>
+ * The latency histograms share the bucket limits given by
+ * `getLatencyBucketLimits`: bucket `i` counts the durations below limit `i`
+ * and at or above limit `i - 1`.</p>
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public interface LoggingMetricsMXBean {
+
+    /**
+     * Gets the number of `TRACE` messages, including `ENTERING` and `EXITING`
+     * messages, handed to the log.
+     *
+     * @return the number of trace messages
+     */
+    public long getTraceCount();
+
+    /**
+     * Gets the number of `DEBUG` messages handed to the log.
+     *
+     * @return the number of debugging messages
+     */
+    public long getDebugCount();
+
+    /**
+     * Gets the number of `CONFIG` messages handed to the log.
+     *
+     * @return the number of configuration messages
+     */
+    public long getConfigCount();
+
+    /**
+     * Gets the number of `INFO` messages handed to the log.
+     *
+     * @return the number of informational messages
+     */
+    public long getInfoCount();
+
+    /**
+     * Gets the number of `WARN` messages handed to the log.
+     *
+     * @return the number of warning messages
+     */
+    public long getWarnCount();
+
+    /**
+     * Gets the number of `ERROR` messages handed to the log.
+     *
+     * @return the number of error messages
+     */
+    public long getErrorCount();
+
+    /**
+     * Gets the number of `CRITICAL` messages handed to the log.
+     *
+     * @return the number of critical messages
+     */
+    public long getCriticalCount();
+
+    /**
+     * Gets the number of bytes written to the log files, including every file
+     * that has since been rolled over.
+     *
+     * @return the number of bytes written
+     */
+    public long getBytesWritten();
+
+    /**
+     * Gets the number of messages discarded because the queue of the
+     * asynchronous writer was full.
+     *
+     * @return the number of dropped messages
+     */
+    public long getDroppedCount();
+
+    /**
+     * Gets the number of messages that were not logged because of the
+     * sampling or rate limit of their call site.
+     *
+     * @return the number of suppressed messages
+     */
+    public long getSuppressedCount();
+
+    /**
+     * Gets the number of messages waiting for the asynchronous writer.
+     *
+     * @return the queue depth, or zero if logging is synchronous
+     */
+    public int getQueueDepth();
+
+    /**
+     * Gets the exclusive upper limit of each bucket of the latency
+     * histograms, in nanoseconds.
+     *
+     * @return the bucket limits
+     */
+    public long[] getLatencyBucketLimits();
+
+    /**
+     * Gets the histogram of the time taken to write each message to the log
+     * file, including any roll of the file.
+     *
+     * @return the count of writes in each bucket
+     */
+    public long[] getWriteLatencyHistogram();
+
+    /**
+     * Gets the histogram of the time taken by each flush of the log file.
+     *
+     * @return the count of flushes in each bucket
+     */
+    public long[] getFlushLatencyHistogram();
+
+    /**
+     * Gets the mean time taken to write a message to the log file.
+     *
+     * @return the mean write time, in nanoseconds
+     */
+    public double getMeanWriteNanos();
+
+    /**
+     * Gets the mean time taken by a flush of the log file.
+     *
+     * @return the mean flush time, in nanoseconds
+     */
+    public double getMeanFlushNanos();
+
+    /**
+     * Gets the number of messages shipped to the syslog collector. Over TCP,
+     * a message counts once the socket has taken all of it.
+     *
+     * @return the messages sent, or zero if the log is not shipped
+     */
+    public long getSyslogSentCount();
+
+    /**
+     * Gets the number of messages that were not shipped to the syslog
+     * collector, because the network could not take them at once, or the
+     * connection failed.
+     *
+     * @return the messages dropped, or zero if the log is not shipped
+     */
+    public long getSyslogDroppedCount();
+
+    /**
+     * Gets the report of the time spent in every method between its `enter`
+     * and `exit` messages: the number of calls, the total and mean time, and
+     * the estimated median and 99th percentile, in milliseconds.
+     *
+     * @return the report, with one line for each method
+     */
+    public String getSpanReport();
+
+    /**
+     * Sets every count and histogram back to zero, and forgets the method
+     * spans. The queue depth and the dropped count belong to the asynchronous
+     * writer and are not reset.
+     */
+    public void reset();
+
+}
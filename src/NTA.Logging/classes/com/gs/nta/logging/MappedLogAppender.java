@@ -0,0 +1,492 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   MappedLogAppender.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 3:21:40 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Added getBytesWritten.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.utils.TerminalErrorPrinter;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * The `MappedLogAppender` writes `LogEvent`s into fixed-size, memory-mapped
+ * segment files.
+ * <p>
+ * Each segment is preallocated and mapped into memory when it is opened, so
+ * appending an event is a plain memory copy. There is no system call per
+ * event: the operating system writes the mapped pages back to the disk on its
+ * own schedule, and the pages survive a crash of the application itself. For
+ * that reason, `flush` does nothing. Only `close` forces the segment to the
+ * disk. When a segment fills, it is trimmed to the bytes that were used and
+ * a new segment is started.</p>
+ * <p>
+ * Segments are named "${baseName}.000001.seg", "${baseName}.000002.seg", and so
+ * on. Each segment begins with the four byte magic number `NTAM`, a format
+ * version byte, and its creation instant, followed by frames:</p>
+ *
+ * | Field | Size | Use |
+ * | :---- | :--: | :-- |
+ * | Length | 4 bytes | The length of the payload. Zero marks the end of the segment. |
+ * | CRC-32 | 4 bytes | The checksum of the payload |
+ * | Payload | Length bytes | One event, encoded as in the `BinaryLogAppender`, preceded by any new string table entries |
+ *
+ * <p>
+ * The length of a frame is written last, so a frame that was being written
+ * when the application died still reads as the end of the segment. A frame
+ * that the operating system did not finish writing back fails its checksum.
+ * Either way, the `recover` method finds the last valid frame and trims the
+ * segment there. The first segment opened by a new `MappedLogAppender`
+ * recovers the previous run's last segment for the same base name.</p>
+ * <p>
+ * Every segment starts its own string table, so each segment can be read on
+ * its own with the `BinaryLogRenderer`.</p>
+ *
+ * @see BinaryLogAppender
+ * @see BinaryLogRenderer
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class MappedLogAppender implements LogAppender {
+
+    /** The magic number at the start of every segment file. */
+    static final int MAGIC = 0x4E54414D; // "NTAM"
+    /** The file extension of segment files. */
+    public static final String EXTENSION = ".seg";
+    /** The default size of each segment, in bytes. */
+    public static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    private static final int FRAME_HEADER_SIZE = 4 + 4;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final BinaryLogEncoder encoder = new BinaryLogEncoder(0L);
+    private final CRC32 crc = new CRC32();
+    private final List<Path> segments = new ArrayList<>();
+
+    private String baseName;
+    private int nextIndex = 0;
+    private FileChannel channel;
+    private FileLock lock;
+    private MappedByteBuffer buffer;
+    private long bytesWritten = 0L;
+    private boolean closed = false;
+
+    /**
+     * Constructs a new `MappedLogAppender`. No segment is created until the
+     * first event is appended.
+     *
+     * @param directory the directory in which to create the segments
+     * @param baseName the file name of the segments, without the index and
+     * extension
+     * @param segmentSize the size of each segment, in bytes
+     * @throws IllegalArgumentException if `directory` or `baseName` is `null`,
+     * or if `segmentSize` is too small to hold a segment header
+     */
+    public MappedLogAppender(Path directory, String baseName, int segmentSize) {
+        if (directory == null) {
+            throw new IllegalArgumentException("null directory");
+        }
+        if (baseName == null) {
+            throw new IllegalArgumentException("null baseName");
+        }
+        if (segmentSize <= BinaryLogEncoder.HEADER_SIZE + FRAME_HEADER_SIZE) {
+            throw new IllegalArgumentException("segmentSize too small");
+        }
+
+        this.directory = directory;
+        this.baseName = baseName;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Gets the segment that is currently being written.
+     *
+     * @return the current segment, or `null` if no segment is open
+     */
+    public synchronized Path getSegment() {
+        return (channel == null) ? null : segments.get(segments.size() - 1);
+    }
+
+    /**
+     * Changes the base name of the segments. The segments already written by
+     * this appender are renamed to the new base name, and all future segments
+     * use the new base name.
+     *
+     * @param baseName the new base name
+     * @throws IllegalArgumentException if `baseName` is `null`
+     */
+    public synchronized void setBaseName(String baseName) {
+        if (baseName == null) {
+            throw new IllegalArgumentException("null baseName");
+        }
+        if (baseName.equals(this.baseName)) {
+            return;
+        }
+
+        finishSegment();
+        this.baseName = baseName;
+        nextIndex = 0;
+
+        List<Path> renamed = new ArrayList<>();
+        for (Path old : segments) {
+            Path target = nextFreeSegment();
+            try {
+                Files.move(old, target);
+                renamed.add(target);
+            } catch (IOException e) {
+                String msg = String.format("Unable to rename the log segment "
+                        + "%s to %s", old, target);
+                TerminalErrorPrinter.print(e, msg);
+                renamed.add(old);
+            }
+        }
+        segments.clear();
+        segments.addAll(renamed);
+    }
+
+    @Override
+    public synchronized void append(LogEvent event) {
+        if (closed) {
+            return;
+        }
+
+        try {
+            if (channel == null) {
+                openSegment(segmentSize);
+            }
+
+            ByteBuffer entries = encoder.encode(event);
+            if (buffer.remaining() < FRAME_HEADER_SIZE + entries.remaining()) {
+                finishSegment();
+                openSegment(segmentSize);
+
+                // The new segment has its own string table, so encode again.
+                entries = encoder.encode(event);
+                int needed = BinaryLogEncoder.HEADER_SIZE + FRAME_HEADER_SIZE
+                        + entries.remaining();
+                if (needed > segmentSize) {
+                    // A single event that is larger than a whole segment.
+                    finishSegment();
+                    openSegment(needed);
+                    entries = encoder.encode(event);
+                }
+            }
+
+            writeFrame(entries);
+        } catch (IOException e) {
+            String msg = String.format("Unable to write message to log segment "
+                    + "%s\nMessage: %s", getSegment(), event.toText());
+            TerminalErrorPrinter.print(e, msg);
+        }
+    }
+
+    /**
+     * Does nothing. The operating system writes the mapped segment back to
+     * the disk on its own, and the content of the segment survives a crash of
+     * the application without being flushed.
+     */
+    @Override
+    public void flush() {
+        // Intentionally empty.
+    }
+
+    /**
+     * Forces the current segment to the disk, trims it to the bytes that were
+     * used, and closes it.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        if (buffer != null) {
+            buffer.force();
+        }
+        finishSegment();
+    }
+
+    /**
+     * Scans the segment for the last complete, valid frame, and trims the
+     * segment just after it. Anything after that frame, such as a frame that
+     * was only partially written when the application crashed, is discarded.
+     *
+     * @param segment the segment to recover
+     * @return the number of valid events in the segment
+     * @throws IOException if the segment cannot be read, or is not a segment
+     * file
+     */
+    public static long recover(Path segment) throws IOException {
+        long[] events = new long[1];
+        long end = scan(segment, event -> events[0]++);
+
+        try (FileChannel ch = FileChannel.open(segment,
+                StandardOpenOption.WRITE)) {
+            if (ch.size() > end) {
+                ch.truncate(end);
+            }
+        }
+
+        return events[0];
+    }
+
+    /**
+     * Decodes every valid event in the segment, in the order in which they
+     * were written, and hands each one to the `action`.
+     *
+     * @param segment the segment to read
+     * @param action receives each decoded event
+     * @throws IOException if the segment cannot be read, or is not a segment
+     * file
+     */
+    static void forEach(Path segment, Consumer<LogEvent> action)
+            throws IOException {
+        scan(segment, action);
+    }
+
+    /**
+     * Scans the frames of the segment, decoding each valid frame.
+     *
+     * @return the offset just after the last valid frame
+     */
+    private static long scan(Path segment, Consumer<LogEvent> action)
+            throws IOException {
+        try (FileChannel ch = FileChannel.open(segment,
+                StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < BinaryLogEncoder.HEADER_SIZE) {
+                throw new IOException(segment + " is not a log segment");
+            }
+
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0,
+                    size);
+            if (map.getInt() != MAGIC) {
+                throw new IOException(segment + " is not a log segment");
+            }
+            byte version = map.get();
+            if (version != BinaryLogEncoder.VERSION) {
+                throw new IOException(String.format("Unsupported log segment "
+                        + "version %d in %s", version, segment));
+            }
+
+            BinaryLogDecoder decoder = new BinaryLogDecoder(segment.toString(),
+                    map.getLong());
+            CRC32 check = new CRC32();
+
+            while (map.remaining() >= FRAME_HEADER_SIZE) {
+                int start = map.position();
+                int length = map.getInt();
+                int sum = map.getInt();
+                if (length <= 0 || length > map.remaining()) {
+                    map.position(start);
+                    break;
+                }
+
+                byte[] payload = new byte[length];
+                map.get(payload);
+                check.reset();
+                check.update(payload);
+                if ((int) check.getValue() != sum) {
+                    map.position(start);
+                    break;
+                }
+
+                DataInputStream in = new DataInputStream(
+                        new ByteArrayInputStream(payload));
+                try {
+                    int tag;
+                    while ((tag = in.read()) != -1) {
+                        LogEvent event = decoder.decode(tag, in);
+                        if (event != null) {
+                            action.accept(event);
+                        }
+                    }
+                } catch (EOFException e) {
+                    // The checksum matched, so the frame cannot be short.
+                    throw new IOException(String.format("Corrupt frame at "
+                            + "offset %d in %s", start, segment), e);
+                }
+            }
+
+            return map.position();
+        }
+    }
+
+    /**
+     * Gets the number of bytes of frames written to every segment since this
+     * appender was constructed, not counting the segment headers.
+     *
+     * @return the number of bytes written
+     */
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void writeFrame(ByteBuffer entries) {
+        int start = buffer.position();
+        int length = entries.remaining();
+
+        crc.reset();
+        crc.update(entries.duplicate());
+
+        // Leave the length at zero until the payload is in place, so that a
+        //+ partial frame reads as the end of the segment.
+        buffer.putInt(0);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(entries);
+        buffer.putInt(start, length);
+        bytesWritten += FRAME_HEADER_SIZE + length;
+    }
+
+    private void openSegment(int size) throws IOException {
+        if (segments.isEmpty()) {
+            recoverPrevious();
+        }
+
+        while (true) {
+            Path path = nextFreeSegment();
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (FileAlreadyExistsException e) {
+                // Another Logger with the same base name got there first.
+                continue;
+            }
+
+            segments.add(path);
+            break;
+        }
+
+        lock = channel.tryLock();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+        long baseNanos = BinaryLogEncoder.toEpochNanos(Instant.now());
+        encoder.reset(baseNanos);
+        BinaryLogEncoder.writeHeader(buffer, MAGIC, baseNanos);
+    }
+
+    private void finishSegment() {
+        if (channel == null) {
+            return;
+        }
+
+        int end = buffer.position();
+        buffer = null;
+        try {
+            channel.truncate(end);
+        } catch (IOException e) {
+            // Some platforms cannot trim a file that is still mapped. The
+            //+ unused space reads as the end of the segment anyway.
+        }
+
+        try {
+            // Closing the channel also releases our lock on the segment.
+            channel.close();
+        } catch (IOException e) {
+            String msg = String.format("Unable to close the log segment %s",
+                    segments.get(segments.size() - 1));
+            TerminalErrorPrinter.print(e, msg);
+        }
+        channel = null;
+        lock = null;
+    }
+
+    /**
+     * Recovers the last segment left behind by a previous run, unless another
+     * appender in this or another application still has it open.
+     */
+    private void recoverPrevious() {
+        Path last = null;
+        for (int i = 1; Files.exists(segmentPath(i)); i++) {
+            last = segmentPath(i);
+        }
+        if (last == null) {
+            return;
+        }
+
+        try (FileChannel ch = FileChannel.open(last, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            FileLock held = ch.tryLock();
+            if (held == null) {
+                return;
+            }
+            held.release();
+        } catch (OverlappingFileLockException e) {
+            return;
+        } catch (IOException e) {
+            return;
+        }
+
+        try {
+            recover(last);
+        } catch (IOException e) {
+            String msg = String.format("Unable to recover the log segment %s",
+                    last);
+            TerminalErrorPrinter.print(e, msg);
+        }
+    }
+
+    private Path nextFreeSegment() {
+        Path path;
+        do {
+            path = segmentPath(++nextIndex);
+        } while (Files.exists(path));
+
+        return path;
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%s.%06d%s", baseName, index,
+                EXTENSION));
+    }
+
+}
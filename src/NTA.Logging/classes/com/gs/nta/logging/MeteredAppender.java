@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   MeteredAppender.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 9:52:38 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import java.util.function.LongSupplier;
+
+/**
+ * The `MeteredAppender` times the appender of the log file, and counts the
+ * bytes that it writes, for the `LoggingMetrics`.
+ * <p>
+ * It sits directly in front of the log file, behind any `AsyncAppender`, so
+ * the times are those of the writing itself and not of waiting in the
+ * queue.</p>
+ *
+ * @see LoggingMetrics
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class MeteredAppender implements LogAppender {
+
+    private final LogAppender delegate;
+    private final LongSupplier written;
+    private final LoggingMetrics metrics;
+
+    /**
+     * Constructs a new `MeteredAppender`.
+     *
+     * @param delegate the appender of the log file
+     * @param written supplies the total number of bytes that the `delegate`
+     * has written, which must never decrease
+     * @param metrics the metrics to update
+     */
+    MeteredAppender(LogAppender delegate, LongSupplier written,
+            LoggingMetrics metrics) {
+        this.delegate = delegate;
+        this.written = written;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        long before = written.getAsLong();
+        long start = System.nanoTime();
+        delegate.append(event);
+        long nanos = System.nanoTime() - start;
+        metrics.recordWrite(nanos, written.getAsLong() - before);
+    }
+
+    @Override
+    public void flush() {
+        long start = System.nanoTime();
+        delegate.flush();
+        metrics.recordFlush(System.nanoTime() - start);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+}
@@ -0,0 +1,519 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   RollingFileAppender.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 4:18:07 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation. Replaces the directory
+ *                                     scans of LogRotate.
+ *  Oct 18, 2026  Sean Carrick         A log file left by an earlier run is now
+ *                                     kept as a backup when the appender is
+ *                                     constructed.
+ *  Oct 18, 2026  Sean Carrick         The LogIndex of the log file now moves
+ *                                     with it to the backup, and is deleted
+ *                                     with the backup or once the backup has
+ *                                     been compressed.
+ *  Oct 18, 2026  Sean Carrick         Added getBytesWritten.
+ *  Oct 18, 2026  Sean Carrick         Removed the unused getBackups and
+ *                                     renameTo. Backups made in the same
+ *                                     millisecond get a zero-padded counter
+ *                                     that sorts after the first, and the
+ *                                     temporary files of an interrupted
+ *                                     compression are deleted at startup.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.utils.TerminalErrorPrinter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The `RollingFileAppender` rolls its log file over to a backup when the file
+ * grows too large or too old, and keeps only a limited number of backups.
+ * <p>
+ * The decision to roll is made by the appender itself on every event, from the
+ * running length kept by the wrapped `FileAppender` and from the clock. No
+ * separate rotation step needs to be called, and the file system is never
+ * asked for the size of the file.</p>
+ * <p>
+ * When the file rolls, it is renamed with the instant of the roll, such as
+ * "MyApp.20261018-161807-042.log", and a new file is opened in its place. A
+ * second backup in the same millisecond is named with a counter, such as
+ * "MyApp.20261018-161807-042_001.log", so that the names still sort in the
+ * order that the backups were made. The backup is then compressed to
+ * "${backup}.gz" on a shared background thread, so the thread that was
+ * logging never waits for the compression.</p>
+ * <p>
+ * The backups are tracked in an in-memory manifest, oldest first. The
+ * directory is only listed once, when the appender starts, to pick up the
+ * backups left by earlier runs, and to delete the partly written ".gz.tmp"
+ * files of a compression that was cut short. A non-empty log file left by
+ * the previous run becomes the newest backup. After that, the oldest backups are
+ * deleted straight from the manifest whenever there are more than
+ * `maxBackups` of them.</p>
+ * <p>
+ * If the log file has a `LogIndex`, the index is renamed along with the
+ * backup, so that uncompressed backups can still be queried. The index is
+ * deleted once the backup is compressed, because its offsets only apply to
+ * the uncompressed file.</p>
+ *
+ * @see FileAppender
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class RollingFileAppender implements FileAppender {
+
+    /**
+     * Opens the `FileAppender` that writes the active log file. It is called
+     * once when the `RollingFileAppender` is constructed, and again after
+     * every roll.
+     */
+    @FunctionalInterface
+    public static interface Opener {
+
+        /**
+         * Opens a new, empty log file.
+         *
+         * @param file the log file
+         * @return the appender for the file
+         * @throws IOException if the file cannot be opened
+         */
+        public FileAppender open(File file) throws IOException;
+
+    }
+
+    /** The extension added to compressed backups. */
+    public static final String GZIP_EXTENSION = ".gz";
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter
+            .ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneId.systemDefault());
+
+    private final Opener opener;
+    private final long maxBytes;
+    private final long intervalMillis;
+    private final int maxBackups;
+    private final boolean compress;
+    private final Deque<Path> manifest = new ArrayDeque<>();
+
+    private File file;
+    private FileAppender current;
+    private long nextRollAt;
+    private long eventsSinceRoll = 0L;
+    private long bytesWritten = 0L;
+    private boolean closed = false;
+
+    /**
+     * Constructs a new `RollingFileAppender`.
+     *
+     * @param file the active log file
+     * @param opener opens the appender for the active log file
+     * @param maxBytes the length at which the file rolls, or zero to never
+     * roll by size
+     * @param interval the age at which the file rolls, or `null` or zero to
+     * never roll by time
+     * @param maxBackups the number of backups to keep, not counting the active
+     * file
+     * @param compress `true` to compress backups with gzip
+     * @throws IOException if the active log file cannot be opened
+     * @throws IllegalArgumentException if `file` or `opener` is `null`, or if
+     * `maxBytes` or `maxBackups` is negative
+     */
+    public RollingFileAppender(File file, Opener opener, long maxBytes,
+            Duration interval, int maxBackups, boolean compress)
+            throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("null file");
+        }
+        if (opener == null) {
+            throw new IllegalArgumentException("null opener");
+        }
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("negative maxBytes");
+        }
+        if (maxBackups < 0) {
+            throw new IllegalArgumentException("negative maxBackups");
+        }
+
+        this.file = file;
+        this.opener = opener;
+        this.maxBytes = maxBytes;
+        this.intervalMillis = (interval == null) ? 0L : interval.toMillis();
+        this.maxBackups = maxBackups;
+        this.compress = compress;
+
+        loadManifest();
+        if (file.length() > 0) {
+            // Keep the log of the previous run instead of truncating it.
+            backup(file.toPath());
+        }
+        current = opener.open(file);
+        nextRollAt = nextRollTime(System.currentTimeMillis());
+    }
+
+    @Override
+    public synchronized File getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized long getLength() {
+        return current.getLength();
+    }
+
+    /**
+     * Gets the appender for the active log file. The active appender changes
+     * every time the file rolls.
+     *
+     * @return the active appender
+     */
+    public synchronized FileAppender getAppender() {
+        return current;
+    }
+
+    /**
+     * Gets the number of bytes written by this appender, to the active file
+     * and to every file that it has rolled over.
+     *
+     * @return the number of bytes written since construction
+     */
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public synchronized void append(LogEvent event) {
+        if (closed) {
+            return;
+        }
+
+        if (intervalMillis > 0 && eventsSinceRoll > 0
+                && System.currentTimeMillis() >= nextRollAt) {
+            roll();
+        }
+
+        long before = current.getLength();
+        current.append(event);
+        bytesWritten += current.getLength() - before;
+        eventsSinceRoll++;
+
+        if (maxBytes > 0 && current.getLength() >= maxBytes) {
+            roll();
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (!closed) {
+            current.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            current.close();
+        }
+    }
+
+    /**
+     * Immediately rolls the active log file over to a backup, unless nothing
+     * has been written to it since the last roll.
+     */
+    public synchronized void roll() {
+        if (closed || eventsSinceRoll == 0) {
+            return;
+        }
+
+        current.close();
+        backup(file.toPath());
+
+        try {
+            current = opener.open(file);
+        } catch (IOException e) {
+            String msg = String.format("Unable to reopen the log file %s after "
+                    + "rolling it", file);
+            TerminalErrorPrinter.print(e, msg);
+            closed = true;
+        }
+
+        eventsSinceRoll = 0L;
+        nextRollAt = nextRollTime(System.currentTimeMillis());
+    }
+
+    /**
+     * Moves the given file to a new backup name, adds the backup to the
+     * manifest, and enforces the retention limit.
+     */
+    private void backup(Path source) {
+        Path target = backupPath(Instant.now());
+        try {
+            Files.move(source, target);
+        } catch (IOException e) {
+            String msg = String.format("Unable to roll the log file %s to %s",
+                    source, target);
+            TerminalErrorPrinter.print(e, msg);
+            return;
+        }
+        moveIndex(source, target);
+
+        manifest.addLast(target);
+        if (compress) {
+            Compressor.submit(this, target);
+        }
+
+        while (manifest.size() > maxBackups) {
+            deleteBackup(manifest.removeFirst());
+        }
+    }
+
+    /**
+     * Called by the compressor thread once a backup has been compressed.
+     *
+     * @param original the uncompressed backup
+     * @param compressed the compressed backup
+     * @return `true` if the backup is still in the manifest, so the original
+     * may be deleted; `false` if retention already dropped the backup, so
+     * the compressed copy should be deleted instead
+     */
+    private synchronized boolean compressed(Path original, Path compressed) {
+        List<Path> list = new ArrayList<>(manifest);
+        int index = list.indexOf(original);
+        if (index < 0) {
+            return false;
+        }
+
+        list.set(index, compressed);
+        manifest.clear();
+        manifest.addAll(list);
+        return true;
+    }
+
+    /**
+     * Lists the directory once to find the backups left by earlier runs.
+     * Uncompressed backups are queued for compression.
+     */
+    private void loadManifest() {
+        Path dir = file.getAbsoluteFile().toPath().getParent();
+        if (dir == null || !Files.isDirectory(dir)) {
+            return;
+        }
+
+        String prefix = getBaseName() + ".";
+        String extension = getExtension();
+        int stampLength = "yyyyMMdd-HHmmss-SSS".length();
+        List<Path> found = new ArrayList<>();
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (!name.startsWith(prefix)) {
+                    continue;
+                }
+                if (name.endsWith(GZIP_EXTENSION + ".tmp")) {
+                    // Left by a compression that was cut short; the backup
+                    //+ itself is still there, and is compressed again.
+                    delete(entry);
+                    continue;
+                }
+
+                String rest = name.substring(prefix.length());
+                if (rest.endsWith(GZIP_EXTENSION)) {
+                    rest = rest.substring(0, rest.length()
+                            - GZIP_EXTENSION.length());
+                }
+                if (rest.length() >= stampLength && rest.endsWith(extension)
+                        && rest.charAt(8) == '-') {
+                    found.add(entry);
+                }
+            }
+        } catch (IOException e) {
+            String msg = String.format("Unable to list the log backups in %s",
+                    dir);
+            TerminalErrorPrinter.print(e, msg);
+            return;
+        }
+
+        // The time stamps sort in the order that the backups were made.
+        Collections.sort(found);
+        manifest.addAll(found);
+        while (manifest.size() > maxBackups) {
+            deleteBackup(manifest.removeFirst());
+        }
+
+        if (compress) {
+            for (Path backup : manifest) {
+                if (!backup.toString().endsWith(GZIP_EXTENSION)) {
+                    Compressor.submit(this, backup);
+                }
+            }
+        }
+    }
+
+    private Path backupPath(Instant when) {
+        Path dir = file.getAbsoluteFile().toPath().getParent();
+        String name = getBaseName() + "." + STAMP.format(when);
+        Path target = dir.resolve(name + getExtension());
+        for (int i = 1; Files.exists(target) || Files.exists(Path.of(target
+                + GZIP_EXTENSION)); i++) {
+            // '_' sorts after the '.' of the extension, so the counted names
+            //+ sort after the first backup of the same millisecond.
+            target = dir.resolve(String.format("%s_%03d%s", name, i,
+                    getExtension()));
+        }
+
+        return target;
+    }
+
+    private String getBaseName() {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return (dot > 0) ? name.substring(0, dot) : name;
+    }
+
+    private String getExtension() {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return (dot > 0) ? name.substring(dot) : "";
+    }
+
+    private long nextRollTime(long now) {
+        return (intervalMillis > 0) ? now + intervalMillis : Long.MAX_VALUE;
+    }
+
+    /**
+     * Moves the `LogIndex` of a log file, if it has one, to go with the
+     * file's new name.
+     */
+    private static void moveIndex(Path source, Path target) {
+        Path index = Path.of(source + LogIndex.EXTENSION);
+        if (!Files.exists(index)) {
+            return;
+        }
+
+        try {
+            Files.move(index, Path.of(target + LogIndex.EXTENSION),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            String msg = String.format("Unable to move the log index %s",
+                    index);
+            TerminalErrorPrinter.print(e, msg);
+            delete(index);
+        }
+    }
+
+    /**
+     * Deletes a backup along with its `LogIndex`.
+     */
+    private static void deleteBackup(Path backup) {
+        delete(backup);
+        delete(Path.of(backup + LogIndex.EXTENSION));
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            String msg = String.format("Unable to delete the log backup %s",
+                    path);
+            TerminalErrorPrinter.print(e, msg);
+        }
+    }
+
+    /**
+     * Compresses backups on a single daemon thread that is shared by every
+     * `RollingFileAppender`.
+     */
+    private static final class Compressor {
+
+        private static final ExecutorService EXECUTOR = Executors
+                .newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "NTA Log Compressor");
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                });
+
+        static void submit(RollingFileAppender owner, Path backup) {
+            EXECUTOR.execute(() -> compress(owner, backup));
+        }
+
+        private static void compress(RollingFileAppender owner, Path backup) {
+            if (!Files.exists(backup)) {
+                return;
+            }
+
+            Path target = Path.of(backup + GZIP_EXTENSION);
+            Path temp = Path.of(target + ".tmp");
+            try {
+                try (InputStream in = Files.newInputStream(backup);
+                        OutputStream out = new GZIPOutputStream(
+                                Files.newOutputStream(temp), 64 * 1024)) {
+                    in.transferTo(out);
+                }
+                // Only a complete archive ever carries the .gz name.
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                String msg = String.format("Unable to compress the log backup "
+                        + "%s", backup);
+                TerminalErrorPrinter.print(e, msg);
+                delete(temp);
+                return;
+            }
+
+            if (owner.compressed(backup, target)) {
+                deleteBackup(backup);
+            } else {
+                delete(target);
+            }
+        }
+
+    }
+
+}
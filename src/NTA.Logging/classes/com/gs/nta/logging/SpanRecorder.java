@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   SpanRecorder.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 11:59:40 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.api.GSLogRecord;
+import com.gs.api.GSLogger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The `SpanRecorder` times the spans between the `enter` and `exit` messages
+ * of every method, and keeps a `LatencyHistogram` of the durations of each
+ * method.
+ * <p>
+ * Spans are timed at every logging level, so the `enter` and `exit` calls
+ * already in the application, such as those of its startup, act as a
+ * profiler even when the trace messages themselves are not written. The token
+ * returned by `enter` is the `System.nanoTime` at which the span opened, so
+ * opening a span allocates nothing. Each thread also keeps a small stack of
+ * its open spans, so that an `exit` without the token is matched with the
+ * latest `enter` of the same method on the same thread. A span whose `exit`
+ * never comes is dropped from the stack when an enclosing span closes.</p>
+ * <p>
+ * The histograms are found by class and then by method name, so no key is
+ * built to record a duration, and are made of `LongAdder`s, so recording
+ * never takes a lock. The report of every method can be read at any time
+ * through the `LoggingMetricsMXBean`, and is written to the log when the
+ * application shuts down.</p>
+ *
+ * @see Logger#enter(GSLogRecord)
+ * @see Logger#exit(GSLogRecord, long)
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class SpanRecorder {
+
+    /** The most spans that one thread keeps open without their tokens. */
+    static final int MAX_DEPTH = 64;
+
+    private final ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>>
+            classes = new ConcurrentHashMap<>();
+    private final ThreadLocal<OpenSpans> open
+            = ThreadLocal.withInitial(OpenSpans::new);
+
+    /**
+     * Opens a span for the method of the `record` on the current thread.
+     *
+     * @param record the record of the `enter` message
+     * @return the token of the span
+     */
+    long open(GSLogRecord record) {
+        long start = System.nanoTime();
+        open.get().push(nameOf(record.getSourceClassName()),
+                nameOf(record.getSourceMethodName()), start);
+        return start;
+    }
+
+    /**
+     * Closes a span for the method of the `record`, and records its duration.
+     * Without a token, the latest open span of the method on the current
+     * thread is closed, if there is one.
+     *
+     * @param record the record of the `exit` message
+     * @param span the token returned when the span opened, or
+     * `GSLogger.NO_SPAN`
+     */
+    void close(GSLogRecord record, long span) {
+        long end = System.nanoTime();
+        String className = nameOf(record.getSourceClassName());
+        String methodName = nameOf(record.getSourceMethodName());
+
+        long start = open.get().pop(className, methodName, span);
+        if (start == GSLogger.NO_SPAN) {
+            return;
+        }
+
+        histogram(className, methodName).record(end - start);
+    }
+
+    private LatencyHistogram histogram(String className, String methodName) {
+        ConcurrentMap<String, LatencyHistogram> methods = classes.get(className);
+        if (methods == null) {
+            methods = classes.computeIfAbsent(className,
+                    k -> new ConcurrentHashMap<>());
+        }
+
+        LatencyHistogram histogram = methods.get(methodName);
+        if (histogram == null) {
+            histogram = methods.computeIfAbsent(methodName,
+                    k -> new LatencyHistogram());
+        }
+
+        return histogram;
+    }
+
+    /**
+     * Tells whether any span has been recorded.
+     *
+     * @return `true` if there is something to report
+     */
+    boolean isEmpty() {
+        return classes.isEmpty();
+    }
+
+    /**
+     * Builds a report of the spans of every method, with the greatest total
+     * time first. The times are in milliseconds, and the percentiles are
+     * estimates that are at most twice the real value.
+     *
+     * @return the report
+     */
+    String report() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<String, ConcurrentMap<String, LatencyHistogram>> c
+                : classes.entrySet()) {
+            for (Map.Entry<String, LatencyHistogram> m
+                    : c.getValue().entrySet()) {
+                rows.add(new Object[]{c.getKey() + "." + m.getKey(),
+                    m.getValue()});
+            }
+        }
+        rows.sort((a, b) -> Long.compare(
+                ((LatencyHistogram) b[1]).getTotalNanos(),
+                ((LatencyHistogram) a[1]).getTotalNanos()));
+
+        StringBuilder sb = new StringBuilder("Method spans, greatest total "
+                + "time first (ms):\n");
+        sb.append(String.format(Locale.ROOT, "%10s %12s %10s %10s %10s %10s  %s",
+                "calls", "total", "mean", "p50", "p99", "max", "method"));
+        for (Object[] row : rows) {
+            LatencyHistogram h = (LatencyHistogram) row[1];
+            sb.append(String.format(Locale.ROOT,
+                    "\n%10d %12.3f %10.3f %10.3f %10.3f %10.3f  %s",
+                    h.getCount(), millis(h.getTotalNanos()),
+                    h.getMeanNanos() / 1_000_000.0,
+                    millis(h.getPercentileNanos(0.5)),
+                    millis(h.getPercentileNanos(0.99)),
+                    millis(h.getMaxNanos()), row[0]));
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Forgets every recorded span. The spans open on each thread are kept.
+     */
+    void reset() {
+        classes.clear();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String nameOf(String name) {
+        return (name == null) ? "" : name;
+    }
+
+    /**
+     * The spans open on one thread, latest last.
+     */
+    private static final class OpenSpans {
+
+        private final String[] classNames = new String[MAX_DEPTH];
+        private final String[] methodNames = new String[MAX_DEPTH];
+        private final long[] starts = new long[MAX_DEPTH];
+        private int depth = 0;
+
+        private void push(String className, String methodName, long start) {
+            if (depth == MAX_DEPTH) {
+                // Too deep, or missing its exits: forget the oldest span.
+                System.arraycopy(classNames, 1, classNames, 0, MAX_DEPTH - 1);
+                System.arraycopy(methodNames, 1, methodNames, 0, MAX_DEPTH - 1);
+                System.arraycopy(starts, 1, starts, 0, MAX_DEPTH - 1);
+                depth--;
+            }
+            classNames[depth] = className;
+            methodNames[depth] = methodName;
+            starts[depth] = start;
+            depth++;
+        }
+
+        /**
+         * Removes the latest open span of a method, along with every span
+         * opened after it.
+         *
+         * @return the start of the span, which is the token itself when one
+         * is given, or `GSLogger.NO_SPAN` if there is no token and no open
+         * span of the method
+         */
+        private long pop(String className, String methodName, long span) {
+            for (int i = depth - 1; i >= 0; i--) {
+                if ((span == GSLogger.NO_SPAN || starts[i] == span)
+                        && methodNames[i].equals(methodName)
+                        && classNames[i].equals(className)) {
+                    long start = starts[i];
+                    for (int j = i; j < depth; j++) {
+                        classNames[j] = null;
+                        methodNames[j] = null;
+                    }
+                    depth = i;
+                    return start;
+                }
+            }
+
+            return span;
+        }
+
+    }
+
+}
@@ -0,0 +1,554 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   SyslogAppender.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 11:42:16 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Looks up the host name and the collector
+ *                                     when the first message is sent, instead
+ *                                     of when the pipeline is opened.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.api.GSLogger;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The `SyslogAppender` ships log events to a syslog collector, in the format
+ * of RFC 5424, while passing them on to the appender of the log file.
+ * <p>
+ * Each event becomes one syslog message:</p>
+ * <pre>
+ * &lt;14&gt;1 2026-10-18T20:41:51.123456Z shop-pc-3 NTA 4242 INFO [meta sequenceId="12"] MyClass.doSomething(); message
+ * </pre>
+ * <p>
+ * The priority is made from the configured facility and the severity of the
+ * level: `CRITICAL` is critical, `ERROR` is error, `WARN` is warning,
+ * `CONFIG` and `INFO` are informational, and `TRACE` and `DEBUG` are debug.
+ * The message ID is the label of the event, and the sequence number of the
+ * event is sent as the `sequenceId` of the standard `meta` element, so the
+ * collector can put the messages of one application back in order.</p>
+ * <p>
+ * Over `UDP`, each message is one datagram, sent on a non-blocking
+ * `DatagramChannel`. Over `TCP`, the messages are framed by octet counting,
+ * as in RFC 6587, and gathered into a batch that is written to a
+ * non-blocking `SocketChannel` whenever the appender is flushed, which the
+ * `AsyncAppender` does once per batch. The connection is opened, and opened
+ * again after a failure, without waiting for it; messages are held in the
+ * batch while it is down, and dropped once the batch is full.</p>
+ * <p>
+ * The caller is never made to wait for the network: a message that cannot be
+ * sent at once is dropped and counted. Each message is encoded into the same
+ * reusable buffer, and is cut off at the configured maximum length.</p>
+ * <p>
+ * Neither the name of this host nor the address of the collector is looked
+ * up when the appender is constructed, because the pipeline is often opened
+ * by the first message of the event dispatch thread. Both are looked up when
+ * the first message is sent, which is on the writer thread of the
+ * `AsyncAppender` in front of this one, when there is one. A collector that
+ * cannot be resolved is looked up again with the next attempt to open the
+ * channel.</p>
+ *
+ * @see LogPipeline
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class SyslogAppender implements LogAppender {
+
+    /** The transport over which messages are sent to the collector. */
+    public enum Transport {
+        /** One datagram for each message. */
+        UDP,
+        /** A stream of messages framed by octet counting. */
+        TCP
+    }
+
+    /** The port of a collector for which no port is given. */
+    public static final int DEFAULT_PORT = 514;
+    /** The facility for user-level messages. */
+    public static final int FACILITY_USER = 1;
+    /** The longest message sent by default. */
+    public static final int DEFAULT_MAX_LENGTH = 2048;
+
+    private static final int TCP_BATCH_BYTES = 64 * 1024;
+    private static final long RETRY_NANOS = TimeUnit.SECONDS.toNanos(5L);
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte[] META = "[meta sequenceId=\""
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final DateTimeFormatter SECONDS = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final LogAppender delegate;
+    private final Transport transport;
+    private final InetSocketAddress collector; // May be unresolved.
+    private final String appName;
+    private final int facility;
+    private final int minLevel;
+    private byte[] header; // " HOSTNAME APP-NAME PROCID ", built when first sent.
+    private final ByteBuffer message;
+    private final ByteBuffer batch; // Framed TCP messages not yet sent.
+    private final CharsetEncoder utf8 = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private ByteChannel channel;
+    private int headRemaining; // Bytes left of a partly written TCP frame.
+    private long retryAt;
+    private long cachedSecond = Long.MIN_VALUE;
+    private final byte[] secondBytes = new byte[19];
+    private boolean closed = false;
+
+    /**
+     * Constructs a new `SyslogAppender`. The channel to the collector is
+     * opened when the first message is sent.
+     *
+     * @param delegate the appender of the log file, or `null` to only ship
+     * the events
+     * @param transport how the messages are sent
+     * @param collector the address of the syslog collector, which may be
+     * unresolved
+     * @param appName the application name sent with every message
+     * @param facility the syslog facility, from 0 to 23
+     * @param minLevel the lowest level of the events that are shipped
+     * @param maxLength the longest message sent, in bytes; longer messages
+     * are cut off
+     * @throws IllegalArgumentException if the facility is out of range
+     */
+    public SyslogAppender(LogAppender delegate, Transport transport,
+            InetSocketAddress collector, String appName, int facility,
+            int minLevel, int maxLength) {
+        if (facility < 0 || facility > 23) {
+            throw new IllegalArgumentException("facility " + facility);
+        }
+        this.delegate = delegate;
+        this.transport = transport;
+        this.collector = collector;
+        this.appName = appName;
+        this.facility = facility;
+        this.minLevel = minLevel;
+
+        message = ByteBuffer.allocate(Math.max(480, maxLength));
+        batch = (transport == Transport.TCP)
+                ? ByteBuffer.allocate(Math.max(TCP_BATCH_BYTES,
+                        2 * message.capacity())) : null;
+        retryAt = System.nanoTime();
+    }
+
+    /**
+     * Gets the number of messages handed to the network.
+     *
+     * @return the messages sent
+     */
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    /**
+     * Gets the number of messages that could not be sent without waiting, or
+     * could not be sent at all.
+     *
+     * @return the messages dropped
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public synchronized void append(LogEvent event) {
+        if (delegate != null) {
+            delegate.append(event);
+        }
+        if (closed || event.getLevel() < minLevel
+                || event.getLevel() == GSLogger.OFF) {
+            return;
+        }
+
+        encode(event);
+        if (transport == Transport.UDP) {
+            send();
+        } else {
+            frame();
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (delegate != null) {
+            delegate.flush();
+        }
+        if (transport == Transport.TCP && !closed) {
+            drain();
+        }
+    }
+
+    /**
+     * Tries once more to send any batched messages, without waiting, and
+     * closes the channel and the appender of the log file.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            if (transport == Transport.TCP) {
+                drain();
+                dropped.add(countFrames());
+            }
+            closed = true;
+            closeChannel();
+        }
+        if (delegate != null) {
+            delegate.close();
+        }
+    }
+
+    private void send() {
+        message.flip();
+        try {
+            DatagramChannel udp = (DatagramChannel) openChannel();
+            if (udp != null && udp.write(message) > 0) {
+                sent.increment();
+                return;
+            }
+        } catch (PortUnreachableException e) {
+            // Nothing is listening yet; the channel can still be used.
+        } catch (IOException e) {
+            closeChannel();
+        }
+        dropped.increment();
+    }
+
+    private void frame() {
+        message.flip();
+        int length = message.remaining();
+        if (batch.remaining() < length + 11) {
+            drain();
+            if (batch.remaining() < length + 11) {
+                dropped.increment();
+                return;
+            }
+        }
+
+        putDecimal(batch, length);
+        batch.put((byte) ' ');
+        batch.put(message);
+        if (batch.position() > batch.capacity() / 2) {
+            drain();
+        }
+    }
+
+    /**
+     * Writes as much of the batch as the socket takes without waiting.
+     */
+    private void drain() {
+        if (batch.position() == 0) {
+            return;
+        }
+
+        try {
+            SocketChannel tcp = (SocketChannel) openChannel();
+            if (tcp == null) {
+                return;
+            }
+            if (tcp.isConnectionPending() && !tcp.finishConnect()) {
+                return;
+            }
+
+            batch.flip();
+            int written = tcp.write(batch);
+            sent.add(sentFrames(written));
+            batch.compact();
+        } catch (IOException e) {
+            // Part of a frame may have been written, so the rest of the batch
+            //+ can no longer be framed correctly on a new connection.
+            dropped.add(countFrames());
+            batch.clear();
+            headRemaining = 0;
+            closeChannel();
+        }
+    }
+
+    /**
+     * Finds how many frames were completed by writing the first bytes of the
+     * flipped batch, and how much is left of a frame that was only partly
+     * written.
+     *
+     * @param written the number of bytes written
+     * @return the number of frames completed
+     */
+    private int sentFrames(int written) {
+        int done = 0;
+        int i = headRemaining;
+        if (i > 0) {
+            if (written < i) {
+                headRemaining = i - written;
+                return 0;
+            }
+            done++;
+        }
+
+        headRemaining = 0;
+        while (i < written) {
+            int end = frameEnd(i);
+            if (end > written) {
+                headRemaining = end - written;
+                break;
+            }
+            done++;
+            i = end;
+        }
+
+        return done;
+    }
+
+    /**
+     * Counts the messages in the batch that have not been sent in full.
+     */
+    private int countFrames() {
+        int count = (headRemaining > 0) ? 1 : 0;
+        int i = headRemaining;
+        while (i < batch.position()) {
+            i = frameEnd(i);
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Finds the end of the frame that starts at an index of the batch.
+     */
+    private int frameEnd(int start) {
+        int i = start;
+        int length = 0;
+        byte b;
+        while ((b = batch.get(i)) != ' ') {
+            length = length * 10 + (b - '0');
+            i++;
+        }
+
+        return i + 1 + length;
+    }
+
+    private ByteChannel openChannel() throws IOException {
+        if (channel != null) {
+            return channel;
+        }
+        if (System.nanoTime() - retryAt < 0L) {
+            return null;
+        }
+
+        retryAt = System.nanoTime() + RETRY_NANOS;
+        InetSocketAddress address = collector.isUnresolved()
+                ? new InetSocketAddress(collector.getHostString(),
+                        collector.getPort()) : collector;
+        if (address.isUnresolved()) {
+            // Looked up again with the next attempt; a TCP batch is held.
+            return null;
+        }
+
+        if (transport == Transport.UDP) {
+            DatagramChannel udp = DatagramChannel.open();
+            udp.configureBlocking(false);
+            udp.connect(address);
+            channel = udp;
+        } else {
+            SocketChannel tcp = SocketChannel.open();
+            tcp.configureBlocking(false);
+            tcp.connect(address);
+            channel = tcp;
+        }
+
+        return channel;
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Opened again on the next attempt either way.
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Encodes the event into the reusable message buffer.
+     */
+    private void encode(LogEvent event) {
+        ByteBuffer out = message;
+        out.clear();
+
+        out.put((byte) '<');
+        putDecimal(out, facility * 8 + severity(event.getLevel()));
+        out.put((byte) '>').put((byte) '1').put((byte) ' ');
+        putTimestamp(out, event);
+        out.put(header());
+        putAscii(out, event.getLabel(), 32);
+        out.put((byte) ' ');
+        out.put(META);
+        // The sequenceId runs from 1 to 2147483647, and then starts over.
+        putDecimal(out, (int) (((event.getSequenceNumber() - 1L)
+                & Long.MAX_VALUE) % Integer.MAX_VALUE) + 1);
+        out.put((byte) '"').put((byte) ']').put((byte) ' ');
+        out.put(BOM);
+
+        utf8.reset();
+        if (encode(out, event.getSourceClassName())
+                && encode(out, ".")
+                && encode(out, event.getSourceMethodName())
+                && encode(out, event.getSignature())
+                && encode(out, " ")) {
+            encode(out, event.getMessage());
+        }
+        utf8.encode(CharBuffer.allocate(0), out, true);
+        utf8.flush(out);
+    }
+
+    /**
+     * Encodes text as UTF-8, stopping at the last whole character that fits.
+     *
+     * @return `false` if the buffer is full
+     */
+    private boolean encode(ByteBuffer out, String text) {
+        if (text == null) {
+            return true;
+        }
+
+        CoderResult result = utf8.encode(CharBuffer.wrap(text), out, false);
+        return !result.isOverflow();
+    }
+
+    private void putTimestamp(ByteBuffer out, LogEvent event) {
+        long second = event.getInstant().getEpochSecond();
+        if (second != cachedSecond) {
+            String text = SECONDS.format(LocalDateTime.ofEpochSecond(second, 0,
+                    ZoneOffset.UTC));
+            for (int i = 0; i < secondBytes.length; i++) {
+                secondBytes[i] = (byte) text.charAt(i);
+            }
+            cachedSecond = second;
+        }
+
+        out.put(secondBytes);
+        out.put((byte) '.');
+        int micros = event.getInstant().getNano() / 1000;
+        for (int divisor = 100_000; divisor > 0; divisor /= 10) {
+            out.put((byte) ('0' + (micros / divisor) % 10));
+        }
+        out.put((byte) 'Z');
+    }
+
+    private static int severity(int level) {
+        switch (level) {
+            case GSLogger.CRITICAL:
+                return 2;
+            case GSLogger.ERROR:
+                return 3;
+            case GSLogger.WARN:
+                return 4;
+            case GSLogger.CONFIG:
+            case GSLogger.INFO:
+                return 6;
+            default:
+                return 7;
+        }
+    }
+
+    private static void putDecimal(ByteBuffer out, int value) {
+        if (value >= 10) {
+            putDecimal(out, value / 10);
+        }
+        out.put((byte) ('0' + value % 10));
+    }
+
+    /**
+     * Writes a header field, replacing anything but printable US-ASCII.
+     */
+    private static void putAscii(ByteBuffer out, String text, int maxLength) {
+        if (text == null || text.isEmpty()) {
+            out.put((byte) '-');
+            return;
+        }
+
+        int length = Math.min(text.length(), maxLength);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            out.put((byte) ((c > ' ' && c < 127) ? c : '_'));
+        }
+    }
+
+    private static String headerField(String text, int maxLength) {
+        ByteBuffer out = ByteBuffer.allocate(Math.max(1, maxLength));
+        putAscii(out, text, maxLength);
+        return new String(out.array(), 0, out.position(),
+                StandardCharsets.US_ASCII);
+    }
+
+    private byte[] header() {
+        if (header == null) {
+            StringBuilder sb = new StringBuilder(" ");
+            sb.append(headerField(hostName(), 255)).append(' ');
+            sb.append(headerField(appName, 48)).append(' ');
+            sb.append(ProcessHandle.current().pid()).append(' ');
+            header = sb.toString().getBytes(StandardCharsets.US_ASCII);
+        }
+
+        return header;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   SystemLoggerFinder.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 11:53:18 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import java.text.MessageFormat;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The `SystemLoggerFinder` gives the JDK, and any library that logs through
+ * `System.getLogger`, `System.Logger`s that write to the application's log
+ * file through the same `LogPipeline` as every `Logger`. It is found by the
+ * JDK as the `System.LoggerFinder` service provided by this module.
+ * <p>
+ * Each `System.Logger` hands its messages to the `Logger` named for it, so
+ * its `isLoggable` check is the `isEnabled` check of that `Logger`, and a
+ * disabled message is never formatted. The source class and method of each
+ * written message are found on the stack.</p>
+ * <p>
+ * Until the application opens the `LogPipeline` with its first `Logger`,
+ * warnings and errors are printed to the standard error stream, and the
+ * other messages are not logged.</p>
+ *
+ * @see LogBridge
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class SystemLoggerFinder extends System.LoggerFinder {
+
+    private final ConcurrentMap<String, BridgedLogger> loggers
+            = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the `SystemLoggerFinder`. It is created by the JDK's
+     * `ServiceLoader`.
+     */
+    public SystemLoggerFinder() {
+        // Nothing to set up.
+    }
+
+    @Override
+    public System.Logger getLogger(String name, Module module) {
+        BridgedLogger logger = loggers.get(name);
+        if (logger == null) {
+            logger = loggers.computeIfAbsent(name, BridgedLogger::new);
+        }
+
+        return logger;
+    }
+
+    /**
+     * A `System.Logger` that writes through the `Logger` of the same name.
+     */
+    private static final class BridgedLogger implements System.Logger {
+
+        private final String name;
+        private volatile Logger logger; // Created once the pipeline is open.
+
+        private BridgedLogger(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isLoggable(Level level) {
+            if (level == Level.OFF) {
+                return false;
+            }
+
+            Logger l = logger();
+            if (l == null) {
+                return level.getSeverity() >= Level.WARNING.getSeverity();
+            }
+
+            return l.isEnabled(LogBridge.fromSystem(level));
+        }
+
+        @Override
+        public void log(Level level, ResourceBundle bundle, String msg,
+                Throwable thrown) {
+            if (isLoggable(level)) {
+                write(level, localize(bundle, msg), thrown);
+            }
+        }
+
+        @Override
+        public void log(Level level, ResourceBundle bundle, String format,
+                Object... params) {
+            if (!isLoggable(level)) {
+                return;
+            }
+
+            String msg = localize(bundle, format);
+            if (params != null && params.length > 0 && msg != null) {
+                try {
+                    msg = MessageFormat.format(msg, params);
+                } catch (IllegalArgumentException e) {
+                    // Log the unformatted message instead.
+                }
+            }
+            write(level, msg, null);
+        }
+
+        private Logger logger() {
+            Logger l = logger;
+            if (l == null) {
+                l = LogBridge.loggerFor(name);
+                logger = l;
+            }
+
+            return l;
+        }
+
+        private void write(Level level, String msg, Throwable thrown) {
+            Logger l = logger();
+            if (l == null) {
+                System.err.println(level.getName() + ": " + name + ": " + msg);
+                if (thrown != null) {
+                    thrown.printStackTrace();
+                }
+                return;
+            }
+
+            CallerLocator.Location caller = CallerLocator.locate();
+            LogRecord record = (caller == null) ? new LogRecord(name, "log")
+                    : new LogRecord(caller.getClassName(),
+                            caller.getMethodName());
+            record.setLoggerName(name);
+            record.setMessage(msg);
+            record.setThrown(thrown);
+
+            LogBridge.write(l, LogBridge.fromSystem(level), record);
+        }
+
+        private static String localize(ResourceBundle bundle, String msg) {
+            if (bundle == null || msg == null) {
+                return msg;
+            }
+
+            try {
+                return bundle.getString(msg);
+            } catch (MissingResourceException | ClassCastException e) {
+                return msg;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   TextFileAppender.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 9:31:18 AM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation. Moved the writing of
+ *                                     the log file out of Logger.writeMessage.
+ *  Oct 18, 2026  Sean Carrick         Implemented FileAppender, keeping a
+ *                                     running count of the bytes written.
+ * *****************************************************************************
+ */
+package com.gs.nta.logging;
+
+import com.gs.utils.StringUtils;
+import com.gs.utils.TerminalErrorPrinter;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The `TextFileAppender` writes `LogEvent`s to a log file in the human-readable
+ * layout that the `Logger` has always used.
+ * <p>
+ * Events are written into a buffer and are only forced to disk when `flush` is
+ * called. When used directly by the `Logger`, `flush` is called after every
+ * event. When wrapped by an `AsyncAppender`, `flush` is called once per batch
+ * of events.</p>
+ * <p>
+ * When formatted output is turned on, each event is wrapped at sixty-five (65)
+ * characters and followed by a divider line.</p>
+ *
+ * @see AsyncAppender
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class TextFileAppender implements FileAppender {
+
+    private static final String DIVIDER = "-".repeat(65);
+
+    private final File file;
+    private final Writer out;
+    private volatile boolean formattedOutput = false;
+    private long length = 0L;
+    private boolean closed = false;
+
+    /**
+     * Constructs a new `TextFileAppender` that writes to the given file.
+     *
+     * @param file the log file
+     * @throws IOException if the log file cannot be opened
+     */
+    public TextFileAppender(File file) throws IOException {
+        this.file = file;
+        this.out = new BufferedWriter(new FileWriter(file));
+    }
+
+    @Override
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized long getLength() {
+        return length;
+    }
+
+    /**
+     * Determines whether log entries are wrapped and followed by a divider.
+     *
+     * @return `true` if output is formatted
+     */
+    public boolean isFormattedOutput() {
+        return formattedOutput;
+    }
+
+    /**
+     * Sets whether log entries are wrapped and followed by a divider.
+     *
+     * @param formattedOutput `true` to format log entries
+     */
+    public void setFormattedOutput(boolean formattedOutput) {
+        this.formattedOutput = formattedOutput;
+    }
+
+    @Override
+    public synchronized void append(LogEvent event) {
+        if (closed) {
+            return;
+        }
+
+        String message = event.toText();
+        String text = (formattedOutput) ? formatLogMessage(message) : message;
+        try {
+            out.write(text);
+            out.write("\n");
+            length += utf8Length(text) + 1;
+        } catch (IOException e) {
+            String msg = String.format("Unable to write message to log file %s"
+                    + "\nMessage: %s", file, message);
+            TerminalErrorPrinter.print(e, msg);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+
+        try {
+            out.flush();
+        } catch (IOException e) {
+            String msg = String.format("Unable to flush the log file %s", file);
+            TerminalErrorPrinter.print(e, msg);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            out.flush();
+            out.close();
+        } catch (IOException e) {
+            String msg = String.format("Unable to close the log file %s", file);
+            TerminalErrorPrinter.print(e, msg);
+        }
+    }
+
+    /**
+     * Counts the bytes that the text occupies once encoded, without encoding
+     * it. Log text is almost always ASCII, so the common case is a single
+     * pass over the characters.
+     */
+    private static long utf8Length(String text) {
+        long bytes = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                if (Character.isHighSurrogate(c)) {
+                    bytes += 2;
+                    i++;
+                } else {
+                    bytes += (c < 0x800) ? 1 : 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Formats the created message text for output to the log file.
+     *
+     * @param msg the message to be formatted
+     * @return the formatted message
+     */
+    private String formatLogMessage(String msg) {
+        return StringUtils.wrapLogMessage(msg, 65) + "\n" + DIVIDER;
+    }
+
+}
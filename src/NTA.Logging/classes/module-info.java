@@ -28,11 +28,18 @@
  *  WHEN          BY                   REASON
  *  ------------  -------------------  -----------------------------------------
  *  Oct 31, 2021  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Requires java.management, for the
+ *                                     LoggingMetrics MXBean.
+ *  Oct 18, 2026  Sean Carrick         Requires java.logging, and provides the
+ *                                     System.LoggerFinder, to bridge the JDK's
+ *                                     logging into the log file.
  * *****************************************************************************
  */
 
 open module NTA.Logging {
     requires java.base;
+    requires java.logging;
+    requires java.management;
     requires appframework;
     requires GS.United.Labs.API;
     requires NTA.Foundation;
@@ -42,4 +49,6 @@ open module NTA.Logging {
     
     provides com.gs.api.GSLogRecord with com.gs.nta.logging.LogRecord;
     provides com.gs.api.GSLogger with com.gs.nta.logging.Logger;
+    provides java.lang.System.LoggerFinder
+            with com.gs.nta.logging.SystemLoggerFinder;
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   BinaryConfigSnapshot.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 9:06:51 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.properties;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * The `BinaryConfigSnapshot` reads and writes a binary copy of the system
+ * properties, which is kept beside the `etc/<id>.cfg` file as
+ * `etc/<id>.cfg.bin`, so that the properties are loaded at startup with a
+ * single read and no parsing of lines.
+ * <p>
+ * The snapshot holds the size and the modification time that the text file
+ * had when both were written. The text file stays the one that is meant to be
+ * read and edited, so a snapshot is only used while the text file still has
+ * that size and time; once the text file has been edited, or is gone, the
+ * snapshot is stale and the text file is read instead. The snapshot ends with
+ * a CRC-32C checksum of everything before it, so that a snapshot that was cut
+ * short or damaged is never loaded.</p>
+ * <p>
+ * The format is, in big-endian order: the magic number `NTAC`, a `short`
+ * format version, the `long` size and modification time, in milliseconds, of
+ * the text file, the `int` number of properties, then the name and the text
+ * of each property as its length followed by its UTF-8 bytes, and finally the
+ * `int` checksum. Each length is written in as few bytes as it needs, seven
+ * bits to a byte, with the high bit set on every byte but the last.</p>
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class BinaryConfigSnapshot {
+
+    private static final int MAGIC = 0x4E544143; // "NTAC"
+    private static final short FORMAT = 1;
+    private static final int HEADER = 4 + 2 + 8 + 8 + 4;
+    private static final int CHECKSUM = 4;
+
+    private BinaryConfigSnapshot() {
+        // Only static methods.
+    }
+
+    /**
+     * Gets the file of the snapshot that belongs to a configuration file.
+     *
+     * @param cfg the configuration file
+     * @return the snapshot file
+     */
+    static Path fileFor(Path cfg) {
+        return cfg.resolveSibling(cfg.getFileName() + ".bin");
+    }
+
+    /**
+     * Reads the snapshot of a configuration file, if it is whole and current.
+     *
+     * @param cfg the configuration file
+     * @return the text of each property, by name, or `null` if the snapshot
+     * is missing, damaged, or older than the configuration file
+     */
+    static Map<String, String> read(Path cfg) {
+        byte[] bytes;
+        BasicFileAttributes text;
+        try {
+            bytes = Files.readAllBytes(fileFor(cfg));
+            text = Files.readAttributes(cfg, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+        if (bytes.length < HEADER + CHECKSUM) {
+            return null;
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        int end = bytes.length - CHECKSUM;
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, end);
+        if ((int) crc.getValue() != in.getInt(end)) {
+            return null;
+        }
+
+        if (in.getInt() != MAGIC || in.getShort() != FORMAT
+                || in.getLong() != text.size()
+                || in.getLong() != text.lastModifiedTime().toMillis()) {
+            return null;
+        }
+
+        try {
+            int count = in.getInt();
+            if (count < 0) {
+                return null;
+            }
+            Map<String, String> properties = new LinkedHashMap<>(
+                    Math.min(count, end) * 4 / 3 + 1);
+            in.limit(end);
+            for (int i = 0; i < count; i++) {
+                properties.put(readString(in), readString(in));
+            }
+
+            return properties;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = readLength(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        String s = new String(in.array(), in.position(), length,
+                StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return s;
+    }
+
+    private static int readLength(ByteBuffer in) {
+        int length = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return length;
+            }
+        }
+
+        throw new BufferUnderflowException();
+    }
+
+    private static int sizeOfLength(int length) {
+        int size = 1;
+        while ((length >>>= 7) != 0) {
+            size++;
+        }
+
+        return size;
+    }
+
+    private static void writeLength(ByteBuffer out, int length) {
+        while ((length & ~0x7F) != 0) {
+            out.put((byte) ((length & 0x7F) | 0x80));
+            length >>>= 7;
+        }
+        out.put((byte) length);
+    }
+
+    /**
+     * Writes the snapshot of a configuration file, which must already have
+     * been written with the same properties. The snapshot is written to a
+     * temporary file, synced to the disk, and moved into place.
+     *
+     * @param cfg the configuration file
+     * @param snapshot the properties written to the configuration file
+     * @throws IOException if the snapshot cannot be written
+     */
+    static void write(Path cfg, PropertyStore.Snapshot snapshot)
+            throws IOException {
+        String[] names = snapshot.names();
+        byte[][] encoded = new byte[names.length * 2][];
+        int size = HEADER + CHECKSUM;
+        for (int i = 0; i < names.length; i++) {
+            encoded[2 * i] = names[i].getBytes(StandardCharsets.UTF_8);
+            encoded[2 * i + 1] = snapshot.get(names[i]).getText()
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+        for (byte[] b : encoded) {
+            size += sizeOfLength(b.length) + b.length;
+        }
+
+        BasicFileAttributes text = Files.readAttributes(cfg,
+                BasicFileAttributes.class);
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(MAGIC)
+                .putShort(FORMAT)
+                .putLong(text.size())
+                .putLong(text.lastModifiedTime().toMillis())
+                .putInt(names.length);
+        for (byte[] b : encoded) {
+            writeLength(out, b.length);
+            out.put(b);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(out.array(), 0, out.position());
+        out.putInt((int) crc.getValue());
+        out.flip();
+
+        Path bin = fileFor(cfg);
+        Path tmp = bin.resolveSibling(bin.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(tmp, bin, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, bin, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+}
@@ -53,24 +53,68 @@
  *                                     methods.
  *  Oct 31, 2021  Sean Carrick         Converted Properties class into a class
  *                                     that implements the GSProperties API.
+ *  Oct 18, 2026  Sean Carrick         Replaced the shared GSLogRecord with
+ *                                     records from the LogRecordFactory, which
+ *                                     are safe to use from worker threads.
+ *  Oct 18, 2026  Sean Carrick         Now gets its logger from the
+ *                                     LoggerFactory, instead of looking up a
+ *                                     new GSLogger service every time.
+ *  Oct 18, 2026  Sean Carrick         Each value is now parsed once, when it
+ *                                     is loaded or set, into a PropertyValue.
+ *                                     The typed getters read its primitive
+ *                                     fields, and no longer return 0 for a
+ *                                     value that was loaded as text.
+ *  Oct 18, 2026  Sean Carrick         Changes to the system properties are
+ *                                     now stored in the background, once a
+ *                                     burst of changes ends, and only when
+ *                                     something changed. The file is written
+ *                                     to a temporary file, synced and moved
+ *                                     into place atomically.
+ *  Oct 18, 2026  Sean Carrick         The property lists are now immutable
+ *                                     snapshots, replaced on every change, so
+ *                                     that reads never lock. Added the
+ *                                     snapshot() method.
+ *  Oct 18, 2026  Sean Carrick         Added getByPrefix, removeByPrefix and
+ *                                     listeners for the properties under a
+ *                                     prefix, over a sorted index of names.
+ *  Oct 18, 2026  Sean Carrick         The system properties are loaded from a
+ *                                     binary snapshot of the configuration
+ *                                     file when it is current, and each line
+ *                                     of the file is now split at its first
+ *                                     '=' only, so values may hold '='.
+ *  Oct 18, 2026  Sean Carrick         A configuration file that exists but
+ *                                     cannot be read is never written over.
+ *  Oct 18, 2026  Sean Carrick         getPropertyAsString returns a null
+ *                                     default value as null, not "null".
  * *****************************************************************************
  */
 package com.gs.nta.properties;
 
-import com.gs.api.GSLogRecord;
 import com.gs.api.GSLogger;
+import com.gs.api.LoggerFactory;
 import com.gs.api.GSProperties;
-import com.gs.utils.TerminalErrorPrinter;
+import com.gs.api.LogRecordFactory;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.time.Instant;
-import java.util.HashMap;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.jdesktop.application.ApplicationContext;
 
 /**
@@ -89,6 +133,29 @@ import org.jdesktop.application.ApplicationContext;
  * runtime properties list is never stored to disk. This is because the runtime
  * properties list can change from run to run, as they are typically set via
  * command-line switches and parameters.</p>
+ * <p>
+ * Whenever the system properties are stored, a binary snapshot of them is
+ * written beside the configuration file, and is loaded at the next startup
+ * with a single read. The configuration file itself is only read when the
+ * snapshot is missing, damaged, or older than the file.</p>
+ * <p>
+ * Each value is parsed when it is loaded or set, and kept with its text, so
+ * that the typed getters, such as `getPropertyAsInteger`, return a primitive
+ * without parsing the value again. A typed getter returns its default value
+ * when the property is not set, or when its value cannot be read as that
+ * type.</p>
+ * <p>
+ * The properties may be read and set from any thread. Each list is kept as
+ * an immutable snapshot that is replaced as a whole when a property is set,
+ * so reading a property never waits on a lock, and never sees a list that is
+ * being changed, while options are saved on another thread. A task that
+ * reads many properties can take a `snapshot` to read them all as they were
+ * at one moment.</p>
+ * <p>
+ * The properties under a prefix, such as the `net.proxy.` properties of an
+ * options panel, are read with `getByPrefix` and removed with
+ * `removeByPrefix`, without scanning every property, and a listener can be
+ * told of every change under a prefix.</p>
  *
  * @see #getProperty(java.lang.String)
  * @see #getProperty(java.lang.String, java.lang.String)
@@ -102,48 +169,72 @@ import org.jdesktop.application.ApplicationContext;
  */
 public class Properties implements GSProperties {
 
-    private final Map<String, Object> system;
-    private final Map<String, Object> runtime;
+    private final PropertyStore system;
+    private final PropertyStore runtime;
+    private static final LogRecordFactory RECORDS = LogRecordFactory.getDefault();
+
+    /** The time, in milliseconds, after the last change that it is stored. */
+    private static final long DEFAULT_STORE_DELAY = 500L;
+
     private final ApplicationContext context;
-    private final GSLogRecord record;
     private final GSLogger logger;
 
+    private final long storeDelay;
+    private final ScheduledThreadPoolExecutor writer;
+    private final Object pendingLock = new Object();
+    private final Object storeLock = new Object();
+    private ScheduledFuture<?> pendingStore; // Guarded by pendingLock.
+    private long storedVersion;               // Guarded by storeLock.
+    private boolean loadFailed;               // Set once, by the constructor.
+    private volatile long lastChange;
+
+    private final List<PrefixListener> listeners
+            = new CopyOnWriteArrayList<>();
+
     public Properties(ApplicationContext context) {
         this.context = context;
 
-        // To initialize the logger, we need to get a service for it.
-        ServiceLoader<GSLogger> logLoader = ServiceLoader.load(GSLogger.class);
-        // We are only interested in the first GSLogger that we find.
-        logger = logLoader.iterator().next();
-        logger.setClassName(getClass().getCanonicalName());
+        logger = LoggerFactory.getLogger(getClass());
         logger.setLevel(context.getResourceMap().getInteger("Application.logging.level"));
 
-        // To initialize the record, we need to get a service for it.
-        ServiceLoader<GSLogRecord> recordLoader = ServiceLoader.load(GSLogRecord.class);
-        // We are only interested in the first GSLogRecord that we find.
-        record = recordLoader.iterator().next();
-        record.setSourceClassName(logger.getClassName());
-        record.setInstant(Instant.now());
-        record.setMessage("Constructing an instance of Properties");
-        record.setParameters(new Object[]{context});
-        record.setSourceMethodName("Properties [Constructor]");
-        record.setThread(Thread.currentThread());
-        logger.enter(record);
-
-        system = new HashMap<>();
-        runtime = new HashMap<>();
-
-        record.setParameters(null);
-        record.setInstant(Instant.now());
-        record.setMessage("Calling loadProperties() to load application "
-                + "properties from file.");
-        logger.debug(record);
-        loadProperties();
-
-        record.setInstant(Instant.now());
-        record.setSourceMethodName("Properties [Constructor]");
-        record.setThread(Thread.currentThread());
-        logger.exit(record);
+        logger.enter(RECORDS.builder()
+                .sourceClassName(logger.getClassName())
+                .sourceMethodName("Properties [Constructor]")
+                .message("Constructing an instance of Properties")
+                .parameters(context)
+                .build());
+
+        system = new PropertyStore();
+        runtime = new PropertyStore();
+
+        logger.debug(RECORDS.builder()
+                .sourceClassName(logger.getClassName())
+                .sourceMethodName("Properties [Constructor]")
+                .message("Calling loadProperties() to load application "
+                        + "properties from file.")
+                .build());
+        boolean snapshotCurrent = loadProperties();
+        storedVersion = snapshotCurrent ? system.getVersion() : -1L;
+
+        Integer delay = context.getResourceMap()
+                .getInteger("Application.properties.store.delay");
+        storeDelay = (delay == null || delay < 0) ? DEFAULT_STORE_DELAY : delay;
+        writer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "NTA Properties Writer");
+            t.setDaemon(true);
+            return t;
+        });
+        writer.setKeepAliveTime(30L, TimeUnit.SECONDS);
+        writer.allowCoreThreadTimeOut(true);
+        if (!snapshotCurrent) {
+            // Writes the snapshot, so that the next startup can read it.
+            scheduleStore();
+        }
+
+        logger.exit(RECORDS.builder()
+                .sourceClassName(logger.getClassName())
+                .sourceMethodName("Properties [Constructor]")
+                .build());
     }
 
     /**
@@ -158,30 +249,53 @@ public class Properties implements GSProperties {
      */
     @Override
     public Object getProperty(String propertyName) {
-        Object value = system.get(propertyName);
+        PropertyValue value = lookup(propertyName);
+
+        return (value == null) ? null : value.getValue();
+    }
+
+    /**
+     * Takes a snapshot of the properties, which never changes, so that a
+     * long-running task, such as a report, reads one consistent
+     * configuration from start to finish.
+     * <p>
+     * Taking a snapshot copies nothing, and costs no more than reading one
+     * property.</p>
+     *
+     * @return the snapshot of the system and runtime properties
+     */
+    public PropertiesSnapshot snapshot() {
+        return new PropertiesSnapshot(system.snapshot(), runtime.snapshot());
+    }
+
+    private PropertyValue lookup(String propertyName) {
+        PropertyValue value = system.get(propertyName);
         if (value == null) {
             value = runtime.get(propertyName);
         }
 
-        return (value != null) ? value : null;
+        return value;
     }
 
     /**
      * Convenience method to retrieve the property value as a
      * `java.lang.String`.
      *
-     * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return the supplied `defaultValue`.
+     * If the property is not set, the supplied `defaultValue` is returned as
+     * it is, so this method only returns `null` when the `defaultValue` is
+     * `null`.
      *
      * @param propertyName the name of the property of interest
      * @param defaultValue a default value for if the property has not been set
-     * @return the value stored in the property as a `String`, or an empty
-     * string.
+     * @return the value stored in the property as a `String`, or the
+     * `defaultValue`.
      *
      * @see #getProperty(java.lang.String)
      */
     public String getPropertyAsString(String propertyName, String defaultValue) {
-        return getProperty(propertyName, defaultValue).toString();
+        PropertyValue value = lookup(propertyName);
+
+        return (value == null) ? defaultValue : value.getText();
     }
 
     /**
@@ -189,64 +303,57 @@ public class Properties implements GSProperties {
      * `java.lang.Boolean`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return the supplied `defaultValue`.
+     * not set, or cannot be read as this type. In that case, it will return the supplied `defaultValue`.
      *
      * @param propertyName the name of the property of interest
      * @param defaultValue a default value for if the property has not been set
-     * @return the value stored in the property as a `Boolean`, or false.
+     * @return the value stored in the property as a `Boolean`, or the
+     * `defaultValue`.
      *
      * @see #getProperty(java.lang.Boolean)
      */
     public boolean getPropertyAsBoolean(String propertyName, boolean defaultValue) {
-        String str = getPropertyAsString(propertyName);
+        PropertyValue value = lookup(propertyName);
 
-        return (!"true".equals(str) && !"false".equals(str))
-                ? defaultValue
-                : Boolean.parseBoolean(str);
+        return (value == null) ? defaultValue : value.getBoolean(defaultValue);
     }
 
     /**
      * Convenience method to retrieve the property value as a `java.lang.Byte`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return the supplied `defaultValue`.
+     * not set, or cannot be read as this type. In that case, it will return the supplied `defaultValue`.
      *
      * @param propertyName the name of the property of interest
      * @param defaultValue a default value for if the property has not been set
-     * @return the value stored in the property as a `Byte`, or `0`.
+     * @return the value stored in the property as a `Byte`, or the
+     * `defaultValue`.
      *
      * @see #getProperty(java.lang.Byte)
      */
     public byte getPropertyAsByte(String propertyName, byte defaultValue) {
-        Object value = getProperty(propertyName, String.valueOf(defaultValue));
+        PropertyValue value = lookup(propertyName);
 
-        if (value instanceof Byte) {
-            return (Byte) value;
-        } else {
-            return 0;
-        }
+        return (value == null) ? defaultValue : value.getByte(defaultValue);
     }
 
     /**
      * Convenience method to retrieve the property value as a `java.lang.Short`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return the supplied `defaultValue`.
+     * not set, or cannot be read as this type. In that case, it will return the supplied `defaultValue`.
      *
      * @param propertyName the name of the property of interest
      * @param defaultValue a default value for if the property has not been set
-     * @return the value stored in the property as a `Short`, or `0`.
+     * @return the value stored in the property as a `Short`, or the
+     * `defaultValue`.
      *
      * @see #getProperty(java.lang.Short)
      */
     public short getPropertyAsShort(String propertyName, short defaultValue) {
-        Object value = getProperty(propertyName, String.valueOf(defaultValue));
+        PropertyValue value = lookup(propertyName);
 
-        if (value instanceof Short) {
-            return (Short) value;
-        } else {
-            return 0;
-        }
+        return (value == null) ? defaultValue : value.getShort(defaultValue);
     }
 
     /**
@@ -254,66 +361,57 @@ public class Properties implements GSProperties {
      * `java.lang.Integer`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return the supplied `defaultValue`.
+     * not set, or cannot be read as this type. In that case, it will return the supplied `defaultValue`.
      *
      * @param propertyName the name of the property of interest
      * @param defaultValue a default value for if the property has not been set
-     * @return the value stored in the property as a `Integer`, or `0`.
+     * @return the value stored in the property as a `Integer`, or the
+     * `defaultValue`.
      *
      * @see #getProperty(java.lang.Integer)
      */
     public int getPropertyAsInteger(String propertyName, int defaultValue) {
-        Object value = getProperty(propertyName, String.valueOf(defaultValue));
+        PropertyValue value = lookup(propertyName);
 
-        if (value instanceof Integer) {
-            return (Integer) value;
-        } else {
-            return 0;
-        }
+        return (value == null) ? defaultValue : value.getInt(defaultValue);
     }
 
     /**
      * Convenience method to retrieve the property value as a `java.lang.Long`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return the supplied `defaultValue`.
+     * not set, or cannot be read as this type. In that case, it will return the supplied `defaultValue`.
      *
      * @param propertyName the name of the property of interest
      * @param defaultValue a default value for if the property has not been set
-     * @return the value stored in the property as a `Long`, or `0L`.
+     * @return the value stored in the property as a `Long`, or the
+     * `defaultValue`.
      *
      * @see #getProperty(java.lang.Long)
      */
     public long getPropertyAsLong(String propertyName, long defaultValue) {
-        Object value = getProperty(propertyName, String.valueOf(defaultValue));
+        PropertyValue value = lookup(propertyName);
 
-        if (value instanceof Long) {
-            return (Long) value;
-        } else {
-            return 0L;
-        }
+        return (value == null) ? defaultValue : value.getLong(defaultValue);
     }
 
     /**
      * Convenience method to retrieve the property value as a `java.lang.Float`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return the supplied `defaultValue`.
+     * not set, or cannot be read as this type. In that case, it will return the supplied `defaultValue`.
      *
      * @param propertyName the name of the property of interest
      * @param defaultValue a default value for if the property has not been set
-     * @return the value stored in the property as a `Float`, or `0f`.
+     * @return the value stored in the property as a `Float`, or the
+     * `defaultValue`.
      *
      * @see #getProperty(java.lang.Float)
      */
     public float getPropertyAsFloat(String propertyName, float defaultValue) {
-        Object value = getProperty(propertyName, String.valueOf(defaultValue));
+        PropertyValue value = lookup(propertyName);
 
-        if (value instanceof Float) {
-            return (Float) value;
-        } else {
-            return 0.0f;
-        }
+        return (value == null) ? defaultValue : value.getFloat(defaultValue);
     }
 
     /**
@@ -321,22 +419,19 @@ public class Properties implements GSProperties {
      * `java.lang.Double`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return the supplied `defaultValue`.
+     * not set, or cannot be read as this type. In that case, it will return the supplied `defaultValue`.
      *
      * @param propertyName the name of the property of interest
      * @param defaultValue a default value for if the property has not been set
-     * @return the value stored in the property as a `Double`, or `0d`.
+     * @return the value stored in the property as a `Double`, or the
+     * `defaultValue`.
      *
      * @see #getProperty(java.lang.Double)
      */
     public double getPropertyAsDouble(String propertyName, double defaultValue) {
-        Object value = getProperty(propertyName, String.valueOf(defaultValue));
+        PropertyValue value = lookup(propertyName);
 
-        if (value instanceof Double) {
-            return (Double) value;
-        } else {
-            return 0.0d;
-        }
+        return (value == null) ? defaultValue : value.getDouble(defaultValue);
     }
 
     /**
@@ -353,7 +448,7 @@ public class Properties implements GSProperties {
      * @see #getProperty(java.lang.String)
      */
     public String getPropertyAsString(String propertyName) {
-        return getProperty(propertyName).toString();
+        return getPropertyAsString(propertyName, "");
     }
 
     /**
@@ -361,7 +456,7 @@ public class Properties implements GSProperties {
      * `java.lang.Boolean`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return false.
+     * not set, or cannot be read as this type. In that case, it will return false.
      *
      * @param propertyName the name of the property of interest
      * @return the value stored in the property as a `Boolean`, or false.
@@ -369,14 +464,14 @@ public class Properties implements GSProperties {
      * @see #getProperty(java.lang.Boolean)
      */
     public boolean getPropertyAsBoolean(String propertyName) {
-        return Boolean.parseBoolean(getPropertyAsString(propertyName));
+        return getPropertyAsBoolean(propertyName, false);
     }
 
     /**
      * Convenience method to retrieve the property value as a `java.lang.Byte`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return `0`.
+     * not set, or cannot be read as this type. In that case, it will return `0`.
      *
      * @param propertyName the name of the property of interest
      * @return the value stored in the property as a `Byte`, or `0`.
@@ -384,20 +479,14 @@ public class Properties implements GSProperties {
      * @see #getProperty(java.lang.Byte)
      */
     public byte getPropertyAsByte(String propertyName) {
-        Object value = getProperty(propertyName);
-
-        if (value instanceof Byte) {
-            return (Byte) value;
-        } else {
-            return 0;
-        }
+        return getPropertyAsByte(propertyName, (byte) 0);
     }
 
     /**
      * Convenience method to retrieve the property value as a `java.lang.Short`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return `0`.
+     * not set, or cannot be read as this type. In that case, it will return `0`.
      *
      * @param propertyName the name of the property of interest
      * @return the value stored in the property as a `Short`, or `0`.
@@ -405,13 +494,7 @@ public class Properties implements GSProperties {
      * @see #getProperty(java.lang.Short)
      */
     public short getPropertyAsShort(String propertyName) {
-        Object value = getProperty(propertyName);
-
-        if (value instanceof Short) {
-            return (Short) value;
-        } else {
-            return 0;
-        }
+        return getPropertyAsShort(propertyName, (short) 0);
     }
 
     /**
@@ -419,7 +502,7 @@ public class Properties implements GSProperties {
      * `java.lang.Integer`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return `0`.
+     * not set, or cannot be read as this type. In that case, it will return `0`.
      *
      * @param propertyName the name of the property of interest
      * @return the value stored in the property as a `Integer`, or `0`.
@@ -427,20 +510,14 @@ public class Properties implements GSProperties {
      * @see #getProperty(java.lang.Integer)
      */
     public int getPropertyAsInteger(String propertyName) {
-        Object value = getProperty(propertyName);
-
-        if (value instanceof Integer) {
-            return (Integer) value;
-        } else {
-            return 0;
-        }
+        return getPropertyAsInteger(propertyName, 0);
     }
 
     /**
      * Convenience method to retrieve the property value as a `java.lang.Long`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return `0L`.
+     * not set, or cannot be read as this type. In that case, it will return `0L`.
      *
      * @param propertyName the name of the property of interest
      * @return the value stored in the property as a `Long`, or `0L`.
@@ -448,20 +525,14 @@ public class Properties implements GSProperties {
      * @see #getProperty(java.lang.Long)
      */
     public long getPropertyAsLong(String propertyName) {
-        Object value = getProperty(propertyName);
-
-        if (value instanceof Long) {
-            return (Long) value;
-        } else {
-            return 0L;
-        }
+        return getPropertyAsLong(propertyName, 0L);
     }
 
     /**
      * Convenience method to retrieve the property value as a `java.lang.Float`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return `0f`.
+     * not set, or cannot be read as this type. In that case, it will return `0f`.
      *
      * @param propertyName the name of the property of interest
      * @return the value stored in the property as a `Float`, or `0f`.
@@ -469,13 +540,7 @@ public class Properties implements GSProperties {
      * @see #getProperty(java.lang.Float)
      */
     public float getPropertyAsFloat(String propertyName) {
-        Object value = getProperty(propertyName);
-
-        if (value instanceof Float) {
-            return (Float) value;
-        } else {
-            return 0.0f;
-        }
+        return getPropertyAsFloat(propertyName, 0.0f);
     }
 
     /**
@@ -483,7 +548,7 @@ public class Properties implements GSProperties {
      * `java.lang.Double`.
      *
      * This method is guaranteed to not return `null`, even if the property is
-     * not set. In that case, it will return `0d`.
+     * not set, or cannot be read as this type. In that case, it will return `0d`.
      *
      * @param propertyName the name of the property of interest
      * @return the value stored in the property as a `Double`, or `0d`.
@@ -491,13 +556,7 @@ public class Properties implements GSProperties {
      * @see #getProperty(java.lang.Double)
      */
     public double getPropertyAsDouble(String propertyName) {
-        Object value = getProperty(propertyName);
-
-        if (value instanceof Double) {
-            return (Double) value;
-        } else {
-            return 0.0d;
-        }
+        return getPropertyAsDouble(propertyName, 0.0d);
     }
 
     /**
@@ -514,12 +573,9 @@ public class Properties implements GSProperties {
      */
     @Override
     public Object getProperty(String propertyName, String defaultValue) {
-        Object value = system.get(propertyName);
-        if (value == null) {
-            value = runtime.get(propertyName);
-        }
+        PropertyValue value = lookup(propertyName);
 
-        return (value == null) ? defaultValue : value;
+        return (value == null) ? defaultValue : value.getValue();
     }
 
     /**
@@ -529,6 +585,9 @@ public class Properties implements GSProperties {
      * properties that are set by command-line parameters. If the property needs
      * to be persisted between `Application` runs, it should be stored to the
      * system properties.</p>
+     * <p>
+     * The `value` is parsed here, once, for the typed getters. A `null` value
+     * removes the property.</p>
      *
      * @param propertyName the name of the property to set
      * @param value the value to which the property is to be set
@@ -537,7 +596,7 @@ public class Properties implements GSProperties {
      */
     @Override
     public void setRuntimeProperty(String propertyName, Object value) {
-        runtime.put(propertyName, value);
+        fireChanges(runtime.put(propertyName, value));
     }
 
     /**
@@ -547,6 +606,12 @@ public class Properties implements GSProperties {
      * properties that need to be persisted between `Application` runs. If the
      * property is set by a command-line parameter, then it should be stored to
      * the runtime properties.</p>
+     * <p>
+     * The `value` is parsed here, once, for the typed getters. A `null` value
+     * removes the property. A change is stored to the configuration file in
+     * the background, once the system properties have gone unchanged for the
+     * `Application.properties.store.delay` milliseconds, so that a burst of
+     * changes is written once.</p>
      *
      * @param propertyName the name of the property to set
      * @param value the value to which the property is to be set
@@ -556,7 +621,118 @@ public class Properties implements GSProperties {
      */
     @Override
     public void setSystemProperty(String propertyName, Object value) {
-        system.put(propertyName, value);
+        List<PropertyStore.Change> changes = system.put(propertyName, value);
+        if (!changes.isEmpty()) {
+            scheduleStore();
+            fireChanges(changes);
+        }
+    }
+
+    /**
+     * Retrieves every property whose name starts with `prefix`. A property
+     * that is in both properties lists has its system value.
+     * <p>
+     * The names of the properties are kept sorted, so the properties are found
+     * in time proportional to the number found, rather than to the number of
+     * properties.</p>
+     *
+     * @param prefix the start of the names of the properties of interest
+     * @return the values of the properties, by name, in the order of their
+     * names; empty if there are none
+     */
+    @Override
+    public Map<String, Object> getByPrefix(String prefix) {
+        return PropertyStore.byPrefix(system.snapshot(), runtime.snapshot(),
+                prefix);
+    }
+
+    /**
+     * Removes every property whose name starts with `prefix` from both
+     * properties lists. The removed system properties are then stored like
+     * any other change.
+     *
+     * @param prefix the start of the names of the properties to remove
+     * @return the number of properties removed
+     */
+    @Override
+    public int removeByPrefix(String prefix) {
+        List<PropertyStore.Change> removedSystem = system.removeByPrefix(prefix);
+        List<PropertyStore.Change> removedRuntime
+                = runtime.removeByPrefix(prefix);
+        if (!removedSystem.isEmpty()) {
+            scheduleStore();
+        }
+        fireChanges(removedSystem);
+        fireChanges(removedRuntime);
+
+        return removedSystem.size() + removedRuntime.size();
+    }
+
+    @Override
+    public void addPropertyChangeListener(String prefix,
+            PropertyChangeListener listener) {
+        if (listener != null) {
+            listeners.add(new PrefixListener(
+                    (prefix == null) ? "" : prefix, listener));
+        }
+    }
+
+    @Override
+    public void removePropertyChangeListener(String prefix,
+            PropertyChangeListener listener) {
+        String p = (prefix == null) ? "" : prefix;
+        listeners.removeIf(l -> l.listener == listener && l.prefix.equals(p));
+    }
+
+    private void fireChanges(List<PropertyStore.Change> changes) {
+        if (changes.isEmpty() || listeners.isEmpty()) {
+            return;
+        }
+
+        for (PropertyStore.Change change : changes) {
+            PropertyChangeEvent event = null;
+            for (PrefixListener l : listeners) {
+                if (change.getName().startsWith(l.prefix)) {
+                    if (event == null) {
+                        event = new PropertyChangeEvent(this, change.getName(),
+                                change.getOldValue(), change.getNewValue());
+                    }
+                    l.listener.propertyChange(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Schedules the system properties to be stored once they have gone
+     * unchanged for the store delay, unless a store is already scheduled.
+     */
+    private void scheduleStore() {
+        lastChange = System.nanoTime();
+        synchronized (pendingLock) {
+            if (pendingStore == null) {
+                pendingStore = writer.schedule(this::storeWhenQuiet,
+                        storeDelay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void storeWhenQuiet() {
+        synchronized (pendingLock) {
+            long quiet = TimeUnit.NANOSECONDS.toMillis(
+                    System.nanoTime() - lastChange);
+            if (quiet < storeDelay) {
+                // Still changing: wait for the burst to end.
+                pendingStore = writer.schedule(this::storeWhenQuiet,
+                        storeDelay - quiet, TimeUnit.MILLISECONDS);
+                return;
+            }
+            pendingStore = null;
+        }
+
+        synchronized (storeLock) {
+            store();
+        }
     }
 
     /**
@@ -567,95 +743,208 @@ public class Properties implements GSProperties {
      * list is not persisted to disk, as these are throw-away properties that
      * only affect the current run of the `Application`. Always make sure to set
      * properties to the appropriate properties list.</p>
+     * <p>
+     * Changes are already stored in the background as they are made, so this
+     * method only writes the changes that have not yet been stored, and
+     * writes nothing at all if there are none. The file is written to a
+     * temporary file, synced to the disk, and then moved over the
+     * configuration file, so that a crash never leaves the configuration
+     * half written.</p>
+     * <p>
+     * If the configuration file exists but could not be read at startup,
+     * nothing is written, so that the settings in it are not lost.</p>
      *
      * @see #setRuntimeProperty(java.lang.String, java.lang.String)
      * @see #setSystemProperty(java.lang.String, java.lang.String)
      */
     @Override
     public void storeProperties() {
-        String cfgPath = context.getLocalStorage().getDirectory().toString();
-        if (!cfgPath.endsWith(File.separator)) {
-            cfgPath += File.separator;
+        synchronized (pendingLock) {
+            if (pendingStore != null) {
+                pendingStore.cancel(false);
+                pendingStore = null;
+            }
+        }
+
+        synchronized (storeLock) {
+            store();
         }
-        cfgPath += "etc" + File.separator;
-        cfgPath += context.getResourceMap().getString("Application.id") + ".cfg";
+    }
 
-        File cfg = new File(cfgPath);
-        File cfgDir = new File(cfg.getParent());
-        if (!cfgDir.exists()) {
-            cfgDir.mkdirs();
+    /**
+     * Writes the system properties, if they have changed since they were last
+     * written, to a temporary file that is synced to the disk and then moved
+     * over the configuration file, and then writes the binary snapshot of the
+     * configuration file that is read at the next startup. The caller holds
+     * the `storeLock`.
+     */
+    private void store() {
+        PropertyStore.Snapshot snapshot = system.snapshot();
+        long version = snapshot.getVersion();
+        if (version == storedVersion) {
+            return;
         }
-        cfgDir = null;
+        if (loadFailed) {
+            // Writing the file would replace every setting in it with only
+            //+ the ones set since startup.
+            storedVersion = version;
+            logger.warn(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("storeProperties")
+                    .message("The properties file %s could not be read at "
+                            + "startup, so the changes are not stored")
+                    .parameters(getConfigFile())
+                    .build());
+            return;
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (String name : snapshot.names()) {
+            text.append(name).append('=')
+                    .append(snapshot.get(name).getText()).append('\n');
+        }
+
+        Path cfg = getConfigFile();
+        Path tmp = cfg.resolveSibling(cfg.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(cfg.getParent());
+            try (FileChannel out = FileChannel.open(tmp,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer bytes = StandardCharsets.UTF_8.encode(
+                        text.toString());
+                while (bytes.hasRemaining()) {
+                    out.write(bytes);
+                }
+                out.force(true);
+            }
 
-        try (BufferedWriter out = new BufferedWriter(new FileWriter(cfg))) {
-            for (String key : system.keySet()) {
-                out.write(key + "=" + system.get(key) + "\n");
-                out.flush();
+            try {
+                Files.move(tmp, cfg, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, cfg, StandardCopyOption.REPLACE_EXISTING);
             }
+            syncDirectory(cfg.getParent());
 
-            out.flush();
-            out.close();
+            storedVersion = version;
         } catch (IOException e) {
-            String msg = "Attempting to read the properties file";
-            record.setInstant(Instant.now());
-            record.setMessage(msg);
-            record.setParameters(null);
-            record.setSourceMethodName("loadProperties");
-            record.setThread(Thread.currentThread());
-            record.setThrown(e);
-            logger.error(record);
+            logger.error(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("storeProperties")
+                    .message("Attempting to write the properties file")
+                    .thrown(e)
+                    .build());
+            return;
+        }
+
+        try {
+            BinaryConfigSnapshot.write(cfg, snapshot);
+        } catch (IOException e) {
+            // The old snapshot no longer matches the text file, so the text
+            //+ file is read at the next startup.
+            logger.warn(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("storeProperties")
+                    .message("Attempting to write the binary snapshot of the "
+                            + "properties file")
+                    .thrown(e)
+                    .build());
         }
     }
 
-    private void loadProperties() {
-        String cfgPath = context.getLocalStorage().getDirectory().toString();
-        if (!cfgPath.endsWith(File.separator)) {
-            cfgPath += File.separator;
+    // Makes the move itself durable. Not every platform can open a directory,
+    //+ and the file is already safe on the disk, so failing here is harmless.
+    private static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir,
+                StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The move is still atomic, only not yet durable.
         }
-        cfgPath += "etc" + File.separator;
-        cfgPath += context.getResourceMap().getString("Application.id") + ".cfg";
+    }
+
+    private Path getConfigFile() {
+        return context.getLocalStorage().getDirectory().toPath()
+                .resolve("etc")
+                .resolve(context.getResourceMap().getString("Application.id")
+                        + ".cfg");
+    }
 
-        File cfg = new File(cfgPath);
-        File cfgDir = new File(cfg.getParent());
-        if (!cfgDir.exists()) {
-            cfgDir.mkdirs();
+    /**
+     * Loads the system properties from the binary snapshot of the
+     * configuration file, or from the configuration file itself when the
+     * snapshot is missing, damaged or stale.
+     *
+     * @return `true` if the snapshot was current, or `false` if both files
+     * should be written again
+     */
+    private boolean loadProperties() {
+        Path cfg = getConfigFile();
+        Map<String, String> loaded = BinaryConfigSnapshot.read(cfg);
+        if (loaded != null) {
+            system.putAll(loaded);
+            return true;
+        }
+
+        loaded = readConfigFile(cfg);
+        if (loaded == null) {
+            // The file could not be read, so it must not be written over.
+            loadFailed = true;
+            return true;
         }
-        cfgDir = null;
+        system.putAll(loaded);
+        return false;
+    }
 
-        try (BufferedReader in = new BufferedReader(new FileReader(cfg))) {
+    private Map<String, String> readConfigFile(Path cfg) {
+        Map<String, String> loaded = new LinkedHashMap<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                Files.newInputStream(cfg), StandardCharsets.UTF_8))) {
             String line = in.readLine();
 
             while (line != null) {
-                String[] property = line.split("=");
-                
-                if (property.length > 1) {
-                    system.put(property[0], 
-                            (property[1] == null) ? "" : property[1]);
-                } else {
-                    system.put(property[0], "");
+                if (!line.isEmpty()) {
+                    // Only the first '=' ends the name; a value may hold more.
+                    int equals = line.indexOf('=');
+                    if (equals < 0) {
+                        loaded.put(line, "");
+                    } else {
+                        loaded.put(line.substring(0, equals),
+                                line.substring(equals + 1));
+                    }
                 }
 
                 line = in.readLine();
             }
+        } catch (NoSuchFileException e) {
+            // The first run: the file is created by the first store.
         } catch (IOException e) {
-            if (e.getMessage().toLowerCase().contains("file not found")) {
-                try {
-                    cfg.createNewFile();
-                } catch (IOException ex) {
-                    TerminalErrorPrinter.print(ex, "Configuration file path "
-                            + "not found: %s" + cfgPath);
-                }
-            } else {
-                String msg = "Attempting to read the properties file";
-                record.setInstant(Instant.now());
-                record.setMessage(msg);
-                record.setParameters(null);
-                record.setSourceMethodName("loadProperties");
-                record.setThread(Thread.currentThread());
-                record.setThrown(e);
-                logger.error(record);
-            }
+            logger.error(RECORDS.builder()
+                    .sourceClassName(logger.getClassName())
+                    .sourceMethodName("loadProperties")
+                    .message("Attempting to read the properties file")
+                    .thrown(e)
+                    .build());
+            return null;
+        }
+
+        return loaded;
+    }
+
+    /**
+     * A listener for the properties under one prefix.
+     */
+    private static final class PrefixListener {
+
+        private final String prefix;
+        private final PropertyChangeListener listener;
+
+        private PrefixListener(String prefix, PropertyChangeListener listener) {
+            this.prefix = prefix;
+            this.listener = listener;
         }
+
     }
 
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   PropertiesSnapshot.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 8:22:37 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.properties;
+
+import java.util.Map;
+
+/**
+ * A `PropertiesSnapshot` is a read-only view of the application properties
+ * as they were when it was taken by `Properties.snapshot()`.
+ * <p>
+ * Properties set after the snapshot was taken are not seen by it, so a task
+ * that reads many properties, such as a long-running report, works from one
+ * consistent configuration even while the options are saved on another
+ * thread. As with `Properties`, the system properties are searched first,
+ * then the runtime properties, and the typed getters return their default
+ * value when a property is not set, or cannot be read as that type.</p>
+ *
+ * @see Properties#snapshot()
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PropertiesSnapshot {
+
+    private final PropertyStore.Snapshot system;
+    private final PropertyStore.Snapshot runtime;
+
+    PropertiesSnapshot(PropertyStore.Snapshot system,
+            PropertyStore.Snapshot runtime) {
+        this.system = system;
+        this.runtime = runtime;
+    }
+
+    /**
+     * Gets the version of this snapshot. The version grows with every change
+     * to the properties, so two snapshots with the same version hold the same
+     * properties.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return system.getVersion() + runtime.getVersion();
+    }
+
+    private PropertyValue lookup(String propertyName) {
+        PropertyValue value = system.get(propertyName);
+        if (value == null) {
+            value = runtime.get(propertyName);
+        }
+
+        return value;
+    }
+
+    /**
+     * Tells whether a property was set when the snapshot was taken.
+     *
+     * @param propertyName the name of the property of interest
+     * @return `true` if the property is set
+     */
+    public boolean contains(String propertyName) {
+        return lookup(propertyName) != null;
+    }
+
+    /**
+     * Retrieves the value of a property, as it was loaded or set.
+     *
+     * @param propertyName the name of the property of interest
+     * @return the value of the property, or `null` if it is not set
+     *
+     * @see Properties#getProperty(java.lang.String)
+     */
+    public Object getProperty(String propertyName) {
+        PropertyValue value = lookup(propertyName);
+
+        return (value == null) ? null : value.getValue();
+    }
+
+    /**
+     * Retrieves every property whose name starts with `prefix`.
+     *
+     * @param prefix the start of the names of the properties of interest
+     * @return the values of the properties, by name, in the order of their
+     * names; empty if there are none
+     *
+     * @see Properties#getByPrefix(java.lang.String)
+     */
+    public Map<String, Object> getByPrefix(String prefix) {
+        return PropertyStore.byPrefix(system, runtime, prefix);
+    }
+
+    /**
+     * Retrieves the value of a property as a `String`.
+     *
+     * @param propertyName the name of the property of interest
+     * @param defaultValue the value returned if the property is not set
+     * @return the value of the property, or the `defaultValue`
+     *
+     * @see Properties#getPropertyAsString(java.lang.String, java.lang.String)
+     */
+    public String getPropertyAsString(String propertyName, String defaultValue) {
+        PropertyValue value = lookup(propertyName);
+
+        return (value == null) ? defaultValue : value.getText();
+    }
+
+    /**
+     * Retrieves the value of a property as a `boolean`.
+     *
+     * @param propertyName the name of the property of interest
+     * @param defaultValue the value returned if the property is not set, or is
+     * not `true` or `false`
+     * @return the value of the property, or the `defaultValue`
+     *
+     * @see Properties#getPropertyAsBoolean(java.lang.String, boolean)
+     */
+    public boolean getPropertyAsBoolean(String propertyName,
+            boolean defaultValue) {
+        PropertyValue value = lookup(propertyName);
+
+        return (value == null) ? defaultValue : value.getBoolean(defaultValue);
+    }
+
+    /**
+     * Retrieves the value of a property as an `int`.
+     *
+     * @param propertyName the name of the property of interest
+     * @param defaultValue the value returned if the property is not set, or is
+     * not a whole number in the range of an `int`
+     * @return the value of the property, or the `defaultValue`
+     *
+     * @see Properties#getPropertyAsInteger(java.lang.String, int)
+     */
+    public int getPropertyAsInteger(String propertyName, int defaultValue) {
+        PropertyValue value = lookup(propertyName);
+
+        return (value == null) ? defaultValue : value.getInt(defaultValue);
+    }
+
+    /**
+     * Retrieves the value of a property as a `long`.
+     *
+     * @param propertyName the name of the property of interest
+     * @param defaultValue the value returned if the property is not set, or is
+     * not a whole number in the range of a `long`
+     * @return the value of the property, or the `defaultValue`
+     *
+     * @see Properties#getPropertyAsLong(java.lang.String, long)
+     */
+    public long getPropertyAsLong(String propertyName, long defaultValue) {
+        PropertyValue value = lookup(propertyName);
+
+        return (value == null) ? defaultValue : value.getLong(defaultValue);
+    }
+
+    /**
+     * Retrieves the value of a property as a `double`.
+     *
+     * @param propertyName the name of the property of interest
+     * @param defaultValue the value returned if the property is not set, or is
+     * not a number
+     * @return the value of the property, or the `defaultValue`
+     *
+     * @see Properties#getPropertyAsDouble(java.lang.String, double)
+     */
+    public double getPropertyAsDouble(String propertyName,
+            double defaultValue) {
+        PropertyValue value = lookup(propertyName);
+
+        return (value == null) ? defaultValue : value.getDouble(defaultValue);
+    }
+
+}
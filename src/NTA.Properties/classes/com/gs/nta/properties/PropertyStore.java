@@ -0,0 +1,355 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   PropertyStore.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 7:44:50 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.properties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The `PropertyStore` holds one list of properties, such as the system or the
+ * runtime properties of `Properties`, as `PropertyValue`s.
+ * <p>
+ * Each value is parsed when it is put into the store, so that reading it as
+ * a primitive takes a single lookup. Setting a property to `null` removes
+ * it.</p>
+ * <p>
+ * The properties are published as an immutable `Snapshot`, which is replaced
+ * as a whole by every change. A reader takes the current snapshot with one
+ * volatile read, and never waits or sees a map that is being changed, while
+ * writers copy the map, change the copy and publish it, one at a time. Each
+ * snapshot carries the number of changes made to the store, so that
+ * `Properties` can tell whether anything has changed since the store was last
+ * written. A property set to the text it already has is not a change.</p>
+ * <p>
+ * Besides the map of its values, each snapshot keeps the names of its
+ * properties in a sorted array, so that the properties under a prefix, such
+ * as `net.proxy.`, are found by a binary search and then read in order,
+ * in time proportional to the number found. The array is only rebuilt when a
+ * property is added or removed, not when a value changes.</p>
+ *
+ * @see PropertyValue
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class PropertyStore {
+
+    private static final String[] NO_KEYS = new String[0];
+
+    private volatile Snapshot current = new Snapshot(Collections.emptyMap(),
+            NO_KEYS, 0L);
+
+    /**
+     * Gets the value of a property.
+     *
+     * @param name the name of the property
+     * @return the value, or `null` if the property is not set
+     */
+    PropertyValue get(String name) {
+        return current.values.get(name);
+    }
+
+    /**
+     * Sets a property, parsing its value.
+     *
+     * @param name the name of the property
+     * @param value the value, or `null` to remove the property
+     * @return the change made, which is empty if the text of the property
+     * did not change
+     */
+    List<Change> put(String name, Object value) {
+        return putAll(Collections.singletonMap(name, value));
+    }
+
+    /**
+     * Sets several properties at once, parsing their values, and publishes
+     * them in a single snapshot.
+     *
+     * @param properties the values, by name; a `null` value removes its
+     * property
+     * @return the changes made, which are empty if the text of no property
+     * changed
+     */
+    synchronized List<Change> putAll(Map<String, ?> properties) {
+        Snapshot snapshot = current;
+        Map<String, PropertyValue> values = null;
+        List<Change> changes = null;
+        boolean keysChanged = false;
+        for (Map.Entry<String, ?> entry : properties.entrySet()) {
+            String name = entry.getKey();
+            Object value = entry.getValue();
+            PropertyValue old = snapshot.values.get(name);
+
+            PropertyValue parsed = null;
+            if (value == null) {
+                if (old == null) {
+                    continue;
+                }
+            } else {
+                parsed = new PropertyValue(value);
+                if (old != null && old.getText().equals(parsed.getText())) {
+                    continue;
+                }
+            }
+
+            if (values == null) {
+                values = new HashMap<>(snapshot.values);
+                changes = new ArrayList<>(properties.size());
+            }
+            if (parsed == null) {
+                values.remove(name);
+            } else {
+                values.put(name, parsed);
+            }
+            keysChanged |= (old == null || parsed == null);
+            changes.add(new Change(name, old, parsed));
+        }
+
+        if (values == null) {
+            return Collections.emptyList();
+        }
+
+        publish(snapshot, values, keysChanged ? sortedKeys(values)
+                : snapshot.keys);
+        return changes;
+    }
+
+    /**
+     * Removes every property whose name starts with a prefix.
+     *
+     * @param prefix the prefix
+     * @return the properties removed, which are empty if there were none
+     */
+    synchronized List<Change> removeByPrefix(String prefix) {
+        Snapshot snapshot = current;
+        int from = snapshot.lowerBound(prefix);
+        int to = snapshot.upperBound(prefix, from);
+        if (from == to) {
+            return Collections.emptyList();
+        }
+
+        Map<String, PropertyValue> values = new HashMap<>(snapshot.values);
+        List<Change> changes = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            String name = snapshot.keys[i];
+            changes.add(new Change(name, values.remove(name), null));
+        }
+
+        String[] keys = new String[snapshot.keys.length - (to - from)];
+        System.arraycopy(snapshot.keys, 0, keys, 0, from);
+        System.arraycopy(snapshot.keys, to, keys, from,
+                snapshot.keys.length - to);
+
+        publish(snapshot, values, keys);
+        return changes;
+    }
+
+    private void publish(Snapshot snapshot, Map<String, PropertyValue> values,
+            String[] keys) {
+        current = new Snapshot(Collections.unmodifiableMap(values), keys,
+                snapshot.version + 1);
+    }
+
+    private static String[] sortedKeys(Map<String, PropertyValue> values) {
+        String[] keys = values.keySet().toArray(NO_KEYS);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Gets the number of changes made to the store.
+     *
+     * @return the version of the store
+     */
+    long getVersion() {
+        return current.version;
+    }
+
+    /**
+     * Gets the current snapshot of the store, which never changes.
+     *
+     * @return the snapshot
+     */
+    Snapshot snapshot() {
+        return current;
+    }
+
+    /**
+     * Gets the values of every property whose name starts with a prefix,
+     * from two snapshots, in the order of their names. A property in both
+     * snapshots has its value from the `first`.
+     *
+     * @param first the snapshot searched first, such as the system properties
+     * @param second the snapshot searched next
+     * @param prefix the prefix
+     * @return the values, by name
+     */
+    static Map<String, Object> byPrefix(Snapshot first, Snapshot second,
+            String prefix) {
+        int i = first.lowerBound(prefix);
+        int iEnd = first.upperBound(prefix, i);
+        int j = second.lowerBound(prefix);
+        int jEnd = second.upperBound(prefix, j);
+
+        Map<String, Object> found = new LinkedHashMap<>(
+                (iEnd - i + jEnd - j) * 4 / 3 + 1);
+        while (i < iEnd || j < jEnd) {
+            int order = (i == iEnd) ? 1 : (j == jEnd) ? -1
+                    : first.keys[i].compareTo(second.keys[j]);
+            if (order <= 0) {
+                String name = first.keys[i++];
+                found.put(name, first.values.get(name).getValue());
+                if (order == 0) {
+                    j++;
+                }
+            } else {
+                String name = second.keys[j++];
+                found.put(name, second.values.get(name).getValue());
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * One property that was set or removed.
+     */
+    static final class Change {
+
+        private final String name;
+        private final PropertyValue oldValue;
+        private final PropertyValue newValue;
+
+        private Change(String name, PropertyValue oldValue,
+                PropertyValue newValue) {
+            this.name = name;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /** @return the value before the change, or `null` if it was added */
+        Object getOldValue() {
+            return (oldValue == null) ? null : oldValue.getValue();
+        }
+
+        /** @return the value after the change, or `null` if it was removed */
+        Object getNewValue() {
+            return (newValue == null) ? null : newValue.getValue();
+        }
+
+    }
+
+    /**
+     * The properties of a `PropertyStore` at one version.
+     */
+    static final class Snapshot {
+
+        private final Map<String, PropertyValue> values;
+        private final String[] keys; // The names of the values, sorted.
+        private final long version;
+
+        private Snapshot(Map<String, PropertyValue> values, String[] keys,
+                long version) {
+            this.values = values;
+            this.keys = keys;
+            this.version = version;
+        }
+
+        /**
+         * Gets the value of a property.
+         *
+         * @param name the name of the property
+         * @return the value, or `null` if the property is not set
+         */
+        PropertyValue get(String name) {
+            return values.get(name);
+        }
+
+        /**
+         * Gets every property of the snapshot.
+         *
+         * @return the properties, by name, which cannot be changed
+         */
+        Map<String, PropertyValue> entries() {
+            return values;
+        }
+
+        /**
+         * Gets the names of every property of the snapshot, in order.
+         *
+         * @return the names, which must not be changed
+         */
+        String[] names() {
+            return keys;
+        }
+
+        /**
+         * Gets the number of changes made to the store before this snapshot.
+         *
+         * @return the version
+         */
+        long getVersion() {
+            return version;
+        }
+
+        // The index of the first name that is not less than the prefix, which
+        //+ is where the names starting with the prefix begin.
+        private int lowerBound(String prefix) {
+            int index = Arrays.binarySearch(keys, prefix);
+            return (index < 0) ? -index - 1 : index;
+        }
+
+        // The names starting with the prefix are consecutive from `from`.
+        private int upperBound(String prefix, int from) {
+            int to = from;
+            while (to < keys.length && keys[to].startsWith(prefix)) {
+                to++;
+            }
+
+            return to;
+        }
+
+    }
+
+}
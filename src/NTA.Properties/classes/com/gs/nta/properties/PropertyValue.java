@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2021 GS United Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * *****************************************************************************
+ *  Project    :   NTA-Basic
+ *  Class      :   PropertyValue.java
+ *  Author     :   Sean Carrick
+ *  Created    :   Oct 18, 2026 @ 7:31:12 PM
+ *  Modified   :   Oct 18, 2026
+ *
+ *  Purpose:     See class JavaDoc comment.
+ *
+ *  Revision History:
+ *
+ *  WHEN          BY                   REASON
+ *  ------------  -------------------  -----------------------------------------
+ *  Oct 18, 2026  Sean Carrick         Initial creation.
+ * *****************************************************************************
+ */
+package com.gs.nta.properties;
+
+/**
+ * A `PropertyValue` holds the value of one property, along with that value
+ * already parsed as each primitive type that it can be read as.
+ * <p>
+ * The value is parsed once, when the property is loaded or set, so that the
+ * typed getters of `Properties` return a primitive with no parsing, boxing or
+ * `instanceof` checks. A value set as a `Number` or a `Boolean` is read as
+ * that type directly. Any other value is read through its text, which is
+ * parsed as a whole number, a decimal number, and `true` or `false`, ignoring
+ * case and the surrounding whitespace. A whole number can also be read as a
+ * decimal number.</p>
+ *
+ * @author Sean Carrick &lt;sean at gs-unitedlabs dot com&gt;
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class PropertyValue {
+
+    private static final int LONG = 1;
+    private static final int DOUBLE = 2;
+    private static final int BOOLEAN = 4;
+
+    private final Object value;
+    private final String text;
+    private final int kinds;
+    private final long longValue;
+    private final double doubleValue;
+    private final boolean booleanValue;
+
+    /**
+     * Constructs a `PropertyValue`, parsing the value as each primitive type
+     * that it can be read as.
+     *
+     * @param value the value of the property, which must not be `null`
+     */
+    PropertyValue(Object value) {
+        this.value = value;
+        text = value.toString();
+
+        int k = 0;
+        long l = 0L;
+        double d = 0.0d;
+        boolean b = false;
+        if (value instanceof Boolean) {
+            k = BOOLEAN;
+            b = (Boolean) value;
+        } else if (value instanceof Number) {
+            Number n = (Number) value;
+            d = n.doubleValue();
+            k = DOUBLE;
+            if (value instanceof Long || value instanceof Integer
+                    || value instanceof Short || value instanceof Byte) {
+                l = n.longValue();
+                k |= LONG;
+            }
+        } else {
+            String s = text.trim();
+            if ("true".equalsIgnoreCase(s) || "false".equalsIgnoreCase(s)) {
+                k = BOOLEAN;
+                b = "true".equalsIgnoreCase(s);
+            } else if (!s.isEmpty() && isNumeric(s)) {
+                try {
+                    l = Long.parseLong(s);
+                    d = l;
+                    k = LONG | DOUBLE;
+                } catch (NumberFormatException e) {
+                    try {
+                        d = Double.parseDouble(s);
+                        k = DOUBLE;
+                    } catch (NumberFormatException ex) {
+                        // Only readable as text.
+                    }
+                }
+            }
+        }
+
+        kinds = k;
+        longValue = l;
+        doubleValue = d;
+        booleanValue = b;
+    }
+
+    // Skips the parsers, and the cost of their exceptions, for most text.
+    private static boolean isNumeric(String s) {
+        char c = s.charAt(0);
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.';
+    }
+
+    /**
+     * Gets the value as it was loaded or set.
+     *
+     * @return the value
+     */
+    Object getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the value as text, as it is written to the configuration file.
+     *
+     * @return the text of the value
+     */
+    String getText() {
+        return text;
+    }
+
+    /**
+     * Gets the value as an `int`.
+     *
+     * @param defaultValue the value returned if this value is not a whole
+     * number in the range of an `int`
+     * @return the value, or `defaultValue`
+     */
+    int getInt(int defaultValue) {
+        return ((kinds & LONG) != 0 && longValue == (int) longValue)
+                ? (int) longValue : defaultValue;
+    }
+
+    /**
+     * Gets the value as a `long`.
+     *
+     * @param defaultValue the value returned if this value is not a whole
+     * number in the range of a `long`
+     * @return the value, or `defaultValue`
+     */
+    long getLong(long defaultValue) {
+        return ((kinds & LONG) != 0) ? longValue : defaultValue;
+    }
+
+    /**
+     * Gets the value as a `short`.
+     *
+     * @param defaultValue the value returned if this value is not a whole
+     * number in the range of a `short`
+     * @return the value, or `defaultValue`
+     */
+    short getShort(short defaultValue) {
+        return ((kinds & LONG) != 0 && longValue == (short) longValue)
+                ? (short) longValue : defaultValue;
+    }
+
+    /**
+     * Gets the value as a `byte`.
+     *
+     * @param defaultValue the value returned if this value is not a whole
+     * number in the range of a `byte`
+     * @return the value, or `defaultValue`
+     */
+    byte getByte(byte defaultValue) {
+        return ((kinds & LONG) != 0 && longValue == (byte) longValue)
+                ? (byte) longValue : defaultValue;
+    }
+
+    /**
+     * Gets the value as a `double`.
+     *
+     * @param defaultValue the value returned if this value is not a number
+     * @return the value, or `defaultValue`
+     */
+    double getDouble(double defaultValue) {
+        return ((kinds & DOUBLE) != 0) ? doubleValue : defaultValue;
+    }
+
+    /**
+     * Gets the value as a `float`.
+     *
+     * @param defaultValue the value returned if this value is not a number
+     * @return the value, or `defaultValue`
+     */
+    float getFloat(float defaultValue) {
+        return ((kinds & DOUBLE) != 0) ? (float) doubleValue : defaultValue;
+    }
+
+    /**
+     * Gets the value as a `boolean`.
+     *
+     * @param defaultValue the value returned if this value is not `true` or
+     * `false`
+     * @return the value, or `defaultValue`
+     */
+    boolean getBoolean(boolean defaultValue) {
+        return ((kinds & BOOLEAN) != 0) ? booleanValue : defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+}
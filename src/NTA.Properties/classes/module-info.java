@@ -28,11 +28,14 @@
  *  WHEN          BY                   REASON
  *  ------------  -------------------  -----------------------------------------
  *  Oct 31, 2021  Sean Carrick         Initial creation.
+ *  Oct 18, 2026  Sean Carrick         Requires java.desktop, for the
+ *                                     PropertyChangeListeners of Properties.
  * *****************************************************************************
  */
 
 open module NTA.Properties {
     requires java.base;
+    requires java.desktop;
     requires appframework;
     requires GS.United.Labs.API;
     requires NTA.Utils;